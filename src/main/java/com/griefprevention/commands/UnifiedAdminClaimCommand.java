@@ -554,8 +554,9 @@ public class UnifiedAdminClaimCommand extends UnifiedCommandHandler {
                 return true;
             }
         } else {
-            // Console requires a player target
+            // Console requires a player target, show the progress of the expiration scan instead
             if (args.length == 0) {
+                sender.sendMessage("Claim expiration: " + plugin.getClaimExpiryProgress());
                 sender.sendMessage("Usage: /aclaim checkexpiry <player>");
                 return false;
             }
@@ -28,6 +28,12 @@ public class BoundaryVisualizationEvent extends PlayerEvent
         // If both AntiCheat compatibility and glow are enabled, create a custom visualization that combines both
         if (GriefPrevention.instance.config_visualizationAntiCheatCompat && GriefPrevention.instance.config_visualizationGlow) {
             return new GlowingVisualization(world, visualizeFrom, height) {
+                @Override
+                protected boolean resolvesFromSnapshots() {
+                    // Collision shapes are only available from live blocks.
+                    return false;
+                }
+
                 @Override
                 protected boolean isTransparent(@NotNull Block block) {
                     // Use AntiCheat's transparency check
@@ -1,23 +1,38 @@
 package com.griefprevention.visualization;
 
 import com.griefprevention.util.IntVector;
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
 import me.ryanhamshire.GriefPrevention.PlayerData;
 import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import java.util.function.Consumer;
 
 public abstract class BlockBoundaryVisualization extends BoundaryVisualization
 {
 
+    // side elements are spaced further apart for every this many blocks away from the visualization location
+    private static final int DETAIL_DISTANCE = 32;
+
     private final int step;
     private final BoundingBox displayZoneArea;
     protected final Collection<BlockElement> elements = new HashSet<>();
+    // elements still displayed from a replaced visualization, diffed against when this one is displayed
+    private @Nullable Collection<BlockElement> replacedElements;
+    // elements over the per-tick budget, drawn nearest first over the following ticks
+    private @Nullable Queue<BlockElement> unsentElements;
 
     /**
      * Construct a new {@code BlockBoundaryVisualization} with a step size of {@code 10} and a display radius of
@@ -58,9 +73,180 @@ public abstract class BlockBoundaryVisualization extends BoundaryVisualization
     @Override
     protected void apply(@NotNull Player player, @NotNull PlayerData playerData) {
         super.apply(player, playerData);
+        displayElements(player);
+    }
+
+    @Override
+    protected boolean canReplace(@NotNull BoundaryVisualization visible)
+    {
+        return visible.getClass() == getClass() && world.equals(visible.world);
+    }
+
+    @Override
+    protected void replace(
+            @NotNull Player player,
+            @NotNull PlayerData playerData,
+            @NotNull BoundaryVisualization replaced)
+    {
+        BlockBoundaryVisualization visible = (BlockBoundaryVisualization) replaced;
+
+        // Take over everything the replaced visualization displays so reverting it leaves the elements untouched.
+        Collection<BlockElement> displayed = new HashSet<>(visible.getSentElements());
+        if (visible.replacedElements != null) displayed.addAll(visible.replacedElements);
+        visible.elements.clear();
+        visible.replacedElements = null;
+        visible.unsentElements = null;
+
+        this.replacedElements = displayed;
+        apply(player, playerData);
+    }
+
+    /**
+     * Display the visualization's elements for a {@link Player}. If the visualization replaced another, only elements
+     * that differ from the replaced visualization are erased or drawn.
+     *
+     * <p>Implementations resolving their elements later may override this to defer display until they are
+     * available.</p>
+     *
+     * @param player the visualization target
+     */
+    protected void displayElements(@NotNull Player player)
+    {
+        Collection<BlockElement> displayed = this.replacedElements;
+        this.replacedElements = null;
+        if (displayed == null)
+        {
+            streamElements(player, elements);
+            return;
+        }
+
+        List<BlockElement> removed = new ArrayList<>();
+        for (BlockElement element : displayed)
+        {
+            if (!elements.contains(element)) removed.add(element);
+        }
+        List<BlockElement> added = new ArrayList<>();
+        for (BlockElement element : elements)
+        {
+            if (!displayed.contains(element)) added.add(element);
+        }
+
+        // Erase first, elements replacing another at the same coordinate are drawn over it afterwards.
+        if (!removed.isEmpty()) eraseElements(player, removed);
+        if (!added.isEmpty()) streamElements(player, added);
+    }
+
+    /**
+     * Get the maximum number of elements drawn for a {@link Player} per tick.
+     *
+     * @return the element budget, or a value less than 1 for no limit
+     */
+    protected int getElementBudget()
+    {
+        return GriefPrevention.instance.config_visualizationElementsPerTick;
+    }
+
+    /**
+     * Draw elements within the per-tick budget, nearest to the visualization location first. Remaining elements are
+     * drawn over the following ticks.
+     *
+     * @param player the visualization target
+     * @param toDraw the elements to draw
+     */
+    private void streamElements(@NotNull Player player, @NotNull Collection<BlockElement> toDraw)
+    {
+        int budget = getElementBudget();
+        if (budget <= 0 || toDraw.size() <= budget)
+        {
+            drawElements(player, toDraw);
+            return;
+        }
+
+        List<BlockElement> ordered = new ArrayList<>(toDraw);
+        ordered.sort(Comparator.comparingInt(element -> element.getCoordinate().distanceSquared(visualizeFrom)));
+        Queue<BlockElement> queue = new ArrayDeque<>(ordered);
+        this.unsentElements = queue;
+        drawNextElements(player, queue, budget);
+    }
+
+    private void drawNextElements(@NotNull Player player, @NotNull Queue<BlockElement> queue, int budget)
+    {
+        // Stop if the visualization was reverted or replaced in the meantime.
+        if (queue != this.unsentElements || !canVisualize(player)) return;
+
+        List<BlockElement> batch = new ArrayList<>(Math.min(budget, queue.size()));
+        while (batch.size() < budget && !queue.isEmpty())
+        {
+            batch.add(queue.poll());
+        }
+        drawElements(player, batch);
+
+        if (queue.isEmpty())
+        {
+            this.unsentElements = null;
+            return;
+        }
+        SchedulerUtil.runLaterEntity(GriefPrevention.instance, player, () -> drawNextElements(player, queue, budget), 1L);
+    }
+
+    /**
+     * Get the elements actually sent to the {@link Player} so far.
+     *
+     * @return the sent elements
+     */
+    private @NotNull Collection<BlockElement> getSentElements()
+    {
+        if (unsentElements == null) return elements;
+
+        Set<BlockElement> unsent = new HashSet<>(unsentElements);
+        List<BlockElement> sent = new ArrayList<>(elements.size() - unsent.size());
+        for (BlockElement element : elements)
+        {
+            if (!unsent.contains(element)) sent.add(element);
+        }
+        return sent;
+    }
+
+    /**
+     * Get how many times the spacing of side elements is doubled near a coordinate. Elements further from the
+     * visualization location are spaced further apart.
+     *
+     * @param x the X coordinate
+     * @param z the Z coordinate
+     * @return the detail reduction, from {@code 0} for full detail up to {@code 2}
+     */
+    protected int getDetailReduction(int x, int z)
+    {
+        int distance = Math.max(Math.abs(x - visualizeFrom.x()), Math.abs(z - visualizeFrom.z()));
+        return Math.min(BoundaryGeometry.MAX_DETAIL_REDUCTION, distance / DETAIL_DISTANCE);
+    }
+
+    /**
+     * Display elements for a {@link Player}.
+     *
+     * <p>Implementations able to send many elements at once may override this to do so.</p>
+     *
+     * @param player the visualization target
+     * @param elements the elements to display
+     */
+    protected void drawElements(@NotNull Player player, @NotNull Collection<BlockElement> elements)
+    {
         elements.forEach(element -> element.draw(player, world));
     }
 
+    /**
+     * Stop the display of elements for a {@link Player}.
+     *
+     * <p>Implementations able to send many elements at once may override this to do so.</p>
+     *
+     * @param player the visualization target
+     * @param elements the elements to stop displaying
+     */
+    protected void eraseElements(@NotNull Player player, @NotNull Collection<BlockElement> elements)
+    {
+        elements.forEach(element -> element.erase(player, world));
+    }
+
     @Override
     protected void draw(@NotNull Player player, @NotNull Boundary boundary)
     {
@@ -75,9 +261,17 @@ public abstract class BlockBoundaryVisualization extends BoundaryVisualization
         Consumer<@NotNull IntVector> addCorner = addCornerElements(boundary);
         Consumer<@NotNull IntVector> addSide = addSideElements(boundary);
 
+        // Side positions are shared between visualizations of the same claim, only those in the display zone are used.
+        BoundaryGeometry geometry = BoundaryGeometry.of(boundary, step, displayZone);
+
         // North and south boundaries
-        for (int x = Math.max(area.getMinX() + step, displayZone.getMinX()); x < area.getMaxX() - step / 2 && x < displayZone.getMaxX(); x += step)
+        int[] sideX = geometry.sideX();
+        byte[] sideXDetail = geometry.sideXDetail();
+        for (int i = BoundaryGeometry.firstIndex(sideX, displayZone.getMinX()); i < sideX.length && sideX[i] <= displayZone.getMaxX(); i++)
         {
+            int x = sideX[i];
+            if (sideXDetail[i] < Math.min(getDetailReduction(x, area.getMinZ()), getDetailReduction(x, area.getMaxZ()))) continue;
+
             addDisplayed(displayZone, new IntVector(x, height, area.getMaxZ()), addSide);
             addDisplayed(displayZone, new IntVector(x, height, area.getMinZ()), addSide);
         }
@@ -91,8 +285,13 @@ public abstract class BlockBoundaryVisualization extends BoundaryVisualization
         }
 
         // East and west boundaries
-        for (int z = Math.max(area.getMinZ() + step, displayZone.getMinZ()); z < area.getMaxZ() - step / 2 && z < displayZone.getMaxZ(); z += step)
+        int[] sideZ = geometry.sideZ();
+        byte[] sideZDetail = geometry.sideZDetail();
+        for (int i = BoundaryGeometry.firstIndex(sideZ, displayZone.getMinZ()); i < sideZ.length && sideZ[i] <= displayZone.getMaxZ(); i++)
         {
+            int z = sideZ[i];
+            if (sideZDetail[i] < Math.min(getDetailReduction(area.getMinX(), z), getDetailReduction(area.getMaxX(), z))) continue;
+
             addDisplayed(displayZone, new IntVector(area.getMinX(), height, z), addSide);
             addDisplayed(displayZone, new IntVector(area.getMaxX(), height, z), addSide);
         }
@@ -158,14 +357,23 @@ public abstract class BlockBoundaryVisualization extends BoundaryVisualization
             return;
         }
 
-        // Elements do not track the boundary they're attached to - all elements are reverted individually instead.
-        this.elements.forEach(element -> element.erase(player, world));
+        // Elements do not track the boundary they're attached to - all elements are reverted together instead.
+        eraseElements(player, getSentElements());
+        this.unsentElements = null;
+
+        // Elements taken over from a replaced visualization may not have been diffed yet.
+        if (this.replacedElements != null)
+        {
+            eraseElements(player, this.replacedElements);
+            this.replacedElements = null;
+        }
     }
 
     @Override
     protected void erase(@NotNull Player player, @NotNull Boundary boundary)
     {
-        this.elements.forEach(element -> element.erase(player, world));
+        eraseElements(player, getSentElements());
+        this.unsentElements = null;
     }
 
     /**
@@ -176,6 +384,9 @@ public abstract class BlockBoundaryVisualization extends BoundaryVisualization
      * @return true if an element was removed
      */
     public boolean removeElementAt(@NotNull Player player, @NotNull IntVector coordinate) {
+        if (this.unsentElements != null) {
+            this.unsentElements.removeIf(element -> element.getCoordinate().equals(coordinate));
+        }
         return this.elements.removeIf(element -> {
             if (element.getCoordinate().equals(coordinate)) {
                 element.erase(player, world);
@@ -0,0 +1,174 @@
+package com.griefprevention.visualization;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import me.ryanhamshire.GriefPrevention.Claim;
+import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The positions of the side elements along the edges of a {@link Boundary}.
+ *
+ * <p>Geometry for claims is immutable and shared by every visualization of the same claim until the claim changes.
+ * Visualizations only select the positions within their own display zone.</p>
+ *
+ * <p>Side elements are spaced {@code step} blocks apart starting from the minimum corner. Each one is ranked by how
+ * much the level of detail may be reduced before it is hidden: an element at rank {@code n} is still shown when only
+ * every {@code 2^n}th element is displayed.</p>
+ */
+final class BoundaryGeometry
+{
+
+    /** The most times the spacing of side elements can be doubled. */
+    static final int MAX_DETAIL_REDUCTION = 2;
+    // the most side elements along one axis kept in shared geometry, larger boundaries are computed per visualization
+    private static final int MAX_SHARED_SIDES = 1 << 16;
+
+    private static final Cache<Key, BoundaryGeometry> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .build();
+
+    private final int[] sideX;
+    private final byte[] sideXDetail;
+    private final int[] sideZ;
+    private final byte[] sideZDetail;
+
+    private BoundaryGeometry(int[] sideX, byte[] sideXDetail, int[] sideZ, byte[] sideZDetail)
+    {
+        this.sideX = sideX;
+        this.sideXDetail = sideXDetail;
+        this.sideZ = sideZ;
+        this.sideZDetail = sideZDetail;
+    }
+
+    /**
+     * Get the geometry of a {@link Boundary}, shared if the boundary belongs to a claim.
+     *
+     * @param boundary the {@code Boundary}
+     * @param step the distance between side elements
+     * @param displayZone the area in which elements are visible, used to limit geometry that is not shared
+     * @return the geometry
+     */
+    static @NotNull BoundaryGeometry of(@NotNull Boundary boundary, int step, @NotNull BoundingBox displayZone)
+    {
+        BoundingBox area = boundary.bounds();
+        Claim claim = boundary.claim();
+        if (claim == null || claim.getID() == null
+                || (area.getMaxX() - area.getMinX()) / step > MAX_SHARED_SIDES
+                || (area.getMaxZ() - area.getMinZ()) / step > MAX_SHARED_SIDES)
+        {
+            return compute(area, step, displayZone);
+        }
+
+        Key key = new Key(
+                claim.getID(),
+                claim.getModificationCount(),
+                step,
+                area.getMinX(),
+                area.getMinZ(),
+                area.getMaxX(),
+                area.getMaxZ());
+        return CACHE.asMap().computeIfAbsent(key, ignored -> compute(area, step, area));
+    }
+
+    /**
+     * Compute the geometry of an area.
+     *
+     * @param area the area outlined
+     * @param step the distance between side elements
+     * @param limits the area outside which side elements are not needed
+     * @return the geometry
+     */
+    static @NotNull BoundaryGeometry compute(@NotNull BoundingBox area, int step, @NotNull BoundingBox limits)
+    {
+        int[] sideX = sides(area.getMinX(), area.getMaxX(), step, limits.getMinX(), limits.getMaxX());
+        int[] sideZ = sides(area.getMinZ(), area.getMaxZ(), step, limits.getMinZ(), limits.getMaxZ());
+        return new BoundaryGeometry(sideX, ranks(sideX, area.getMinX(), step), sideZ, ranks(sideZ, area.getMinZ(), step));
+    }
+
+    private static int[] sides(int min, int max, int step, int limitMin, int limitMax)
+    {
+        // The first and last element are always directly adjacent to corners, so sides stop short of the far corner.
+        long first = Math.max(1, ((long) limitMin - min + step - 1) / step);
+        long last = Math.min(((long) max - step / 2 - 1 - min) / step, ((long) limitMax - min) / step);
+        if (last < first) return new int[0];
+
+        int[] sides = new int[(int) (last - first + 1)];
+        for (int i = 0; i < sides.length; i++)
+        {
+            sides[i] = (int) (min + (first + i) * step);
+        }
+        return sides;
+    }
+
+    private static byte[] ranks(int[] sides, int min, int step)
+    {
+        byte[] ranks = new byte[sides.length];
+        for (int i = 0; i < sides.length; i++)
+        {
+            int index = (sides[i] - min) / step;
+            ranks[i] = (byte) Math.min(MAX_DETAIL_REDUCTION, Integer.numberOfTrailingZeros(index));
+        }
+        return ranks;
+    }
+
+    /**
+     * Get the X coordinates of side elements on the north and south edges, in ascending order.
+     *
+     * @return the X coordinates
+     */
+    int[] sideX()
+    {
+        return sideX;
+    }
+
+    /**
+     * Get the detail rank of each side element on the north and south edges.
+     *
+     * @return the detail ranks
+     */
+    byte[] sideXDetail()
+    {
+        return sideXDetail;
+    }
+
+    /**
+     * Get the Z coordinates of side elements on the east and west edges, in ascending order.
+     *
+     * @return the Z coordinates
+     */
+    int[] sideZ()
+    {
+        return sideZ;
+    }
+
+    /**
+     * Get the detail rank of each side element on the east and west edges.
+     *
+     * @return the detail ranks
+     */
+    byte[] sideZDetail()
+    {
+        return sideZDetail;
+    }
+
+    /**
+     * Find the index of the first coordinate not below a value.
+     *
+     * @param coordinates the sorted coordinates
+     * @param min the minimum coordinate
+     * @return the index, or the array length if every coordinate is below the value
+     */
+    static int firstIndex(int[] coordinates, int min)
+    {
+        int index = Arrays.binarySearch(coordinates, min);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private record Key(long claimId, int modificationCount, int step, int minX, int minZ, int maxX, int maxZ) {}
+
+}
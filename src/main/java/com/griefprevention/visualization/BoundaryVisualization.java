@@ -7,8 +7,8 @@ import me.ryanhamshire.GriefPrevention.PlayerData;
 import com.griefprevention.events.BoundaryVisualizationEvent;
 import com.griefprevention.util.IntVector;
 import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import me.ryanhamshire.GriefPrevention.util.EventUtil;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
@@ -79,6 +79,36 @@ public abstract class BoundaryVisualization
         scheduleRevert(player, playerData);
     }
 
+    /**
+     * Check if the {@code BoundaryVisualization} can replace another already displayed to a {@link Player} by only
+     * sending the difference between them.
+     *
+     * @param visible the visualization currently displayed
+     * @return true if able to replace the visible visualization in place
+     */
+    protected boolean canReplace(@NotNull BoundaryVisualization visible)
+    {
+        return false;
+    }
+
+    /**
+     * Apply the {@code BoundaryVisualization} to a {@link Player} in place of another visualization.
+     *
+     * <p>Implementations supporting {@link #canReplace(BoundaryVisualization)} only send the difference between the
+     * visualizations. By default, the replaced visualization is reverted and this one is applied as usual.</p>
+     *
+     * @param player the visualization target
+     * @param playerData the {@link PlayerData} of the visualization target
+     * @param replaced the visualization currently displayed
+     */
+    protected void replace(
+            @NotNull Player player,
+            @NotNull PlayerData playerData,
+            @NotNull BoundaryVisualization replaced)
+    {
+        apply(player, playerData);
+    }
+
     /**
      * Draw a {@link Boundary} in the visualization for a {@link Player}.
      *
@@ -309,7 +339,7 @@ public abstract class BoundaryVisualization
      * @param event the {@code BoundaryVisualizationEvent}
      */
     public static void callAndVisualize(@NotNull BoundaryVisualizationEvent event) {
-        Bukkit.getPluginManager().callEvent(event);
+        EventUtil.callEvent(event);
 
         Player player = event.getPlayer();
         PlayerData playerData = GriefPrevention.instance.dataStore.getPlayerData(player.getUniqueId());
@@ -318,32 +348,37 @@ public abstract class BoundaryVisualization
         Collection<Boundary> boundaries = event.getBoundaries();
         boundaries.removeIf(Objects::isNull);
 
-        // Always clear the current visualization first to prevent duplicates
-        // This ensures old visualizations are properly cleaned up
-        if (currentVisualization != null) {
-            currentVisualization.revert(player);
-            playerData.setVisibleBoundaries(null);
-        }
-
         // Check if this would be a duplicate visualization (same boundaries, player hasn't moved far)
-        if (boundaries.isEmpty() || (currentVisualization != null
-                && currentVisualization.elements.equals(boundaries)
-                && currentVisualization.visualizeFrom.distanceSquared(event.getCenter()) < 165))
+        // Don't create a new visualization for duplicates or empty boundaries
+        BoundaryVisualization visualization = null;
+        if (!boundaries.isEmpty() && (currentVisualization == null
+                || !currentVisualization.elements.equals(boundaries)
+                || currentVisualization.visualizeFrom.distanceSquared(event.getCenter()) >= 165))
         {
-            // Don't create a new visualization for duplicates or empty boundaries
-            return;
+            visualization = event.getProvider().create(player.getWorld(), event.getCenter(), event.getHeight());
+            visualization.elements.addAll(boundaries);
         }
 
-        BoundaryVisualization visualization = event.getProvider().create(player.getWorld(), event.getCenter(), event.getHeight());
-        visualization.elements.addAll(boundaries);
+        // If the new visualization can take over the current one, only the difference is sent.
+        // Otherwise, always clear the current visualization first to prevent duplicates.
+        BoundaryVisualization replaced = null;
+        if (currentVisualization != null) {
+            if (visualization != null && visualization.canVisualize(player)
+                    && visualization.canReplace(currentVisualization)) {
+                replaced = currentVisualization;
+            } else {
+                currentVisualization.revert(player);
+                playerData.setVisibleBoundaries(null);
+            }
+        }
 
         // If they are online and in the same world as the visualization, display the visualization next tick.
-        if (visualization.canVisualize(player))
+        if (visualization != null && visualization.canVisualize(player))
         {
             SchedulerUtil.runLaterEntity(
                     GriefPrevention.instance,
                     player,
-                    new DelayedVisualizationTask(visualization, playerData, event),
+                    new DelayedVisualizationTask(visualization, playerData, event, replaced),
                     1L);
         }
     }
@@ -351,7 +386,8 @@ public abstract class BoundaryVisualization
     private record DelayedVisualizationTask(
             @NotNull BoundaryVisualization visualization,
             @NotNull PlayerData playerData,
-            @NotNull BoundaryVisualizationEvent event)
+            @NotNull BoundaryVisualizationEvent event,
+            @Nullable BoundaryVisualization replaced)
             implements Runnable
     {
 
@@ -360,7 +396,15 @@ public abstract class BoundaryVisualization
         {
             try
             {
-                visualization.apply(event.getPlayer(), playerData);
+                // Another visualization may have been displayed in the meantime.
+                if (replaced != null && playerData.getVisibleBoundaries() == replaced)
+                {
+                    visualization.replace(event.getPlayer(), playerData, replaced);
+                }
+                else
+                {
+                    visualization.apply(event.getPlayer(), playerData);
+                }
             }
             catch (Exception exception)
             {
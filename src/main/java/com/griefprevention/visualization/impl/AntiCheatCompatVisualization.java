@@ -26,6 +26,13 @@ public class AntiCheatCompatVisualization extends FakeBlockVisualization
         super(world, visualizeFrom, height);
     }
 
+    @Override
+    protected boolean resolvesFromSnapshots()
+    {
+        // Collision shapes are only available from live blocks.
+        return false;
+    }
+
     @Override
     protected boolean isTransparent(@NotNull Block block)
     {
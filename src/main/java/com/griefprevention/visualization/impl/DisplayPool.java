@@ -0,0 +1,250 @@
+package com.griefprevention.visualization.impl;
+
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import me.ryanhamshire.GriefPrevention.PaperKnockbackHandler;
+import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A per-player pool of {@link BlockDisplay} entities used by {@link GlowingVisualization}.
+ *
+ * <p>Displays are hidden and kept when a visualization stops using them, then repositioned for the next one instead
+ * of being despawned and spawned again. Every display spawned for a player is owned by that player's pool, so
+ * cleanup never needs to scan for entities. Displays are not persistent, so they are never saved with their chunk,
+ * and displays left idle for a while are removed.
+ */
+final class DisplayPool {
+
+    // idle displays are removed after this long without being reused
+    private static final long IDLE_MILLIS = 30_000L;
+    private static final long IDLE_TICKS = IDLE_MILLIS / 50;
+    // the most idle displays kept for a single player
+    private static final int MAX_IDLE = 512;
+
+    private static final Map<UUID, DisplayPool> POOLS = new ConcurrentHashMap<>();
+    // Folia only allows asynchronous teleports, which Paper adds to Entity. Spigot's Entity comes first on the
+    // compile classpath, so the method is bound once on Paper rather than called directly.
+    private static final @Nullable MethodHandle TELEPORT_ASYNC = findTeleportAsync();
+
+    private final @NotNull UUID playerId;
+    private final Set<BlockDisplay> owned = new HashSet<>();
+    private final Deque<IdleDisplay> idle = new ArrayDeque<>();
+    private boolean shrinkScheduled = false;
+
+    private DisplayPool(@NotNull UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    /**
+     * Get the pool owning a player's displays, creating it if necessary.
+     *
+     * @param playerId the player's UUID
+     * @return the pool
+     */
+    static @NotNull DisplayPool of(@NotNull UUID playerId) {
+        return POOLS.computeIfAbsent(playerId, DisplayPool::new);
+    }
+
+    /**
+     * Remove all displays owned by a player.
+     *
+     * @param playerId the player's UUID
+     */
+    static void discard(@NotNull UUID playerId) {
+        DisplayPool pool = POOLS.remove(playerId);
+        if (pool == null) return;
+
+        List<BlockDisplay> displays;
+        synchronized (pool) {
+            displays = new ArrayList<>(pool.owned);
+            pool.owned.clear();
+            pool.idle.clear();
+        }
+        displays.forEach(DisplayPool::remove);
+    }
+
+    /**
+     * Remove all displays owned by any player.
+     */
+    static void discardAll() {
+        for (UUID playerId : new ArrayList<>(POOLS.keySet())) {
+            discard(playerId);
+        }
+    }
+
+    /**
+     * Take an idle display and move it to a location.
+     *
+     * @param location the location the display is needed at
+     * @return the display, or null if none could be reused and a new display must be spawned
+     */
+    @Nullable BlockDisplay acquire(@NotNull Location location) {
+        while (true) {
+            BlockDisplay display;
+            synchronized (this) {
+                IdleDisplay entry = idle.pollLast();
+                if (entry == null) return null;
+                display = entry.display();
+            }
+
+            // Displays are dropped when their chunk unloads, and cannot follow players across worlds.
+            if (display.isValid() && location.getWorld().equals(display.getWorld()) && moveTo(display, location)) {
+                return display;
+            }
+
+            synchronized (this) {
+                owned.remove(display);
+            }
+            remove(display);
+        }
+    }
+
+    /**
+     * Start tracking a newly spawned display.
+     *
+     * @param display the display
+     */
+    synchronized void add(@NotNull BlockDisplay display) {
+        owned.add(display);
+    }
+
+    /**
+     * Hide displays from a player and keep them for reuse.
+     *
+     * @param player the player the displays were shown to
+     * @param displays the displays no longer in use
+     */
+    void release(@NotNull Player player, @NotNull Collection<BlockDisplay> displays) {
+        if (displays.isEmpty()) return;
+
+        for (BlockDisplay display : displays) {
+            if (display == null || !display.isValid()) continue;
+            try {
+                player.hideEntity(GriefPrevention.instance, display);
+            } catch (Exception ignored) {}
+        }
+
+        long now = System.currentTimeMillis();
+        List<BlockDisplay> excess = new ArrayList<>();
+        synchronized (this) {
+            for (BlockDisplay display : displays) {
+                if (display == null || !owned.contains(display)) continue;
+                if (!display.isValid() || idle.size() >= MAX_IDLE) {
+                    owned.remove(display);
+                    excess.add(display);
+                    continue;
+                }
+                idle.addLast(new IdleDisplay(display, now));
+            }
+        }
+        excess.forEach(DisplayPool::remove);
+
+        scheduleShrink();
+    }
+
+    /**
+     * Remove a display entirely, e.g. because it is no longer needed near its player.
+     *
+     * @param display the display
+     */
+    void removeOwned(@NotNull BlockDisplay display) {
+        synchronized (this) {
+            owned.remove(display);
+        }
+        remove(display);
+    }
+
+    // Remove displays idle for too long, checking again later while any are left.
+    private void shrink() {
+        long expiry = System.currentTimeMillis() - IDLE_MILLIS;
+        List<BlockDisplay> expired = new ArrayList<>();
+        synchronized (this) {
+            shrinkScheduled = false;
+            // Displays are released in order, so the oldest ones are at the head of the queue.
+            while (!idle.isEmpty() && idle.peekFirst().since() <= expiry) {
+                BlockDisplay display = idle.pollFirst().display();
+                owned.remove(display);
+                expired.add(display);
+            }
+        }
+        expired.forEach(DisplayPool::remove);
+
+        scheduleShrink();
+    }
+
+    private void scheduleShrink() {
+        synchronized (this) {
+            if (idle.isEmpty() || shrinkScheduled) return;
+            shrinkScheduled = true;
+        }
+
+        // Displays are near their player, so they are checked on the player's thread.
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null) {
+            discard(playerId);
+            return;
+        }
+        SchedulerUtil.runLaterEntity(GriefPrevention.instance, player, this::shrink, IDLE_TICKS);
+    }
+
+    private static boolean moveTo(@NotNull BlockDisplay display, @NotNull Location location) {
+        try {
+            return display.teleport(location);
+        } catch (UnsupportedOperationException e) {
+            if (TELEPORT_ASYNC == null) return false;
+            try {
+                TELEPORT_ASYNC.invoke(display, location);
+                return true;
+            } catch (Throwable t) {
+                return false;
+            }
+        }
+    }
+
+    // Displays may be in another region on Folia, so they are removed on their own entity scheduler.
+    private static void remove(@NotNull BlockDisplay display) {
+        try {
+            if (!display.isValid()) return;
+            if (SchedulerUtil.isOwnedByCurrentRegion(display)) {
+                display.remove();
+                return;
+            }
+            SchedulerUtil.runLaterEntity(GriefPrevention.instance, display, display::remove, 1L);
+        } catch (Exception ignored) {
+            // The plugin is disabled or the display is gone. Displays are not persistent, so none outlive a restart.
+        }
+    }
+
+    private static @Nullable MethodHandle findTeleportAsync() {
+        if (!PaperKnockbackHandler.isPaperEventAvailable()) return null;
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(BlockDisplay.class, "teleportAsync", MethodType.methodType(CompletableFuture.class, Location.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private record IdleDisplay(@NotNull BlockDisplay display, long since) {}
+
+}
@@ -3,9 +3,15 @@ package com.griefprevention.visualization.impl;
 import com.griefprevention.visualization.BlockElement;
 import com.griefprevention.util.IntVector;
 import org.bukkit.World;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * A {@link BlockElement} that displays itself as a clientside block.
@@ -13,8 +19,14 @@ import org.jetbrains.annotations.NotNull;
 final class FakeBlockElement extends BlockElement
 {
 
+    // whether the server lacks bulk block changes, in which case elements are sent individually
+    private static volatile boolean bulkChangesUnsupported = false;
+
     private final @NotNull BlockData realBlock;
     private final @NotNull BlockData visualizedBlock;
+    // block states for bulk changes, created on first use and reused for every draw and erase as the position is fixed
+    private @Nullable BlockState realState;
+    private @Nullable BlockState visualizedState;
 
     FakeBlockElement(
             @NotNull IntVector intVector,
@@ -41,6 +53,82 @@ final class FakeBlockElement extends BlockElement
         player.sendBlockChange(getCoordinate().toLocation(world), realBlock);
     }
 
+    /**
+     * Send many elements to a {@link Player} at once. The server groups the changes into a single packet per chunk
+     * section instead of one packet per element.
+     *
+     * @param player the {@code Player} visualizing the elements
+     * @param world the {@code World} the elements are displayed in
+     * @param elements the elements
+     * @param visualized true to display the elements, false to restore the real blocks
+     */
+    static void sendAll(
+            @NotNull Player player,
+            @NotNull World world,
+            @NotNull Collection<FakeBlockElement> elements,
+            boolean visualized)
+    {
+        if (elements.isEmpty()) return;
+
+        if (!bulkChangesUnsupported)
+        {
+            try
+            {
+                player.sendBlockChanges(toBlockStates(world, elements, visualized));
+                return;
+            }
+            catch (NoSuchMethodError | UnsupportedOperationException e)
+            {
+                // Older or partial implementations, send individual changes from now on.
+                bulkChangesUnsupported = true;
+            }
+        }
+
+        for (FakeBlockElement element : elements)
+        {
+            if (visualized) element.draw(player, world);
+            else element.erase(player, world);
+        }
+    }
+
+    private static @NotNull List<BlockState> toBlockStates(
+            @NotNull World world,
+            @NotNull Collection<FakeBlockElement> elements,
+            boolean visualized)
+    {
+        List<BlockState> states = new ArrayList<>(elements.size());
+        for (FakeBlockElement element : elements)
+        {
+            // Never send fake blocks into unloaded chunks.
+            if (visualized && !element.getCoordinate().isChunkLoaded(world)) continue;
+
+            states.add(visualized ? element.getVisualizedState(world) : element.getRealState(world));
+        }
+        return states;
+    }
+
+    private @NotNull BlockState getVisualizedState(@NotNull World world)
+    {
+        BlockState state = visualizedState;
+        if (state == null || state.getWorld() != world)
+        {
+            state = visualizedBlock.createBlockState().copy(getCoordinate().toLocation(world));
+            visualizedState = state;
+        }
+        return state;
+    }
+
+    private @NotNull BlockState getRealState(@NotNull World world)
+    {
+        BlockState state = realState;
+        if (state == null || state.getWorld() != world)
+        {
+            state = realBlock.createBlockState().copy(getCoordinate().toLocation(world));
+            realState = state;
+        }
+        return state;
+    }
+
     @Override
     public boolean equals(Object other)
     {
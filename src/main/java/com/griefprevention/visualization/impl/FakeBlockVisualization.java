@@ -2,12 +2,16 @@ package com.griefprevention.visualization.impl;
 
 import com.griefprevention.util.IntVector;
 import com.griefprevention.visualization.BlockBoundaryVisualization;
+import com.griefprevention.visualization.BlockElement;
 import com.griefprevention.visualization.Boundary;
 import com.griefprevention.visualization.BoundaryVisualization;
 import com.griefprevention.visualization.VisualizationType;
 import me.ryanhamshire.GriefPrevention.Claim;
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
 import me.ryanhamshire.GriefPrevention.PlayerData;
 import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Material;
 import org.bukkit.Tag;
 import org.bukkit.World;
@@ -19,8 +23,15 @@ import org.bukkit.block.data.Lightable;
 import com.griefprevention.visualization.impl.SnapOverrideHelper.SnapOverride;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 
 /**
  * A {@link BoundaryVisualization} implementation that displays clientside blocks along
@@ -29,7 +40,31 @@ import java.util.function.Consumer;
 public class FakeBlockVisualization extends BlockBoundaryVisualization
 {
 
+    // marks a position not found while walking a column
+    private static final int NO_BLOCK = Integer.MIN_VALUE;
+    // whether a class overrides isTransparent(Block), which snapshots cannot honor
+    private static final ClassValue<Boolean> OVERRIDES_TRANSPARENCY = new ClassValue<>()
+    {
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type)
+        {
+            for (Class<?> current = type; current != FakeBlockVisualization.class; current = current.getSuperclass())
+            {
+                try
+                {
+                    current.getDeclaredMethod("isTransparent", Block.class);
+                    return true;
+                }
+                catch (NoSuchMethodException ignored) {}
+            }
+            return false;
+        }
+    };
+
     protected boolean waterTransparent;
+    private final @NotNull BlockReader liveReader = new LiveReader();
+    // elements awaiting resolution off the main thread, only set while boundaries are being drawn
+    private @Nullable List<PendingElement> pendingElements;
 
     /**
      * Construct a new {@code FakeBlockVisualization}.
@@ -50,11 +85,157 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
         boolean previous = this.waterTransparent;
         try {
             this.waterTransparent = isPlayerSubmerged(player);
-            super.apply(player, playerData);
+            if (!resolvesFromSnapshots()) {
+                super.apply(player, playerData);
+                onElementsDrawn(player);
+                return;
+            }
+
+            // Boundaries only record the elements they need, positions are resolved from chunk snapshots.
+            List<PendingElement> pending = new ArrayList<>();
+            this.pendingElements = pending;
+            try {
+                super.apply(player, playerData);
+            } finally {
+                this.pendingElements = null;
+            }
+            resolveAsynchronously(player, playerData, pending, this.waterTransparent);
         } finally {
             this.waterTransparent = previous;
         }
     }
+
+    /**
+     * Check whether element positions may be resolved off the main thread from {@link ChunkSnapshot ChunkSnapshots}.
+     *
+     * <p>Snapshots only expose {@link BlockData}, so by default positions are only resolved from snapshots if
+     * {@link #isTransparent(Block)} is not overridden. Implementations overriding it with checks which only need the
+     * {@code BlockData} may return true.</p>
+     *
+     * @return true if positions may be resolved from snapshots
+     */
+    protected boolean resolvesFromSnapshots()
+    {
+        return !OVERRIDES_TRANSPARENCY.get(getClass());
+    }
+
+    /**
+     * Hook for subclasses to react once elements have been sent to the {@link Player}. Called on the
+     * {@code Player}'s thread.
+     *
+     * @param player the visualization target
+     */
+    protected void onElementsDrawn(@NotNull Player player)
+    {
+        // Default implementation does nothing.
+    }
+
+    private void resolveAsynchronously(
+            @NotNull Player player,
+            @NotNull PlayerData playerData,
+            @NotNull List<PendingElement> pending,
+            boolean waterTransparent)
+    {
+        // Capture each chunk once here, the column walks happen off the main thread.
+        Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        List<PendingElement> requests = new ArrayList<>(pending.size());
+        for (PendingElement request : pending)
+        {
+            int chunkX = request.coordinate().x() >> 4;
+            int chunkZ = request.coordinate().z() >> 4;
+            // Elements in unloaded chunks would never be sent anyway.
+            if (!world.isChunkLoaded(chunkX, chunkZ)) continue;
+
+            snapshots.computeIfAbsent(
+                    SnapshotReader.chunkKey(chunkX, chunkZ),
+                    key -> world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false));
+            requests.add(request);
+        }
+
+        if (requests.isEmpty())
+        {
+            displayElements(player);
+            onElementsDrawn(player);
+            return;
+        }
+
+        SchedulerUtil.runAsyncNow(GriefPrevention.instance, () -> {
+            List<FakeBlockElement> resolved = new ArrayList<>(requests.size());
+            try
+            {
+                BlockReader reader = new SnapshotReader(snapshots, world, waterTransparent);
+                for (PendingElement request : requests)
+                {
+                    resolved.add(resolveElement(reader, request.coordinate(), request.fakeData(),
+                            request.exactPlacement(), waterTransparent));
+                }
+            }
+            catch (RuntimeException exception)
+            {
+                GriefPrevention.instance.getLogger().log(Level.WARNING, "Exception visualizing claim", exception);
+                return;
+            }
+
+            SchedulerUtil.runLaterEntity(GriefPrevention.instance, player, () -> {
+                // The visualization may have been replaced or reverted while elements were resolved.
+                if (playerData.getVisibleBoundaries() != this || !player.isOnline() || !world.equals(player.getWorld()))
+                    return;
+
+                for (int i = 0; i < resolved.size(); i++)
+                {
+                    FakeBlockElement element = resolved.get(i);
+                    PendingElement request = requests.get(i);
+                    elements.add(element);
+                    onElementAdded(element.getCoordinate(), request.fakeData(), request.type());
+                }
+                displayElements(player);
+                onElementsDrawn(player);
+            }, 1L);
+        });
+    }
+
+    @Override
+    protected void displayElements(@NotNull Player player)
+    {
+        // Elements are still being resolved, they are displayed once handed back.
+        if (pendingElements != null) return;
+
+        super.displayElements(player);
+    }
+
+    @Override
+    protected void drawElements(@NotNull Player player, @NotNull Collection<BlockElement> elements)
+    {
+        // Fake blocks are sent in bulk, anything else added by subclasses is drawn normally.
+        List<FakeBlockElement> fakeBlocks = new ArrayList<>(elements.size());
+        List<BlockElement> others = new ArrayList<>();
+        partition(elements, fakeBlocks, others);
+        FakeBlockElement.sendAll(player, world, fakeBlocks, true);
+        if (!others.isEmpty()) super.drawElements(player, others);
+    }
+
+    @Override
+    protected void eraseElements(@NotNull Player player, @NotNull Collection<BlockElement> elements)
+    {
+        List<FakeBlockElement> fakeBlocks = new ArrayList<>(elements.size());
+        List<BlockElement> others = new ArrayList<>();
+        partition(elements, fakeBlocks, others);
+        FakeBlockElement.sendAll(player, world, fakeBlocks, false);
+        if (!others.isEmpty()) super.eraseElements(player, others);
+    }
+
+    private static void partition(
+            @NotNull Collection<BlockElement> elements,
+            @NotNull List<FakeBlockElement> fakeBlocks,
+            @NotNull List<BlockElement> others)
+    {
+        for (BlockElement element : elements)
+        {
+            if (element instanceof FakeBlockElement fakeBlock) fakeBlocks.add(fakeBlock);
+            else others.add(element);
+        }
+    }
+
     private boolean isPlayerSubmerged(@NotNull Player player) {
         Block feet = player.getLocation().getBlock();
         return isLiquidLike(feet);
@@ -320,12 +501,7 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
      */
     private @NotNull Consumer<@NotNull IntVector> addBlockElement(@NotNull BlockData fakeData, @NotNull VisualizationType type)
     {
-        return vector -> {
-            Block visibleLocation = getVisibleLocation(vector);
-            IntVector location = new IntVector(visibleLocation);
-            elements.add(new FakeBlockElement(location, visibleLocation.getBlockData(), fakeData));
-            onElementAdded(location, fakeData, type);
-        };
+        return vector -> addElement(vector, fakeData, type, false);
     }
 
     /**
@@ -340,12 +516,36 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
             @NotNull BlockData fakeData,
             @NotNull VisualizationType type)
     {
-        return vector -> {
-            Block exactLocation = vector.toBlock(world);
-            IntVector location = new IntVector(exactLocation);
-            elements.add(new FakeBlockElement(location, exactLocation.getBlockData(), fakeData));
-            onElementAdded(location, fakeData, type);
-        };
+        return vector -> addElement(vector, fakeData, type, true);
+    }
+
+    private void addElement(
+            @NotNull IntVector vector,
+            @NotNull BlockData fakeData,
+            @NotNull VisualizationType type,
+            boolean exactPlacement)
+    {
+        if (pendingElements != null)
+        {
+            pendingElements.add(new PendingElement(vector, fakeData, type, exactPlacement));
+            return;
+        }
+
+        FakeBlockElement element = resolveElement(liveReader, vector, fakeData, exactPlacement, waterTransparent);
+        elements.add(element);
+        onElementAdded(element.getCoordinate(), fakeData, type);
+    }
+
+    private @NotNull FakeBlockElement resolveElement(
+            @NotNull BlockReader reader,
+            @NotNull IntVector vector,
+            @NotNull BlockData fakeData,
+            boolean exactPlacement,
+            boolean waterTransparent)
+    {
+        int y = exactPlacement ? vector.y() : findVisibleY(reader, vector.x(), vector.z(), waterTransparent);
+        IntVector location = new IntVector(vector.x(), y, vector.z());
+        return new FakeBlockElement(location, reader.getBlockData(vector.x(), y, vector.z()), fakeData);
     }
 
     /**
@@ -367,39 +567,45 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
      * @return the located {@link Block}
      */
     protected @NotNull Block getVisibleLocation(@NotNull IntVector vector)
+    {
+        return world.getBlockAt(vector.x(), findVisibleY(liveReader, vector.x(), vector.z(), waterTransparent), vector.z());
+    }
+
+    private int findVisibleY(@NotNull BlockReader reader, int x, int z, boolean waterTransparent)
     {
         // Always start from the highest block at this X,Z to ensure consistent surface detection
         // regardless of whether the player is underground or on the surface
-        int highestY = world.getHighestBlockYAt(vector.x(), vector.z());
-        Block start = world.getBlockAt(vector.x(), highestY, vector.z());
-        return snapToSurface(start);
+        int startY = Math.min(reader.getHighestBlockYAt(x, z), world.getMaxHeight() - 1);
+        return snapToSurface(reader, x, startY, z, waterTransparent);
     }
 
-    private @NotNull Block snapToSurface(@NotNull Block start)
+    private int snapToSurface(@NotNull BlockReader reader, int x, int startY, int z, boolean waterTransparent)
     {
         int maxY = world.getMaxHeight() - 1;
         int minY = world.getMinHeight();
 
-        Block column = start;
+        int column = startY;
 
         // Step upward until we reach an open cell (air/liquid depending on context).
         // This handles cases where getHighestBlockYAt returns a block below overhangs.
-        while (!isTransparent(column) && column.getY() < maxY)
+        while (!reader.isTransparent(x, column, z) && column < maxY)
         {
-            column = column.getRelative(BlockFace.UP);
+            column++;
         }
 
-        Block current = column;
-        Block lastTransparent = column;
+        int current = column;
+        int lastTransparent = column;
         boolean inLiquidColumn = false;
-        Block firstLiquid = null;
-        Block firstWater = null;
-        Block seabed = null;
+        int firstLiquid = NO_BLOCK;
+        int firstWater = NO_BLOCK;
+        int seabed = NO_BLOCK;
 
-        while (current.getY() >= minY)
+        while (current >= minY)
         {
+            BlockData data = reader.getBlockData(x, current, z);
+
             // Check for special snap overrides first
-            SnapOverride override = SnapOverrideHelper.resolve(current, waterTransparent);
+            SnapOverride override = SnapOverrideHelper.resolve(data, waterTransparent);
             if (override != null)
             {
                 switch (override)
@@ -407,19 +613,17 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
                     case SELF:
                         return current;
                     case ABOVE:
-                        Block above = current.getRelative(BlockFace.UP);
-                        if (above.getY() <= maxY)
+                        if (current + 1 <= maxY)
                         {
-                            return above;
+                            return current + 1;
                         }
                         return current;
                     case TWO_ABOVE:
-                        Block twoAbove = current.getRelative(BlockFace.UP, 2);
-                        if (twoAbove.getY() <= maxY)
+                        if (current + 2 <= maxY)
                         {
-                            return twoAbove;
+                            return current + 2;
                         }
-                        return current.getRelative(BlockFace.UP);
+                        return current + 1;
                     case COLUMN_SURFACE:
                         // For lava, treat as surface liquid
                         if (!waterTransparent)
@@ -433,40 +637,40 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
                 }
             }
 
-            if (isLiquidLike(current))
+            if (SnapOverrideHelper.isLiquidLike(data, waterTransparent))
             {
                 if (!inLiquidColumn)
                 {
                     inLiquidColumn = true;
                     firstLiquid = current;
-                    if (isPureWater(current))
+                    if (isPureWater(data))
                     {
                         firstWater = current;
                     }
                 }
 
-                if (firstWater == null && isPureWater(current))
+                if (firstWater == NO_BLOCK && isPureWater(data))
                 {
                     firstWater = current;
                 }
 
-                current = current.getRelative(BlockFace.DOWN);
+                current--;
                 continue;
             }
 
-            if (isTransparent(current))
+            if (reader.isTransparent(x, current, z))
             {
-                if (isStairOrSlab(current))
+                if (isStairOrSlab(data))
                 {
                     return current;
                 }
 
                 lastTransparent = current;
-                current = current.getRelative(BlockFace.DOWN);
+                current--;
                 continue;
             }
 
-            if (isStairOrSlab(current))
+            if (isStairOrSlab(data))
             {
                 return current;
             }
@@ -482,12 +686,12 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
 
         if (!waterTransparent)
         {
-            if (firstWater != null)
+            if (firstWater != NO_BLOCK)
             {
                 return firstWater;
             }
 
-            if (firstLiquid != null)
+            if (firstLiquid != NO_BLOCK)
             {
                 return firstLiquid;
             }
@@ -495,7 +699,7 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
             return lastTransparent;
         }
 
-        if (seabed != null)
+        if (seabed != NO_BLOCK)
         {
             return seabed;
         }
@@ -511,12 +715,17 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
      */
     protected boolean isTransparent(@NotNull Block block)
     {
-        if (isLiquidLike(block))
+        return isTransparent(block.getBlockData(), waterTransparent);
+    }
+
+    private static boolean isTransparent(@NotNull BlockData data, boolean waterTransparent)
+    {
+        if (SnapOverrideHelper.isLiquidLike(data, waterTransparent))
         {
             return waterTransparent;
         }
 
-        Material blockMaterial = block.getType();
+        Material blockMaterial = data.getMaterial();
 
         // Always pass through air and leaves - check before SnapOverride
         if (blockMaterial.isAir() || Tag.LEAVES.isTagged(blockMaterial))
@@ -525,7 +734,7 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
         }
 
         // Check if this block has a special snap override - if so, treat as opaque
-        SnapOverride override = SnapOverrideHelper.resolve(block, waterTransparent);
+        SnapOverride override = SnapOverrideHelper.resolve(data, waterTransparent);
         if (override != null)
         {
             return false;
@@ -537,7 +746,7 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
             return false;
         }
 
-        if (isStairOrSlab(block))
+        if (isStairOrSlab(data))
             return false;
 
         if (Tag.FENCES.isTagged(blockMaterial)
@@ -547,21 +756,20 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
                 || Tag.WALL_SIGNS.isTagged(blockMaterial))
             return true;
 
-        return block.getType().isTransparent();
+        return blockMaterial.isTransparent();
     }
 
-    private boolean isStairOrSlab(@NotNull Block block)
+    private static boolean isStairOrSlab(@NotNull BlockData data)
     {
-        BlockData data = block.getBlockData();
         if (data instanceof org.bukkit.block.data.type.Slab || data instanceof org.bukkit.block.data.type.Stairs)
         {
             return true;
         }
 
-        return isStairOrSlab(block.getType());
+        return isStairOrSlab(data.getMaterial());
     }
 
-    private boolean isStairOrSlab(@NotNull Material material)
+    private static boolean isStairOrSlab(@NotNull Material material)
     {
         if (Tag.SLABS.isTagged(material) || Tag.STAIRS.isTagged(material))
         {
@@ -572,9 +780,113 @@ public class FakeBlockVisualization extends BlockBoundaryVisualization
         return name.contains("SLAB") || name.contains("STAIRS") || name.contains("STEP");
     }
 
-    private boolean isPureWater(@NotNull Block block)
+    private static boolean isPureWater(@NotNull BlockData data)
+    {
+        return data.getMaterial() == Material.WATER;
+    }
+
+    /**
+     * An element recorded while drawing boundaries, resolved once chunk snapshots are available.
+     */
+    private record PendingElement(
+            @NotNull IntVector coordinate,
+            @NotNull BlockData fakeData,
+            @NotNull VisualizationType type,
+            boolean exactPlacement)
+    {
+    }
+
+    /**
+     * Read access to the blocks of a column being walked.
+     */
+    private interface BlockReader
+    {
+
+        int getHighestBlockYAt(int x, int z);
+
+        @NotNull BlockData getBlockData(int x, int y, int z);
+
+        boolean isTransparent(int x, int y, int z);
+
+    }
+
+    /**
+     * Reads blocks directly from the world. Only usable on the thread owning the world region.
+     */
+    private final class LiveReader implements BlockReader
     {
-        return block.getType() == Material.WATER;
+
+        @Override
+        public int getHighestBlockYAt(int x, int z)
+        {
+            return world.getHighestBlockYAt(x, z);
+        }
+
+        @Override
+        public @NotNull BlockData getBlockData(int x, int y, int z)
+        {
+            return world.getBlockAt(x, y, z).getBlockData();
+        }
+
+        @Override
+        public boolean isTransparent(int x, int y, int z)
+        {
+            return FakeBlockVisualization.this.isTransparent(world.getBlockAt(x, y, z));
+        }
+
+    }
+
+    /**
+     * Reads blocks from {@link ChunkSnapshot ChunkSnapshots}. Safe to use from any thread.
+     */
+    private static final class SnapshotReader implements BlockReader
+    {
+
+        private static final BlockData OUTSIDE_WORLD = Material.VOID_AIR.createBlockData();
+
+        private final @NotNull Map<Long, ChunkSnapshot> snapshots;
+        private final int minY;
+        private final int maxY;
+        private final boolean waterTransparent;
+
+        private SnapshotReader(@NotNull Map<Long, ChunkSnapshot> snapshots, @NotNull World world, boolean waterTransparent)
+        {
+            this.snapshots = snapshots;
+            this.minY = world.getMinHeight();
+            this.maxY = world.getMaxHeight() - 1;
+            this.waterTransparent = waterTransparent;
+        }
+
+        private static long chunkKey(int chunkX, int chunkZ)
+        {
+            return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        }
+
+        private @NotNull ChunkSnapshot getSnapshot(int x, int z)
+        {
+            return snapshots.get(chunkKey(x >> 4, z >> 4));
+        }
+
+        @Override
+        public int getHighestBlockYAt(int x, int z)
+        {
+            return getSnapshot(x, z).getHighestBlockYAt(x & 0xF, z & 0xF);
+        }
+
+        @Override
+        public @NotNull BlockData getBlockData(int x, int y, int z)
+        {
+            // Snapshots do not cover blocks outside the world's height, exact elements may be placed there.
+            if (y < minY || y > maxY) return OUTSIDE_WORLD;
+            return getSnapshot(x, z).getBlockData(x & 0xF, y, z & 0xF);
+        }
+
+        @Override
+        public boolean isTransparent(int x, int y, int z)
+        {
+            return FakeBlockVisualization.isTransparent(getBlockData(x, y, z), waterTransparent);
+        }
+
     }
 
 }
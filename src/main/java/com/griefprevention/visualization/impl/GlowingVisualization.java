@@ -1,6 +1,7 @@
 package com.griefprevention.visualization.impl;
 
 import com.griefprevention.visualization.Boundary;
+import com.griefprevention.visualization.BoundaryVisualization;
 import com.griefprevention.visualization.VisualizationType;
 import me.ryanhamshire.GriefPrevention.GriefPrevention;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
@@ -12,7 +13,6 @@ import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.BlockDisplay;
 import org.bukkit.entity.Display;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import me.ryanhamshire.GriefPrevention.PlayerData;
 import org.bukkit.util.Transformation;
@@ -99,29 +99,49 @@ public class GlowingVisualization extends FakeBlockVisualization {
     }
 
     /**
-     * Remove a display and its associated key from tracking (Track overload for when you already have t).
-     * Safe to call with null display. All access synchronized on Track.
+     * Remove a display and its associated key from tracking. Safe to call with null display.
+     * All access synchronized on Track.
      */
     private void untrackDisplay(Track t, BlockDisplay display) {
-        if (display == null) return;
-        if (t != null) {
-            synchronized (t) {
-                Long k = t.keyByEntity.remove(display);
-                if (k != null) t.keys.remove(k);
-                t.displays.remove(display);
-            }
+        if (display == null || t == null) return;
+        synchronized (t) {
+            Long k = t.keyByEntity.remove(display);
+            if (k != null) t.keys.remove(k);
+            t.displays.remove(display);
         }
-        try {
-            if (display.isValid()) display.remove();
-        } catch (Exception ignored) {}
     }
 
     /**
-     * Remove a display and its associated key from tracking (UUID overload for external callers).
-     * Safe to call with null display.
+     * Stop using all displays in a Track, returning them to the player's pool. Bumps the generation so pending
+     * tasks do not resurrect displays.
      */
-    private void untrackDisplay(UUID playerId, BlockDisplay display) {
-        untrackDisplay(getTrack(playerId), display);
+    private void releaseTrack(@NotNull Player player, Track t) {
+        if (t == null) return;
+        Set<BlockDisplay> toRelease;
+        synchronized (t) {
+            t.gen++; // invalidate any pending tasks
+            toRelease = new HashSet<>(t.displays);
+            t.displays.clear();
+            t.keys.clear();
+            t.keyByEntity.clear();
+        }
+        DisplayPool.of(player.getUniqueId()).release(player, toRelease);
+    }
+
+    /**
+     * Remove all display entities owned by a player, e.g. when they leave the server.
+     *
+     * @param playerId the player's UUID
+     */
+    public static void discardDisplays(@NotNull UUID playerId) {
+        DisplayPool.discard(playerId);
+    }
+
+    /**
+     * Remove all display entities owned by any player.
+     */
+    public static void discardAllDisplays() {
+        DisplayPool.discardAll();
     }
     
     public GlowingVisualization(@NotNull World world, @NotNull com.griefprevention.util.IntVector visualizeFrom, int height) {
@@ -129,6 +149,12 @@ public class GlowingVisualization extends FakeBlockVisualization {
         this.plugin = GriefPrevention.instance;
     }
 
+    @Override
+    protected boolean canReplace(@NotNull BoundaryVisualization visible) {
+        // Display entities are tracked by the visualization that placed them and released when it is reverted.
+        return false;
+    }
+
     @Override
     public void handleBlockBreak(@NotNull Player player, @NotNull Block block) {
         UUID playerId = player.getUniqueId();
@@ -156,10 +182,11 @@ public class GlowingVisualization extends FakeBlockVisualization {
                     }
                 }
             }
-            // Untrack outside the iteration (use Track overload since we already have t)
+            // Untrack outside the iteration and keep the displays for reuse
             for (BlockDisplay d : toRemove) {
                 untrackDisplay(t, d);
             }
+            DisplayPool.of(playerId).release(player, toRemove);
         }
 
         // Remove from our recorded display locations (two-pass: collect removed, then clean overrides)
@@ -186,28 +213,8 @@ public class GlowingVisualization extends FakeBlockVisualization {
 
     @Override
     protected void apply(@NotNull Player player, @NotNull PlayerData playerData) {
-        // Nuke and rebuild: remove existing entities, clear track, then rebuild
-        UUID playerId = player.getUniqueId();
-        Track t = getTrack(playerId);
-        
-        if (t != null) {
-            // Copy under lock, bump generation, then remove entities outside lock
-            Set<BlockDisplay> toRemove;
-            synchronized (t) {
-                t.gen++; // invalidate any pending tasks
-                toRemove = new HashSet<>(t.displays);
-                t.displays.clear();
-                t.keys.clear();
-                t.keyByEntity.clear();
-            }
-            for (BlockDisplay d : toRemove) {
-                try {
-                    if (d != null && d.isValid()) d.remove();
-                } catch (Exception ignored) {}
-            }
-        }
-        // Remove the track entry entirely (will be recreated fresh)
-        removeTrack(playerId);
+        // Rebuild: return existing displays to the pool, then drop the track entry (will be recreated fresh)
+        releaseTrack(player, removeTrack(player.getUniqueId()));
 
         synchronized (this) {
             displayLocations.clear();
@@ -216,8 +223,11 @@ public class GlowingVisualization extends FakeBlockVisualization {
 
         // Call super.apply() to show the underlying FakeBlockVisualization (yellow outline blocks)
         super.apply(player, playerData);
+    }
 
-        // Immediately create displays for better responsiveness and to prevent duplicates
+    @Override
+    protected void onElementsDrawn(@NotNull Player player) {
+        // Create displays as soon as element positions are known for better responsiveness and to prevent duplicates
         createDisplaysForPlayer(player);
     }
 
@@ -261,39 +271,9 @@ public class GlowingVisualization extends FakeBlockVisualization {
     public void revert(@NotNull Player player) {
         super.revert(player);
 
-        UUID playerId = player.getUniqueId();
-        Track t = removeTrack(playerId);
-        boolean hadTrackedDisplays = false;
-        
-        if (t != null) {
-            // Copy under lock, bump generation, then remove entities outside
-            Set<BlockDisplay> toRemove;
-            synchronized (t) {
-                t.gen++; // invalidate any pending tasks
-                hadTrackedDisplays = !t.displays.isEmpty();
-                toRemove = new HashSet<>(t.displays);
-                t.displays.clear();
-                t.keys.clear();
-                t.keyByEntity.clear();
-            }
-            for (BlockDisplay d : toRemove) {
-                try {
-                    if (d != null && d.isValid()) d.remove();
-                } catch (Exception ignored) {}
-            }
-        }
-
-        // Safety net: only scan if we suspect orphans (no tracked displays but player had visualization)
-        if (!hadTrackedDisplays) {
-            String playerTag = tagFor(player);
-            try {
-                for (Entity entity : player.getWorld().getNearbyEntities(player.getLocation(), 32, 32, 32)) {
-                    if (entity instanceof BlockDisplay && entity.getScoreboardTags().contains(playerTag)) {
-                        entity.remove();
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
+        // Hide displays and return them to the pool. The pool owns every display spawned for the player,
+        // so no orphan scan is needed.
+        releaseTrack(player, removeTrack(player.getUniqueId()));
 
         // Clear display locations to ensure no stale data remains
         synchronized (this) {
@@ -336,13 +316,8 @@ public class GlowingVisualization extends FakeBlockVisualization {
         boolean isExactPlacement = mat == Material.WHITE_WOOL || mat == Material.IRON_BLOCK ||
                                    mat == Material.REDSTONE_ORE || mat == Material.NETHERRACK;
 
-        int y;
-        if (isExactPlacement) {
-            y = pos.y();
-        } else {
-            Block visibleLocation = getVisibleLocation(pos);
-            y = visibleLocation.getY();
-        }
+        // Positions reported by onElementAdded are already snapped to the visible surface
+        int y = pos.y();
 
         // Ensure Y is within world bounds
         y = Math.max(world.getMinHeight(), Math.min(world.getMaxHeight(), y));
@@ -392,74 +367,50 @@ public class GlowingVisualization extends FakeBlockVisualization {
             }
             
             try {
-                // Create and initialize the display entity atomically to avoid global visibility flicker
-                BlockDisplay display = world.spawn(loc, BlockDisplay.class, spawned -> {
-                    // Tag this display for identification
-                    spawned.addScoreboardTag(TAG_BASE);      // base tag for all GP displays
-                    spawned.addScoreboardTag(playerTag);     // per-player tag
-                    spawned.addScoreboardTag(typeTag);       // type tag (subdiv vs outline)
-                    
-                    // Make per-player only
-                    spawned.setVisibleByDefault(false);
-                    // Paper/Folia-compatible per-player visibility
-                    // Note: showEntity method may not be available in all Bukkit versions
-                    try {
-                        player.showEntity(plugin, spawned);
-                    } catch (Exception e) {
-                        // Fallback for older Bukkit versions
-                    }
-
-                    spawned.setBlock(blockData);
-                    spawned.setGlowing(true);
-                    spawned.setBrightness(new Display.Brightness(12, 12));
-                    spawned.setShadowStrength(0.0f);
-                    spawned.setShadowRadius(0.0f);
-
-                    // Apply transformation: scale slightly larger and offset to stay centered
-                    // offset = -(scale - 1) / 2 recenters the scaled block on the original corner
-                    float s = OUTLINE_SCALE;
-                    float o = -(s - 1.0f) / 2.0f;
-                    spawned.setTransformation(new Transformation(
-                            new Vector3f(o, o, o),  // translation (recenter for scale)
-                            ROT_IDENTITY,           // left rotation (identity)
-                            new Vector3f(s, s, s),  // scale
-                            ROT_IDENTITY            // right rotation (identity)
-                    ));
-
-                    spawned.setViewRange(96);
-                    spawned.setInterpolationDuration(0);  // No lerp slide on spawn
-
-                    // Apply glow color override (use pos directly as key - IntVector is immutable)
-                    org.bukkit.Color override;
-                    synchronized (GlowingVisualization.this) {
-                        override = glowColorOverrides.get(pos);
-                    }
-                    spawned.setGlowColorOverride(override != null ? override : defaultGlowColor(blockData.getMaterial()));
-                });
-
-                // Sanity check: if spawn succeeded but entity is instantly invalid, release key
-                if (display == null || !display.isValid()) {
-                    synchronized (t) {
-                        if (t.gen == myGen) t.keys.remove(posKey);
+                // Reuse an idle display from the player's pool if possible, repositioned and updated before it is
+                // shown again. Otherwise create and initialize the display entity atomically to avoid global
+                // visibility flicker.
+                DisplayPool pool = DisplayPool.of(playerId);
+                BlockDisplay display = pool.acquire(loc);
+                if (display != null) {
+                    prepareDisplay(player, display, pos, blockData, typeTag);
+                } else {
+                    display = world.spawn(loc, BlockDisplay.class, spawned -> {
+                        initializeDisplay(spawned, playerTag);
+                        prepareDisplay(player, spawned, pos, blockData, typeTag);
+                    });
+
+                    // Sanity check: if spawn succeeded but entity is instantly invalid, release key
+                    if (display == null || !display.isValid()) {
+                        synchronized (t) {
+                            if (t.gen == myGen) t.keys.remove(posKey);
+                        }
+                        return;
                     }
-                    return;
+                    pool.add(display);
                 }
 
                 // Track display and its key for this player (if track still valid)
+                boolean invalidated;
                 synchronized (t) {
-                    if (t.gen != myGen) {
-                        // Track was invalidated after spawn - remove the orphan entity
-                        display.remove();
-                        return;
+                    invalidated = t.gen != myGen;
+                    if (!invalidated) {
+                        t.displays.add(display);
+                        t.keyByEntity.put(display, posKey);
                     }
-                    t.displays.add(display);
-                    t.keyByEntity.put(display, posKey);
+                }
+                if (invalidated) {
+                    // Track was invalidated in the meantime - hand the display straight back to the pool
+                    pool.release(player, Set.of(display));
+                    return;
                 }
 
                 // Schedule a check to ensure the display is still valid
+                BlockDisplay tracked = display;
                 SchedulerUtil.runLaterEntity(plugin, player, () -> {
-                    if (display.isValid() && !player.getWorld().equals(display.getWorld())) {
-                        untrackDisplay(playerId, display);
+                    if (tracked.isValid() && !player.getWorld().equals(tracked.getWorld())) {
+                        untrackDisplay(t, tracked);
+                        pool.removeOwned(tracked);
                     }
                 }, 20L);
 
@@ -475,4 +426,64 @@ public class GlowingVisualization extends FakeBlockVisualization {
             }
         }, 1L);
     }
-}
\ No newline at end of file
+
+    /**
+     * Set up the properties a display keeps for its whole lifetime.
+     */
+    private static void initializeDisplay(@NotNull BlockDisplay spawned, @NotNull String playerTag) {
+        // Tag this display for identification
+        spawned.addScoreboardTag(TAG_BASE);      // base tag for all GP displays
+        spawned.addScoreboardTag(playerTag);     // per-player tag
+
+        // Make per-player only, and never save pooled displays with their chunk
+        spawned.setVisibleByDefault(false);
+        spawned.setPersistent(false);
+
+        spawned.setGlowing(true);
+        spawned.setBrightness(new Display.Brightness(12, 12));
+        spawned.setShadowStrength(0.0f);
+        spawned.setShadowRadius(0.0f);
+
+        // Apply transformation: scale slightly larger and offset to stay centered
+        // offset = -(scale - 1) / 2 recenters the scaled block on the original corner
+        float s = OUTLINE_SCALE;
+        float o = -(s - 1.0f) / 2.0f;
+        spawned.setTransformation(new Transformation(
+                new Vector3f(o, o, o),  // translation (recenter for scale)
+                ROT_IDENTITY,           // left rotation (identity)
+                new Vector3f(s, s, s),  // scale
+                ROT_IDENTITY            // right rotation (identity)
+        ));
+
+        spawned.setViewRange(96);
+        spawned.setInterpolationDuration(0);  // No lerp slide on spawn
+    }
+
+    /**
+     * Update a new or reused display for the element it shows, then show it to the player.
+     */
+    private void prepareDisplay(@NotNull Player player, @NotNull BlockDisplay display, @NotNull IntVector pos,
+            @NotNull BlockData blockData, @NotNull String typeTag) {
+        // type tag (subdiv vs outline)
+        display.removeScoreboardTag(TAG_SUBDIV);
+        display.removeScoreboardTag(TAG_OUTLINE);
+        display.addScoreboardTag(typeTag);
+
+        display.setBlock(blockData);
+
+        // Apply glow color override (use pos directly as key - IntVector is immutable)
+        org.bukkit.Color override;
+        synchronized (this) {
+            override = glowColorOverrides.get(pos);
+        }
+        display.setGlowColorOverride(override != null ? override : defaultGlowColor(blockData.getMaterial()));
+
+        // Paper/Folia-compatible per-player visibility
+        // Note: showEntity method may not be available in all Bukkit versions
+        try {
+            player.showEntity(plugin, display);
+        } catch (Exception e) {
+            // Fallback for older Bukkit versions
+        }
+    }
+}
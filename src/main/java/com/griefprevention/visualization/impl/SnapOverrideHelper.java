@@ -34,17 +34,16 @@ final class SnapOverrideHelper
         COLUMN_SEABED
     }
 
-    static SnapOverride resolve(@NotNull Block block, boolean submerged)
+    static SnapOverride resolve(@NotNull BlockData data, boolean submerged)
     {
-        BlockData data = block.getBlockData();
-        Material material = block.getType();
+        Material material = data.getMaterial();
 
         if (data instanceof Door door)
         {
             return door.getHalf() == Door.Half.BOTTOM ? SnapOverride.ABOVE : SnapOverride.SELF;
         }
 
-        if (submerged && block.getType() == Material.TALL_SEAGRASS && data instanceof Bisected bisected) {
+        if (submerged && material == Material.TALL_SEAGRASS && data instanceof Bisected bisected) {
             return bisected.getHalf() == Bisected.Half.BOTTOM ? SnapOverride.ABOVE : SnapOverride.SELF;
         }
 
@@ -229,13 +228,18 @@ final class SnapOverrideHelper
 
     static boolean isLiquidLike(@NotNull Block block, boolean submerged)
     {
-        if (block.isLiquid())
+        return isLiquidLike(block.getBlockData(), submerged);
+    }
+
+    static boolean isLiquidLike(@NotNull BlockData data, boolean submerged)
+    {
+        Material material = data.getMaterial();
+
+        if (material == Material.WATER || material == Material.LAVA)
         {
             return true;
         }
 
-        Material material = block.getType();
-
         if (submerged && (material == Material.BUBBLE_COLUMN
                 || material == Material.KELP
                 || material == Material.KELP_PLANT
@@ -246,7 +250,6 @@ final class SnapOverrideHelper
             return true;
         }
 
-        BlockData data = block.getBlockData();
         if (data instanceof Waterlogged waterlogged && waterlogged.isWaterlogged())
         {
             return true;
@@ -16,12 +16,17 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 import java.util.function.Consumer;
@@ -113,7 +118,8 @@ public class AutoExtendClaimTask implements Runnable {
     private final Claim claim;
     private final ArrayList<ChunkSnapshot> chunks;
     private final Environment worldType;
-    private final Map<Biome, Set<Material>> biomePlayerMaterials = new HashMap<>();
+    private final Map<Biome, Set<Material>> biomePlayerMaterials = new ConcurrentHashMap<>();
+    private final int worldMinY;
     private final int minY;
     private final int lowestExistingY;
     // Definitions of biomes where sand covers surfaces instead of grass.
@@ -131,9 +137,8 @@ public class AutoExtendClaimTask implements Runnable {
         this.chunks = chunks;
         this.worldType = worldType;
         this.lowestExistingY = Math.min(lowestExistingY, claim.getLesserBoundaryCorner().getBlockY());
-        this.minY = Math.max(
-                Objects.requireNonNull(claim.getLesserBoundaryCorner().getWorld()).getMinHeight(),
-                GriefPrevention.instance.config_claims_minY);
+        this.worldMinY = Objects.requireNonNull(claim.getLesserBoundaryCorner().getWorld()).getMinHeight();
+        this.minY = Math.max(this.worldMinY, GriefPrevention.instance.config_claims_minY);
     }
 
     @Override
@@ -150,69 +155,49 @@ public class AutoExtendClaimTask implements Runnable {
         if (yTooSmall(y))
             return this.minY;
 
-        for (ChunkSnapshot chunk : this.chunks) {
-            y = findLowerBuiltY(chunk, y);
+        y = findLowestBuiltY(this.chunks, this.worldMinY, this.minY, y, this::getBiomePlayerBlocks);
 
-            // If already at minimum Y, stop searching.
-            if (yTooSmall(y))
-                return this.minY;
-        }
+        // If already at minimum Y, stop searching.
+        if (yTooSmall(y))
+            return this.minY;
 
         return y;
     }
 
-    private int findLowerBuiltY(ChunkSnapshot chunkSnapshot, int y) {
-        // Specifically not using yTooSmall here to allow protecting bottom layer.
-        nextY: for (int newY = y - 1; newY >= this.minY; newY--) {
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    // If the block is natural, ignore it and continue searching the same Y level.
-                    if (!isPlayerBlock(chunkSnapshot, x, newY, z))
-                        continue;
-
-                    // If the block is player-placed and we're at the minimum Y allowed, we're done
-                    // searching.
-                    if (yTooSmall(y))
-                        return this.minY;
-
-                    // Because we found a player block, repeatedly check the next block in the
-                    // column.
-                    while (isPlayerBlock(chunkSnapshot, x, --newY, z)) {
-                        // If we've hit minimum Y we're done searching.
-                        if (yTooSmall(y))
-                            return this.minY;
-                    }
-
-                    // Undo increment for unsuccessful player block check.
-                    newY++;
-
-                    // Move built level down to current level.
-                    y = newY;
-
-                    // Because the level is now protected, continue downwards.
-                    continue nextY;
-                }
-            }
-        }
-
-        // Return provided value or last located player block level.
-        return y;
+    /**
+     * Find the lowest level containing a player block in any of a set of chunks.
+     *
+     * <p>Chunks are scanned in parallel from the bottom up. Each scan stops at the first level containing a player
+     * block, or as soon as any chunk has a player block at or below the level being scanned, so no level is scanned
+     * once a lower result is proven. Sections containing only air are skipped.
+     *
+     * @param chunks the chunks to scan
+     * @param worldMinY the minimum height of the world
+     * @param minY the lowest level to scan
+     * @param y the level to find player blocks below
+     * @param playerBlocks the player blocks of each biome
+     * @return the lowest level containing a player block, or {@code y} if there is none below it
+     */
+    static int findLowestBuiltY(
+            @NotNull List<@NotNull ChunkSnapshot> chunks,
+            int worldMinY,
+            int minY,
+            int y,
+            @NotNull Function<@NotNull Biome, @NotNull Set<Material>> playerBlocks) {
+        AtomicInteger lowest = new AtomicInteger(y);
+        if (!chunks.isEmpty())
+            new ChunkScan(chunks, 0, chunks.size(), worldMinY, minY, lowest, playerBlocks).invoke();
+        return lowest.get();
     }
 
     private boolean yTooSmall(int y) {
         return y <= this.minY;
     }
 
-    private boolean isPlayerBlock(ChunkSnapshot chunkSnapshot, int x, int y, int z) {
-        Material blockType = chunkSnapshot.getBlockType(x, y, z);
-        Biome biome = chunkSnapshot.getBiome(x, y, z);
-
-        return this.getBiomePlayerBlocks(biome).contains(blockType);
-    }
-
     private Set<Material> getBiomePlayerBlocks(Biome biome) {
         return biomePlayerMaterials.computeIfAbsent(biome, newBiome -> {
-            Set<Material> playerBlocks = AutoExtendClaimTask.getPlayerBlocks(this.worldType, newBiome);
+            Set<Material> playerBlocks = EnumSet.noneOf(Material.class);
+            playerBlocks.addAll(AutoExtendClaimTask.getPlayerBlocks(this.worldType, newBiome));
             playerBlocks.removeAll(BlockEventHandler.TRASH_BLOCKS);
             return playerBlocks;
         });
@@ -430,6 +415,77 @@ public class AutoExtendClaimTask implements Runnable {
         return playerBlocks;
     }
 
+    // scans a range of chunks, splitting it until each chunk is scanned by its own task
+    private static final class ChunkScan extends RecursiveAction {
+        private final List<ChunkSnapshot> chunks;
+        private final int start;
+        private final int end;
+        private final int worldMinY;
+        private final int minY;
+        private final AtomicInteger lowest;
+        private final Function<Biome, Set<Material>> playerBlocks;
+
+        private ChunkScan(
+                List<ChunkSnapshot> chunks,
+                int start,
+                int end,
+                int worldMinY,
+                int minY,
+                AtomicInteger lowest,
+                Function<Biome, Set<Material>> playerBlocks) {
+            this.chunks = chunks;
+            this.start = start;
+            this.end = end;
+            this.worldMinY = worldMinY;
+            this.minY = minY;
+            this.lowest = lowest;
+            this.playerBlocks = playerBlocks;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(
+                        new ChunkScan(chunks, start, middle, worldMinY, minY, lowest, playerBlocks),
+                        new ChunkScan(chunks, middle, end, worldMinY, minY, lowest, playerBlocks));
+                return;
+            }
+
+            ChunkSnapshot chunk = chunks.get(start);
+            // Levels at or above the lowest known player block cannot lower the result.
+            for (int y = this.minY; y < lowest.get(); y++) {
+                int section = (y - this.worldMinY) >> 4;
+                if (chunk.isSectionEmpty(section)) {
+                    // Air is never a player block, skip to the bottom of the next section.
+                    y = this.worldMinY + (section << 4) + 15;
+                    continue;
+                }
+
+                if (hasPlayerBlock(chunk, y)) {
+                    lowest.accumulateAndGet(y, Math::min);
+                    return;
+                }
+            }
+        }
+
+        private boolean hasPlayerBlock(ChunkSnapshot chunk, int y) {
+            // Biomes are stored in 4x4x4 cells, so each biome only needs to be looked up once per level.
+            for (int cellX = 0; cellX < 16; cellX += 4) {
+                for (int cellZ = 0; cellZ < 16; cellZ += 4) {
+                    Set<Material> blocks = playerBlocks.apply(chunk.getBiome(cellX, y, cellZ));
+                    for (int x = cellX; x < cellX + 4; x++) {
+                        for (int z = cellZ; z < cellZ + 4; z++) {
+                            if (blocks.contains(chunk.getBlockType(x, y, z)))
+                                return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
     // runs in the main execution thread, where it can safely change claims and save
     // those changes
     private record ExecuteExtendClaimTask(Claim claim, int newY) implements Runnable {
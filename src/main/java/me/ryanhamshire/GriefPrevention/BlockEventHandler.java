@@ -654,6 +654,12 @@ public class BlockEventHandler implements Listener {
                 event.setCancelled(true);
                 return;
             }
+
+            // Only claims from a different claim tree can conflict, and no other tree can overlap the root claim.
+            // If the moved blocks are entirely interior to the root claim, there is nothing to check.
+            Claim pistonRoot = rootOf(pistonClaim);
+            if (pistonRoot != pistonClaim && new BoundingBox(pistonRoot).contains(movedBlocks))
+                return;
         }
 
         // Check if blocks are in line vertically.
@@ -701,19 +707,15 @@ public class BlockEventHandler implements Listener {
             @NotNull BoundingBox boundingBox,
             @Nullable Claim initiatingClaim,
             @NotNull BiPredicate<@NotNull Claim, @NotNull BoundingBox> precisePredicate) {
-        // Check potentially intersecting claims from chunks interacted with.
-        Set<Claim> chunkClaims = dataStore.getChunkClaims(world, boundingBox);
+        // Check claims intersecting the box, found via the chunks interacted with.
+        List<Claim> intersectingClaims = dataStore.getClaimsIntersecting(world, boundingBox);
         if (initiatingClaim != null) {
-            chunkClaims.remove(initiatingClaim);
+            intersectingClaims.remove(initiatingClaim);
         }
 
-        for (Claim claim : chunkClaims) {
+        for (Claim claim : intersectingClaims) {
             BoundingBox claimBoundingBox = new BoundingBox(claim);
 
-            // Ensure claim intersects with block bounding box.
-            if (!claimBoundingBox.intersects(boundingBox))
-                continue;
-
             // Check child subdivisions FIRST (they take precedence over the parent).
             // This ensures players trusted in subdivisions can act there even if not
             // trusted in the parent.
@@ -786,19 +788,12 @@ public class BlockEventHandler implements Listener {
             @Nullable Claim pistonClaim,
             @NotNull Collection<@NotNull Block> blocks,
             @NotNull BlockPistonEvent event) {
-        // Set up list of affected blocks.
-        HashSet<Block> checkBlocks = new HashSet<>(blocks);
-
-        // Add all blocks that will be occupied after the shift.
-        for (Block block : blocks) {
-            if (block.getPistonMoveReaction() != PistonMoveReaction.BREAK) {
-                checkBlocks.add(block.getRelative(event.getDirection()));
-            }
-        }
+        // Set up the affected positions.
+        PistonMoveSet checkBlocks = new PistonMoveSet(blocks, event.getDirection());
 
         return (claim, claimBoundingBox) -> {
             // Ensure that the claim contains an affected block.
-            if (containsNone(claimBoundingBox, checkBlocks))
+            if (!checkBlocks.anyWithin(claimBoundingBox))
                 return false;
 
             // If pushing this block will cross into a different claim tree, "explode" the
@@ -821,14 +816,70 @@ public class BlockEventHandler implements Listener {
         };
     }
 
-    private boolean containsNone(@NotNull BoundingBox boundingBox, @NotNull Collection<@NotNull Block> blocks) {
-        for (Block block : blocks) {
-            if (boundingBox.contains(block)) {
+    /**
+     * The positions affected by a piston move: every moved block and, unless the block breaks,
+     * the position it moves into. Coordinates are packed for cheap containment checks.
+     */
+    static final class PistonMoveSet {
+
+        private final int[] coordinates;
+        private final int size;
+        private final BoundingBox bounds;
+
+        PistonMoveSet(@NotNull Collection<@NotNull Block> blocks, @NotNull BlockFace direction) {
+            int[] packed = new int[blocks.size() * 6];
+            int index = 0;
+            BoundingBox box = null;
+            for (Block block : blocks) {
+                int x = block.getX();
+                int y = block.getY();
+                int z = block.getZ();
+                packed[index++] = x;
+                packed[index++] = y;
+                packed[index++] = z;
+                if (box == null)
+                    box = new BoundingBox(x, y, z, x, y, z);
+                else
+                    box.union(x, y, z);
+
+                // Add the block that will be occupied after the shift.
+                if (block.getPistonMoveReaction() != PistonMoveReaction.BREAK) {
+                    x += direction.getModX();
+                    y += direction.getModY();
+                    z += direction.getModZ();
+                    packed[index++] = x;
+                    packed[index++] = y;
+                    packed[index++] = z;
+                    box.union(x, y, z);
+                }
+            }
+            this.coordinates = packed;
+            this.size = index;
+            this.bounds = box;
+        }
+
+        /**
+         * Check whether any affected position lies within a box.
+         *
+         * @param box the box, usually a claim's boundaries
+         * @return true if at least one affected position is inside the box
+         */
+        boolean anyWithin(@NotNull BoundingBox box) {
+            if (this.bounds == null || !box.intersects(this.bounds))
                 return false;
+
+            // Fully interior: every position is inside, no need to test them individually.
+            if (box.contains(this.bounds))
+                return true;
+
+            for (int i = 0; i < this.size; i += 3) {
+                if (box.contains(this.coordinates[i], this.coordinates[i + 1], this.coordinates[i + 2]))
+                    return true;
             }
+
+            return false;
         }
 
-        return true;
     }
 
     private static @Nullable Claim rootOf(@Nullable Claim claim) {
@@ -1107,9 +1158,6 @@ public class BlockEventHandler implements Listener {
     }
 
     // ensures fluids don't flow into land claims from outside
-    private Claim lastSpreadFromClaim = null;
-    private Claim lastSpreadToClaim = null;
-
     @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
     public void onBlockFromTo(BlockFromToEvent spreadEvent) {
         // always allow fluids to flow straight down
@@ -1117,23 +1165,38 @@ public class BlockEventHandler implements Listener {
             return;
 
         // don't track in worlds where claims are not enabled
-        if (!GriefPrevention.instance.claimsEnabledForWorld(spreadEvent.getBlock().getWorld()))
+        World world = spreadEvent.getBlock().getWorld();
+        if (!GriefPrevention.instance.claimsEnabledForWorld(world))
             return;
 
         // where from and where to?
-        Location fromLocation = spreadEvent.getBlock().getLocation();
-        Location toLocation = spreadEvent.getToBlock().getLocation();
-        boolean isInCreativeRulesWorld = GriefPrevention.instance.creativeRulesApply(toLocation);
-        Claim fromClaim = this.dataStore.getClaimAt(fromLocation, false, lastSpreadFromClaim);
-        Claim toClaim = this.dataStore.getClaimAt(toLocation, false, lastSpreadToClaim);
-
-        // due to the nature of what causes this event (fluid flow/spread),
-        // we'll probably run similar checks for the same pair of claims again,
-        // so we cache them to use in claim lookup later
-        this.lastSpreadFromClaim = fromClaim;
-        this.lastSpreadToClaim = toClaim;
-
-        if (!isFluidFlowAllowed(fromClaim, toClaim, isInCreativeRulesWorld)) {
+        Block fromBlock = spreadEvent.getBlock();
+        Block toBlock = spreadEvent.getToBlock();
+        boolean isInCreativeRulesWorld = GriefPrevention.instance.creativeRulesApply(world);
+
+        // fluid farms spread across the same chunks over and over, so decide whole chunk pairs at once
+        // when neither chunk contains a claim edge
+        FluidFlowCache cache = FluidFlowCache.get(this.dataStore);
+        Boolean allowed = cache.getDecision(this.dataStore, world,
+                fromBlock.getX() >> 4, fromBlock.getZ() >> 4,
+                toBlock.getX() >> 4, toBlock.getZ() >> 4,
+                isInCreativeRulesWorld, this::isFluidFlowAllowed);
+
+        if (allowed == null) {
+            // a claim edge is nearby, check the exact blocks
+            Claim fromClaim = this.dataStore.getClaimAt(fromBlock.getLocation(), false, cache.lastFromClaim);
+            Claim toClaim = this.dataStore.getClaimAt(toBlock.getLocation(), false, cache.lastToClaim);
+
+            // due to the nature of what causes this event (fluid flow/spread),
+            // we'll probably run similar checks for the same pair of claims again,
+            // so we cache them to use in claim lookup later
+            cache.lastFromClaim = fromClaim;
+            cache.lastToClaim = toClaim;
+
+            allowed = isFluidFlowAllowed(fromClaim, toClaim, isInCreativeRulesWorld);
+        }
+
+        if (!allowed) {
             spreadEvent.setCancelled(true);
         }
     }
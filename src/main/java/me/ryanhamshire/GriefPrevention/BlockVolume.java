@@ -0,0 +1,215 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A box of blocks copied from the world, for processing away from the world's thread.
+ *
+ * <p>Each block is stored as a {@code short} index into a palette of distinct {@link BlockData}, so a volume costs
+ * two bytes per block rather than an object per block, and identical blocks share a single {@code BlockData}. The
+ * original index of every block is kept so changes can be found without reading the world again.
+ *
+ * <p>Blocks are addressed by their offset from the minimum corner of the volume. Volumes are not thread-safe, but
+ * may be handed from one thread to another.
+ */
+final class BlockVolume {
+
+    // palette indices are stored as unsigned shorts
+    private static final int MAX_PALETTE_SIZE = 1 << 16;
+
+    private final @NotNull World world;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    // blocks in x, z, y order so each column is contiguous
+    private final short[] blocks;
+    private final short[] original;
+    private final List<BlockData> palette = new ArrayList<>();
+    private final List<Material> paletteMaterials = new ArrayList<>();
+    private final Map<BlockData, Short> paletteIndices = new HashMap<>();
+    private final Map<Material, Short> defaultIndices = new EnumMap<>(Material.class);
+
+    private BlockVolume(@NotNull Capture capture) {
+        this.world = capture.world();
+        this.minX = capture.minX();
+        this.minY = capture.minY();
+        this.minZ = capture.minZ();
+        this.sizeX = capture.maxX() - minX + 1;
+        this.sizeY = capture.maxY() - minY + 1;
+        this.sizeZ = capture.maxZ() - minZ + 1;
+        this.blocks = new short[sizeX * sizeY * sizeZ];
+
+        int minChunkX = minX >> 4;
+        int minChunkZ = minZ >> 4;
+        int chunksZ = (capture.maxZ() >> 4) - minChunkZ + 1;
+        for (int x = 0; x < sizeX; x++) {
+            int worldX = minX + x;
+            for (int z = 0; z < sizeZ; z++) {
+                int worldZ = minZ + z;
+                ChunkSnapshot chunk = capture.chunks()[((worldX >> 4) - minChunkX) * chunksZ + (worldZ >> 4) - minChunkZ];
+                int column = (x * sizeZ + z) * sizeY;
+                for (int y = 0; y < sizeY; y++) {
+                    blocks[column + y] = indexOf(chunk.getBlockData(worldX & 15, minY + y, worldZ & 15));
+                }
+            }
+        }
+        this.original = blocks.clone();
+    }
+
+    /**
+     * Copy the chunks containing a box of blocks. Must be called from the thread owning those chunks.
+     *
+     * <p>Chunk snapshots are taken in bulk by the server, so this is much cheaper than reading each block. The
+     * volume itself is built from the snapshots later with {@link Capture#read()}, which may be done on any thread.
+     *
+     * @param world the world
+     * @param minX the minimum X coordinate
+     * @param minY the minimum Y coordinate
+     * @param minZ the minimum Z coordinate
+     * @param maxX the maximum X coordinate
+     * @param maxY the maximum Y coordinate
+     * @param maxZ the maximum Z coordinate
+     * @return the captured chunks
+     */
+    static @NotNull Capture capture(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int minChunkX = minX >> 4;
+        int minChunkZ = minZ >> 4;
+        int chunksX = (maxX >> 4) - minChunkX + 1;
+        int chunksZ = (maxZ >> 4) - minChunkZ + 1;
+        ChunkSnapshot[] chunks = new ChunkSnapshot[chunksX * chunksZ];
+        for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+            for (int chunkZ = 0; chunkZ < chunksZ; chunkZ++) {
+                chunks[chunkX * chunksZ + chunkZ] = world.getChunkAt(minChunkX + chunkX, minChunkZ + chunkZ)
+                        .getChunkSnapshot(false, false, false);
+            }
+        }
+        return new Capture(world, minX, minY, minZ, maxX, maxY, maxZ, chunks);
+    }
+
+    @NotNull World getWorld() {
+        return world;
+    }
+
+    int getMinX() {
+        return minX;
+    }
+
+    int getMinY() {
+        return minY;
+    }
+
+    int getMinZ() {
+        return minZ;
+    }
+
+    int getSizeX() {
+        return sizeX;
+    }
+
+    int getSizeY() {
+        return sizeY;
+    }
+
+    int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Get the index of a block within the volume.
+     *
+     * @param x the X offset from the minimum corner
+     * @param y the Y offset from the minimum corner
+     * @param z the Z offset from the minimum corner
+     * @return the index
+     */
+    int index(int x, int y, int z) {
+        return (x * sizeZ + z) * sizeY + y;
+    }
+
+    @NotNull Material getMaterial(int x, int y, int z) {
+        return paletteMaterials.get(blocks[index(x, y, z)] & 0xFFFF);
+    }
+
+    /**
+     * Replace a block with the default {@link BlockData} of a {@link Material}.
+     *
+     * @param x the X offset from the minimum corner
+     * @param y the Y offset from the minimum corner
+     * @param z the Z offset from the minimum corner
+     * @param material the new material
+     */
+    void setMaterial(int x, int y, int z, @NotNull Material material) {
+        Short paletteIndex = defaultIndices.get(material);
+        if (paletteIndex == null) {
+            paletteIndex = indexOf(material.createBlockData());
+            defaultIndices.put(material, paletteIndex);
+        }
+        blocks[index(x, y, z)] = paletteIndex;
+    }
+
+    /**
+     * Get the current {@link BlockData} of a block. The instance is shared by every block in the same state and
+     * must not be modified.
+     *
+     * @param index the index of the block
+     * @return the block data
+     */
+    @NotNull BlockData getBlockData(int index) {
+        return palette.get(blocks[index] & 0xFFFF);
+    }
+
+    /**
+     * Check whether a block was changed since the volume was read.
+     *
+     * @param index the index of the block
+     * @return true if the block is in a different state
+     */
+    boolean isChanged(int index) {
+        return blocks[index] != original[index];
+    }
+
+    private short indexOf(@NotNull BlockData data) {
+        Short paletteIndex = paletteIndices.get(data);
+        if (paletteIndex != null) return paletteIndex;
+
+        if (palette.size() >= MAX_PALETTE_SIZE) {
+            throw new IllegalStateException("Too many distinct block states in volume");
+        }
+        paletteIndex = (short) palette.size();
+        palette.add(data);
+        paletteMaterials.add(data.getMaterial());
+        paletteIndices.put(data, paletteIndex);
+        return paletteIndex;
+    }
+
+    /**
+     * Chunks captured for a {@link BlockVolume} that has not been read yet.
+     */
+    record Capture(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+            @NotNull ChunkSnapshot[] chunks) {
+
+        /**
+         * Read the captured blocks into a volume. May be called from any thread.
+         *
+         * @return the volume
+         */
+        @NotNull BlockVolume read() {
+            return new BlockVolume(this);
+        }
+
+    }
+
+}
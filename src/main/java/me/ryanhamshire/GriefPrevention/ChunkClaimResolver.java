@@ -0,0 +1,136 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the claims at many locations in the same world, i.e. every entity caught in a potion's area of effect.
+ *
+ * <p>Locations are bucketed by chunk and each chunk is classified once. A chunk is uniform when every block in it
+ * resolves to the same claim or to the wilderness, meaning no claim edge, subdivision or 3D subdivision lies within
+ * it, so all locations in it share a single answer. Other chunks fall back to regular lookups using the last claim
+ * found in the same chunk as a hint.
+ *
+ * <p>Instances are meant to live for the duration of a single event and are not thread-safe.
+ */
+final class ChunkClaimResolver {
+
+    /** Shared result for chunks containing a claim edge. */
+    static final ChunkClaim MIXED = new ChunkClaim(false, null);
+    private static final ChunkClaim WILDERNESS = new ChunkClaim(true, null);
+
+    private final @NotNull DataStore dataStore;
+    private final @NotNull World world;
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+
+    ChunkClaimResolver(@NotNull DataStore dataStore, @NotNull World world) {
+        this.dataStore = dataStore;
+        this.world = world;
+    }
+
+    /**
+     * Get the claim at a location, respecting height.
+     *
+     * @param location the location
+     * @return the claim containing the location or null if no claim exists there
+     */
+    @Nullable Claim getClaimAt(@NotNull Location location) {
+        if (!this.world.equals(location.getWorld()))
+            return this.dataStore.getClaimAt(location, false, null);
+
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        Bucket bucket = this.buckets.computeIfAbsent(DataStore.getChunkHash(chunkX, chunkZ),
+                key -> new Bucket(classify(this.dataStore, this.world, chunkX, chunkZ)));
+
+        // Top-level claims only contain locations within the world's height.
+        int y = location.getBlockY();
+        if (bucket.chunkClaim.uniform() && y >= this.world.getMinHeight() && y < this.world.getMaxHeight())
+            return bucket.chunkClaim.claim();
+
+        Claim claim = this.dataStore.getClaimAt(location, false, bucket.lastClaim);
+        if (claim != null)
+            bucket.lastClaim = claim;
+        return claim;
+    }
+
+    /**
+     * Classify a chunk by the claims within it.
+     *
+     * @param dataStore the data store
+     * @param world     the world the chunk is in
+     * @param chunkX    the chunk X coordinate
+     * @param chunkZ    the chunk Z coordinate
+     * @return the claim covering the entire chunk, or {@link #MIXED} if the chunk contains a claim edge
+     */
+    static @NotNull ChunkClaim classify(@NotNull DataStore dataStore, @NotNull World world, int chunkX, int chunkZ) {
+        List<Claim> indexed = dataStore.getIndexedChunkClaims(chunkX, chunkZ);
+        if (indexed == null)
+            return WILDERNESS;
+
+        int minX = chunkX << 4;
+        int minZ = chunkZ << 4;
+        int maxX = minX + 15;
+        int maxZ = minZ + 15;
+        Claim uniform = null;
+
+        for (Claim claim : indexed) {
+            if (!claim.inDataStore || !world.equals(claim.getLesserBoundaryCorner().getWorld()))
+                continue;
+
+            // More than one claim, a 3D subdivision, or a claim only partially covering the chunk means an edge.
+            if (uniform != null || claim.parent != null || claim.is3D()
+                    || !covers(claim, minX, minZ, maxX, maxZ))
+                return MIXED;
+
+            for (Claim child : claim.children) {
+                if (child.inDataStore && intersects(child, minX, minZ, maxX, maxZ))
+                    return MIXED;
+            }
+
+            uniform = claim;
+        }
+
+        return uniform == null ? WILDERNESS : new ChunkClaim(true, uniform);
+    }
+
+    private static boolean covers(@NotNull Claim claim, int minX, int minZ, int maxX, int maxZ) {
+        return claim.getLesserBoundaryCorner().getBlockX() <= minX
+                && claim.getLesserBoundaryCorner().getBlockZ() <= minZ
+                && claim.getGreaterBoundaryCorner().getBlockX() >= maxX
+                && claim.getGreaterBoundaryCorner().getBlockZ() >= maxZ;
+    }
+
+    private static boolean intersects(@NotNull Claim claim, int minX, int minZ, int maxX, int maxZ) {
+        return claim.getLesserBoundaryCorner().getBlockX() <= maxX
+                && claim.getLesserBoundaryCorner().getBlockZ() <= maxZ
+                && claim.getGreaterBoundaryCorner().getBlockX() >= minX
+                && claim.getGreaterBoundaryCorner().getBlockZ() >= minZ;
+    }
+
+    /**
+     * The result of classifying a chunk.
+     *
+     * @param uniform whether every location in the chunk resolves to the same claim
+     * @param claim   the claim covering the chunk, or null for the wilderness or a chunk containing a claim edge
+     */
+    record ChunkClaim(boolean uniform, @Nullable Claim claim) {}
+
+    private static final class Bucket {
+        private final @NotNull ChunkClaim chunkClaim;
+        // last claim resolved in a chunk containing a claim edge, used as a lookup hint
+        private @Nullable Claim lastClaim;
+
+        private Bucket(@NotNull ChunkClaim chunkClaim) {
+            this.chunkClaim = chunkClaim;
+            this.lastClaim = chunkClaim.claim();
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ package me.ryanhamshire.GriefPrevention;
 
 import me.ryanhamshire.GriefPrevention.events.ClaimPermissionCheckEvent;
 import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import me.ryanhamshire.GriefPrevention.util.EventUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -69,6 +70,10 @@ public class Claim
      //id number.  unique to this claim, never changes.
      Long id = null;
  
+     //incremented whenever the data store saves, resizes or deletes this claim, so data derived from it can be
+     //invalidated per claim.  only changed while holding the data store's lock
+     private volatile int modificationCount = 0;
+ 
      //use getOwnerName() to get a friendly name (will be "an administrator" for admin claims)
      public UUID ownerID;
  
@@ -132,6 +137,17 @@ public class Claim
          return this.id;
      }
  
+     //accessor for the modification count, which changes whenever the data store changes this claim
+     public int getModificationCount()
+     {
+         return this.modificationCount;
+     }
+
+     void markModified()
+     {
+         this.modificationCount++;
+     }
+
      //basic constructor, just notes the creation time
      //see above declarations for other defaults
      Claim()
@@ -541,6 +557,12 @@ public class Claim
                 (denialOverride != null ? denialOverride : () -> "You don't have permission to do that in the wilderness.") : 
                 null;
         }
+
+        // Without listeners nothing can change the default outcome, so don't build an event at all.
+        if (!EventUtil.hasListeners(ClaimPermissionCheckEvent.getHandlerList())) {
+            Supplier<String> defaultDenial = getDefaultDenial(Bukkit.getPlayer(uuid), uuid, permission, event);
+            return defaultDenial != null && denialOverride != null ? denialOverride : defaultDenial;
+        }
         return callPermissionCheck(new ClaimPermissionCheckEvent(uuid, this, permission, event), denialOverride);
     }
 
@@ -0,0 +1,282 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Index of top-level claims and 3D subdivisions by the chunks they overlap.
+ *
+ * <p>Chunks are grouped into shards, each with its own map and lock. By default the whole index is a single shard.
+ * On servers ticking regions on separate threads, the index may instead be sharded by a grid of the same size as the
+ * server's regions, so a region's thread mostly touches its own shard. Claims overlapping several shards are indexed
+ * in each of them.
+ *
+ * <p>The claims indexed for a chunk are an immutable list which is replaced whenever it changes, so lists may be
+ * read without locking. Reading claims themselves is guarded by the shard's {@link StampedLock}, which doubles as the
+ * shard's version: every change to a claim write-locks all shards the claim overlaps, both before and after the
+ * change, so a claim moving between shards is seen entirely in its old or its new place by any reader validating the
+ * version of its shard. Changes are expected to be made by one thread at a time, i.e. under the data store's monitor.
+ */
+final class ClaimIndex {
+
+    private final boolean sharded;
+    private final int shardExponent;
+    private final Shard singleShard = new Shard();
+    private final Map<Long, Shard> shards = new ConcurrentHashMap<>();
+
+    private ClaimIndex(boolean sharded, int shardExponent) {
+        this.sharded = sharded;
+        this.shardExponent = shardExponent;
+    }
+
+    /**
+     * Create an index with a single shard.
+     *
+     * @return the index
+     */
+    static @NotNull ClaimIndex unsharded() {
+        return new ClaimIndex(false, 0);
+    }
+
+    /**
+     * Create an index sharded by a grid of chunks.
+     *
+     * @param shardExponent the size of a shard in chunks, as a power of two
+     * @return the index
+     */
+    static @NotNull ClaimIndex sharded(int shardExponent) {
+        return new ClaimIndex(true, Math.max(0, Math.min(shardExponent, 16)));
+    }
+
+    boolean isSharded() {
+        return this.sharded;
+    }
+
+    /**
+     * Get the claims indexed for a chunk.
+     *
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the immutable list of indexed claims, which may include claims in other worlds, or null
+     */
+    @Nullable List<Claim> get(long chunkX, long chunkZ) {
+        return shard(chunkX, chunkZ).chunks.get(DataStore.getChunkHash(chunkX, chunkZ));
+    }
+
+    /**
+     * Read claims in a chunk consistently with changes made to them. The reader is run optimistically first and run
+     * again under the shard's read lock if a claim in the shard was changed meanwhile.
+     *
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @param reader the reader, which may be run more than once
+     * @return the result of the reader
+     * @param <T> the type of result
+     */
+    <T> T read(long chunkX, long chunkZ, @NotNull Supplier<T> reader) {
+        StampedLock lock = shard(chunkX, chunkZ).lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp))
+                    return result;
+            } catch (RuntimeException e) {
+                // Claims changed while they were read, i.e. a child list was modified. Read again under the lock.
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Add a claim to the chunks it overlaps. Claims which are not indexed, i.e. 2D subdivisions, are ignored.
+     *
+     * @param claim the claim
+     */
+    void add(@NotNull Claim claim) {
+        if (!isIndexed(claim))
+            return;
+
+        Locks locks = new Locks();
+        try {
+            locks.lock(claim.getLesserBoundaryCorner(), claim.getGreaterBoundaryCorner());
+            index(claim, claim.getLesserBoundaryCorner(), claim.getGreaterBoundaryCorner());
+        } finally {
+            locks.unlock();
+        }
+    }
+
+    /**
+     * Remove a claim from the chunks it overlaps.
+     *
+     * @param claim the claim
+     */
+    void remove(@NotNull Claim claim) {
+        if (!isIndexed(claim))
+            return;
+
+        Locks locks = new Locks();
+        try {
+            locks.lock(claim.getLesserBoundaryCorner(), claim.getGreaterBoundaryCorner());
+            unindex(claim, claim.getLesserBoundaryCorner(), claim.getGreaterBoundaryCorner());
+        } finally {
+            locks.unlock();
+        }
+    }
+
+    /**
+     * Change the boundaries of a claim, moving it to the chunks its new boundaries overlap.
+     *
+     * @param claim the claim
+     * @param lesser the new lesser boundary corner
+     * @param greater the new greater boundary corner
+     */
+    void move(@NotNull Claim claim, @NotNull Location lesser, @NotNull Location greater) {
+        Location oldLesser = claim.getLesserBoundaryCorner();
+        Location oldGreater = claim.getGreaterBoundaryCorner();
+        Locks locks = new Locks();
+        try {
+            locks.lock(topLevel(claim));
+            locks.lock(oldLesser, oldGreater);
+            locks.lock(lesser, greater);
+
+            boolean indexed = isIndexed(claim);
+            if (indexed)
+                unindex(claim, oldLesser, oldGreater);
+            claim.lesserBoundaryCorner = lesser;
+            claim.greaterBoundaryCorner = greater;
+            if (indexed)
+                index(claim, lesser, greater);
+        } finally {
+            locks.unlock();
+        }
+    }
+
+    /**
+     * Change a claim without moving it between chunks, i.e. changing its depth or adding and removing children. Every
+     * shard overlapped by the claim's top-level claim is locked while the change is made.
+     *
+     * @param claim the claim
+     * @param change the change
+     */
+    void update(@NotNull Claim claim, @NotNull Runnable change) {
+        Locks locks = new Locks();
+        try {
+            locks.lock(topLevel(claim));
+            change.run();
+        } finally {
+            locks.unlock();
+        }
+    }
+
+    private static boolean isIndexed(@NotNull Claim claim) {
+        // 2D subdivisions are found through their parent, 3D subdivisions are indexed so they can be found on their own.
+        return claim.parent == null || claim.is3D();
+    }
+
+    private static @NotNull Claim topLevel(@NotNull Claim claim) {
+        while (claim.parent != null)
+            claim = claim.parent;
+        return claim;
+    }
+
+    private void index(@NotNull Claim claim, @NotNull Location lesser, @NotNull Location greater) {
+        for (int chunkX = lesser.getBlockX() >> 4; chunkX <= greater.getBlockX() >> 4; chunkX++) {
+            for (int chunkZ = lesser.getBlockZ() >> 4; chunkZ <= greater.getBlockZ() >> 4; chunkZ++) {
+                shard(chunkX, chunkZ).chunks.compute(DataStore.getChunkHash(chunkX, chunkZ), (key, claims) -> {
+                    if (claims == null)
+                        return List.of(claim);
+
+                    List<Claim> added = new ArrayList<>(claims.size() + 1);
+                    added.addAll(claims);
+                    added.add(claim);
+                    return Collections.unmodifiableList(added);
+                });
+            }
+        }
+    }
+
+    private void unindex(@NotNull Claim claim, @NotNull Location lesser, @NotNull Location greater) {
+        for (int chunkX = lesser.getBlockX() >> 4; chunkX <= greater.getBlockX() >> 4; chunkX++) {
+            for (int chunkZ = lesser.getBlockZ() >> 4; chunkZ <= greater.getBlockZ() >> 4; chunkZ++) {
+                shard(chunkX, chunkZ).chunks.computeIfPresent(DataStore.getChunkHash(chunkX, chunkZ), (key, claims) -> {
+                    List<Claim> removed = new ArrayList<>(claims);
+                    for (int i = 0; i < removed.size(); i++) {
+                        if (removed.get(i).id.equals(claim.id)) {
+                            removed.remove(i);
+                            break;
+                        }
+                    }
+                    // If nothing's left, remove this chunk's entry.
+                    return removed.isEmpty() ? null : Collections.unmodifiableList(removed);
+                });
+            }
+        }
+    }
+
+    private @NotNull Shard shard(long chunkX, long chunkZ) {
+        if (!this.sharded)
+            return this.singleShard;
+
+        return this.shards.computeIfAbsent(
+                DataStore.getChunkHash(chunkX >> this.shardExponent, chunkZ >> this.shardExponent),
+                key -> new Shard());
+    }
+
+    private static final class Shard {
+        private final StampedLock lock = new StampedLock();
+        private final Map<Long, List<Claim>> chunks = new ConcurrentHashMap<>();
+    }
+
+    // the write locks held for a single change, released together
+    private final class Locks {
+        private final Map<Shard, Long> stamps = new IdentityHashMap<>();
+
+        private void lock(@NotNull Claim claim) {
+            lock(claim.getLesserBoundaryCorner(), claim.getGreaterBoundaryCorner());
+        }
+
+        private void lock(@NotNull Location lesser, @NotNull Location greater) {
+            if (!sharded) {
+                lock(singleShard);
+                return;
+            }
+
+            int shardMinX = (lesser.getBlockX() >> 4) >> shardExponent;
+            int shardMaxX = (greater.getBlockX() >> 4) >> shardExponent;
+            int shardMinZ = (lesser.getBlockZ() >> 4) >> shardExponent;
+            int shardMaxZ = (greater.getBlockZ() >> 4) >> shardExponent;
+            for (int shardX = shardMinX; shardX <= shardMaxX; shardX++) {
+                for (int shardZ = shardMinZ; shardZ <= shardMaxZ; shardZ++) {
+                    lock(shard((long) shardX << shardExponent, (long) shardZ << shardExponent));
+                }
+            }
+        }
+
+        private void lock(@NotNull Shard shard) {
+            if (!stamps.containsKey(shard))
+                stamps.put(shard, shard.lock.writeLock());
+        }
+
+        private void unlock() {
+            stamps.forEach((shard, stamp) -> shard.lock.unlockWrite(stamp));
+        }
+    }
+
+}
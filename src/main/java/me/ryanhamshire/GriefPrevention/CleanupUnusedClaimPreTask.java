@@ -21,6 +21,7 @@ package me.ryanhamshire.GriefPrevention;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -30,18 +31,35 @@ import java.util.UUID;
 class CleanupUnusedClaimPreTask implements Runnable
 {
     private UUID ownerID = null;
+    //the expiry queue to return the owner to once checked, if any
+    private final @Nullable FindUnusedClaimsTask expiry;
 
     CleanupUnusedClaimPreTask(UUID uuid)
+    {
+        this(uuid, null);
+    }
+
+    CleanupUnusedClaimPreTask(UUID uuid, @Nullable FindUnusedClaimsTask expiry)
     {
         this.ownerID = uuid;
+        this.expiry = expiry;
     }
 
     @Override
     public void run()
+    {
+        //the owner is queued again only once checked, so an owner failing the check is never queued twice
+        long dueAt = this.check();
+        if (expiry != null && dueAt >= 0) expiry.requeue(ownerID, dueAt);
+    }
+
+    //returns when to check the owner again, or -1 if the owner has no claims left to check
+    private long check()
     {
         //get the data
         PlayerData ownerData = GriefPrevention.instance.dataStore.getPlayerDataFromStorage(ownerID);
         OfflinePlayer ownerInfo = Bukkit.getServer().getOfflinePlayer(ownerID);
+        long now = System.currentTimeMillis();
 
         GriefPrevention.AddLogEntry("Looking for expired claims.  Checking data for " + ownerID.toString(), CustomLogEntryTypes.Debug, true);
 
@@ -50,20 +68,24 @@ class CleanupUnusedClaimPreTask implements Runnable
         if (ownerInfo.isOnline())
         {
             GriefPrevention.AddLogEntry("Player is online. Ignoring.", CustomLogEntryTypes.Debug, true);
-            return;
+            return FindUnusedClaimsTask.dueAfter(now, now);
         }
-        if (ownerInfo.getLastPlayed() <= 0)
+        long lastPlayed = ownerInfo.getLastPlayed();
+        if (lastPlayed <= 0)
         {
-            GriefPrevention.AddLogEntry("Player is new or not in the server's cached userdata. Ignoring. getLastPlayed = " + ownerInfo.getLastPlayed(), CustomLogEntryTypes.Debug, true);
-            return;
+            GriefPrevention.AddLogEntry("Player is new or not in the server's cached userdata. Ignoring. getLastPlayed = " + lastPlayed, CustomLogEntryTypes.Debug, true);
+            return now + FindUnusedClaimsTask.RECHECK_MILLIS;
         }
 
+        //claims which aren't deleted below are checked again once they could expire
+        long dueAt = FindUnusedClaimsTask.dueAfter(lastPlayed, now);
+
         //skip claims belonging to exempted players based on block totals in config
         int bonusBlocks = ownerData.getBonusClaimBlocks();
         if (bonusBlocks >= GriefPrevention.instance.config_claims_expirationExemptionBonusBlocks || bonusBlocks + ownerData.getAccruedClaimBlocks() >= GriefPrevention.instance.config_claims_expirationExemptionTotalBlocks)
         {
             GriefPrevention.AddLogEntry("Player exempt from claim expiration based on claim block counts vs. config file settings.", CustomLogEntryTypes.Debug, true);
-            return;
+            return dueAt;
         }
 
         Claim claimToExpire = null;
@@ -80,10 +102,12 @@ class CleanupUnusedClaimPreTask implements Runnable
         if (claimToExpire == null)
         {
             GriefPrevention.AddLogEntry("Unable to find a claim to expire for " + ownerID.toString(), CustomLogEntryTypes.Debug, false);
-            return;
+            if (expiry != null) expiry.forget(ownerID);
+            return -1;
         }
 
         //pass it back to the main server thread, where it's safe to delete a claim if needed
         SchedulerUtil.runLaterGlobal(GriefPrevention.instance, new CleanupUnusedClaimTask(claimToExpire, ownerData, ownerInfo), 1L);
+        return dueAt;
     }
-}
\ No newline at end of file
+}
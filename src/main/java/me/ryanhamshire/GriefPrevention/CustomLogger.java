@@ -18,45 +18,78 @@
 
 package me.ryanhamshire.GriefPrevention;
 
-import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
-
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
-import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 class CustomLogger
 {
-    private final SimpleDateFormat timestampFormat = new SimpleDateFormat("HH:mm");
-    private final SimpleDateFormat filenameFormat = new SimpleDateFormat("yyyy_MM_dd");
-    private final String logFolderPath = DataStore.dataLayerFolderPath + File.separator + "Logs";
-    private final int secondsBetweenWrites = 300;
+    static final int DEFAULT_CAPACITY = 8192;
+    static final long DEFAULT_MAX_FILE_BYTES = 16L * 1024 * 1024;
+
+    //entries are added from chat threads concurrently, so the timestamp format must be thread safe
+    private final DateTimeFormatter timestampFormat = DateTimeFormatter.ofPattern("HH:mm");
+    private final DateTimeFormatter filenameFormat = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private final Path logFolder;
+    private final IntSupplier daysToKeep;
+    private final long maxFileBytes;
+    private final long nanosBetweenWrites = TimeUnit.SECONDS.toNanos(1);
+    private final int maxBytesPerWrite = 64 * 1024;
+
+    //entries waiting for the writer, bounded so a slow or failing disk cannot use up memory
+    private final EntryRing queuedEntries;
+    private final LongAdder droppedEntries = new LongAdder();
+
+    //only used by the writer thread
+    private final StringBuilder writeBuffer = new StringBuilder();
+    private FileChannel channel;
+    private LocalDate channelDate;
+    private int channelIndex;
+    private boolean writeFailed;
 
-    //stringbuilder is not thread safe, stringbuffer is
-    private final StringBuffer queuedEntries = new StringBuffer();
+    private final Thread writer;
+    private volatile boolean running = true;
 
     CustomLogger()
     {
+        this(Paths.get(DataStore.dataLayerFolderPath, "Logs"), () -> GriefPrevention.instance.config_logs_daysToKeep,
+                DEFAULT_CAPACITY, DEFAULT_MAX_FILE_BYTES);
+    }
+
+    CustomLogger(Path logFolder, IntSupplier daysToKeep, int capacity, long maxFileBytes)
+    {
+        this.logFolder = logFolder;
+        this.daysToKeep = daysToKeep;
+        this.maxFileBytes = maxFileBytes;
+        this.queuedEntries = new EntryRing(capacity);
+
         //ensure log folder exists
-        File logFolder = new File(this.logFolderPath);
-        logFolder.mkdirs();
+        logFolder.toFile().mkdirs();
 
         //delete any outdated log files immediately
         this.DeleteExpiredLogs();
 
-        //unless disabled, schedule recurring tasks
-        int daysToKeepLogs = GriefPrevention.instance.config_logs_daysToKeep;
-        if (daysToKeepLogs > 0)
-        {
-            final long ticksPerSecond = 20L;
-            final long ticksPerDay = ticksPerSecond * 60 * 60 * 24;
-            SchedulerUtil.runRepeatingGlobal(GriefPrevention.instance, new EntryWriter(), this.secondsBetweenWrites * ticksPerSecond, this.secondsBetweenWrites * ticksPerSecond);
-            SchedulerUtil.runRepeatingGlobal(GriefPrevention.instance, new ExpiredLogRemover(), ticksPerDay, ticksPerDay);
-        }
+        //the writer keeps the current log file open and drains the buffer into it
+        this.writer = Thread.ofPlatform().name("GriefPrevention-LogWriter").daemon(true).start(new EntryWriter());
     }
 
     private static final Pattern inlineFormatterPattern = Pattern.compile("§.");
@@ -73,8 +106,22 @@ class CustomLogger
         //otherwise write to the in-memory buffer, after removing formatters
         Matcher matcher = inlineFormatterPattern.matcher(entry);
         entry = matcher.replaceAll("");
-        String timestamp = this.timestampFormat.format(new Date());
-        this.queuedEntries.append(timestamp).append(' ').append(entry).append('\n');
+        this.enqueue(entry);
+    }
+
+    void enqueue(String entry)
+    {
+        String timestamp = this.timestampFormat.format(LocalTime.now());
+        if (!this.queuedEntries.offer(timestamp + ' ' + entry + '\n'))
+        {
+            //never block the caller, count the entry so the loss shows up in the log
+            this.droppedEntries.increment();
+        }
+        else if (this.queuedEntries.size() > this.queuedEntries.capacity() / 2)
+        {
+            //filling up faster than the writer's interval, wake it early
+            LockSupport.unpark(this.writer);
+        }
     }
 
     private boolean isEnabledType(CustomLogEntryTypes entryType)
@@ -93,29 +140,173 @@ class CustomLogger
         return true;
     }
 
-    void WriteEntries()
+    long getDroppedEntries()
     {
+        return this.droppedEntries.sum();
+    }
+
+    //stops the writer after it writes any remaining entries and closes the log file
+    void close()
+    {
+        this.running = false;
+        LockSupport.unpark(this.writer);
         try
         {
-            //if nothing to write, stop here
-            if (this.queuedEntries.length() == 0) return;
+            this.writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //transfers the in-memory buffer to the current log file, only called by the writer thread
+    private void WriteEntries()
+    {
+        StringBuilder buffer = this.writeBuffer;
+        int entries = 0;
+
+        long dropped = this.droppedEntries.sumThenReset();
+        if (dropped > 0)
+        {
+            buffer.append(this.timestampFormat.format(LocalTime.now()))
+                    .append(" Dropped ").append(dropped).append(" log entries which could not be written in time.\n");
+        }
 
-            //determine filename based on date
-            String filename = this.filenameFormat.format(new Date()) + ".log";
-            String filepath = this.logFolderPath + File.separator + filename;
-            File logFile = new File(filepath);
+        //write in chunks which fit in a log file, so a rollover never splits an entry
+        //chunks are measured in encoded bytes, as the file size limit is
+        long bytesPerWrite = Math.min(this.maxBytesPerWrite, this.maxFileBytes);
+        long bufferBytes = utf8Length(buffer);
+        String entry;
+        while ((entry = this.queuedEntries.poll()) != null)
+        {
+            long entryBytes = utf8Length(entry);
+            if (bufferBytes + entryBytes > bytesPerWrite)
+            {
+                this.write(buffer, entries);
+                entries = 0;
+                bufferBytes = 0;
+            }
+            buffer.append(entry);
+            bufferBytes += entryBytes;
+            entries++;
+        }
 
-            //dump content
-            java.nio.file.Files.writeString(logFile.toPath(), this.queuedEntries.toString(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.write(buffer, entries);
+    }
 
-            //in case of a failure to write the above due to exception,
-            //the unwritten entries will remain the buffer for the next write to retry
-            this.queuedEntries.setLength(0);
+    //the number of bytes the text takes up in UTF-8, without encoding it
+    static long utf8Length(CharSequence text)
+    {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (c < 0x80)
+            {
+                bytes += 1;
+            }
+            else if (c < 0x800)
+            {
+                bytes += 2;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1)))
+            {
+                bytes += 4;
+                i++;
+            }
+            else
+            {
+                //lone surrogates are encoded as a single replacement character
+                bytes += Character.isSurrogate(c) ? 1 : 3;
+            }
         }
-        catch (Exception e)
+        return bytes;
+    }
+
+    private void write(StringBuilder buffer, int entries)
+    {
+        if (buffer.length() == 0) return;
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toString().getBytes(StandardCharsets.UTF_8));
+        buffer.setLength(0);
+        try
+        {
+            FileChannel channel = this.getChannel(bytes.remaining());
+            while (bytes.hasRemaining())
+            {
+                channel.write(bytes);
+            }
+            this.writeFailed = false;
+        }
+        catch (IOException e)
+        {
+            //drop the entries rather than holding on to them, the file is reopened for the next write
+            this.closeChannel();
+            this.droppedEntries.add(entries);
+
+            //report the first failure only, until a write succeeds again
+            if (!this.writeFailed)
+            {
+                this.writeFailed = true;
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private FileChannel getChannel(int bytesToWrite) throws IOException
+    {
+        //roll over to a new file every day, which is also when old files expire
+        LocalDate today = LocalDate.now();
+        if (!today.equals(this.channelDate))
+        {
+            this.closeChannel();
+            if (this.channelDate != null) this.DeleteExpiredLogs();
+            this.channelDate = today;
+            this.channelIndex = 0;
+        }
+
+        //roll over to a numbered file once the current one is full
+        if (this.channel != null && this.channel.size() > 0 && this.channel.size() + bytesToWrite > this.maxFileBytes)
+        {
+            this.closeChannel();
+            this.channelIndex++;
+        }
+
+        if (this.channel == null)
+        {
+            //after a restart, continue in the last file of the day with room left
+            Path path = this.getLogFile(today, this.channelIndex);
+            while (Files.exists(path) && Files.size(path) > 0 && Files.size(path) + bytesToWrite > this.maxFileBytes)
+            {
+                path = this.getLogFile(today, ++this.channelIndex);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        return this.channel;
+    }
+
+    //the first file of a day is yyyy_MM_dd.log, later ones are yyyy_MM_dd.1.log and so on
+    Path getLogFile(LocalDate date, int index)
+    {
+        String filename = this.filenameFormat.format(date) + (index == 0 ? "" : "." + index) + ".log";
+        return this.logFolder.resolve(filename);
+    }
+
+    private void closeChannel()
+    {
+        if (this.channel == null) return;
+
+        try
+        {
+            this.channel.close();
+        }
+        catch (IOException e)
         {
             e.printStackTrace();
         }
+        this.channel = null;
     }
 
     private void DeleteExpiredLogs()
@@ -123,18 +314,20 @@ class CustomLogger
         try
         {
             //get list of log files
-            File logFolder = new File(this.logFolderPath);
+            File logFolder = this.logFolder.toFile();
             File[] files = logFolder.listFiles();
 
             //delete any created before x days ago
-            int daysToKeepLogs = GriefPrevention.instance.config_logs_daysToKeep;
+            int daysToKeepLogs = this.daysToKeep.getAsInt();
             Calendar expirationBoundary = Calendar.getInstance();
             expirationBoundary.add(Calendar.DATE, -daysToKeepLogs);
             for (File file : files)
             {
                 if (file.isDirectory()) continue;  //skip any folders
 
-                String filename = file.getName().replace(".log", "");
+                String filename = file.getName();
+                int extension = filename.indexOf('.');  //strip .log as well as the index of rolled over files
+                if (extension >= 0) filename = filename.substring(0, extension);
                 String[] dateParts = filename.split("_");  //format is yyyy_MM_dd
                 if (dateParts.length != 3) continue;
 
@@ -164,22 +357,102 @@ class CustomLogger
         }
     }
 
-    //transfers the internal buffer to a log file
+    //drains the in-memory buffer to the log file until the logger is closed
     private class EntryWriter implements Runnable
     {
         @Override
         public void run()
         {
+            while (running)
+            {
+                WriteEntries();
+                LockSupport.parkNanos(this, nanosBetweenWrites);
+            }
+
+            //write whatever was added before closing
             WriteEntries();
+            closeChannel();
         }
     }
 
-    private class ExpiredLogRemover implements Runnable
+    //a bounded lock-free queue of entries, many threads may add entries but only the writer takes them
+    static final class EntryRing
     {
-        @Override
-        public void run()
+        private final int mask;
+        private final AtomicReferenceArray<String> entries;
+
+        //each slot's sequence tells whether it is free for the entry at a position or holds the entry before it
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        EntryRing(int capacity)
+        {
+            //round up to a power of two so positions map to slots with a mask
+            int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            this.mask = size - 1;
+            this.entries = new AtomicReferenceArray<>(size);
+            this.sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++)
+            {
+                this.sequences.set(i, i);
+            }
+        }
+
+        int capacity()
+        {
+            return this.mask + 1;
+        }
+
+        int size()
+        {
+            return (int) Math.max(0, this.tail.get() - this.head);
+        }
+
+        //adds an entry, or returns false if the ring is full
+        boolean offer(String entry)
         {
-            DeleteExpiredLogs();
+            long position = this.tail.get();
+            while (true)
+            {
+                int slot = (int) position & this.mask;
+                long difference = this.sequences.get(slot) - position;
+                if (difference == 0)
+                {
+                    //the slot is free, claim the position
+                    if (this.tail.compareAndSet(position, position + 1))
+                    {
+                        this.entries.set(slot, entry);
+                        this.sequences.set(slot, position + 1);
+                        return true;
+                    }
+                    position = this.tail.get();
+                }
+                else if (difference < 0)
+                {
+                    //the slot still holds the entry from one lap ago
+                    return false;
+                }
+                else
+                {
+                    //another thread claimed the position first
+                    position = this.tail.get();
+                }
+            }
+        }
+
+        //takes the oldest entry, or returns null if the ring is empty, only called by a single thread
+        String poll()
+        {
+            long position = this.head;
+            int slot = (int) position & this.mask;
+            if (this.sequences.get(slot) != position + 1) return null;
+
+            String entry = this.entries.get(slot);
+            this.entries.set(slot, null);
+            this.sequences.set(slot, position + this.mask + 1);
+            this.head = position + 1;
+            return entry;
         }
     }
 }
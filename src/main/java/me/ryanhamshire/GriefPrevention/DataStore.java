@@ -27,6 +27,7 @@ import me.ryanhamshire.GriefPrevention.events.ClaimExtendEvent;
 import me.ryanhamshire.GriefPrevention.events.ClaimResizeEvent;
 import me.ryanhamshire.GriefPrevention.events.ClaimTransferEvent;
 import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import me.ryanhamshire.GriefPrevention.util.IOExecutor;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
@@ -36,6 +37,7 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -49,7 +51,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -72,10 +73,13 @@ public abstract class DataStore {
     ArrayList<Claim> claims = new ArrayList<>();
     // claim id to claim cache
     public final Map<Long, Claim> claimIDMap = new ConcurrentHashMap<>();
-    ConcurrentHashMap<Long, ArrayList<Claim>> chunksToClaimsMap = new ConcurrentHashMap<>();
+    // chunk to claims index, optionally sharded by region
+    final ClaimIndex claimIndex = newClaimIndex();
+    // incremented after a claim is added, removed, resized or transferred, so derived caches know to rebuild
+    private volatile long claimRevision = 0;
 
     // in-memory cache for messages
-    private String[] messages;
+    private volatile String[] messages;
 
     // pattern for unique user identifiers (UUIDs)
     protected final static Pattern uuidpattern = Pattern
@@ -304,7 +308,17 @@ public abstract class DataStore {
     // gets the number of bonus blocks a player has from his permissions
     // Bukkit doesn't allow for checking permissions of an offline player.
     // this will return 0 when he's offline, and the correct number when online.
-    synchronized public int getGroupBonusBlocks(UUID playerID) {
+    // the total is cached in the player's data, see PlayerData.refreshGroupBonusClaimBlocks
+    public int getGroupBonusBlocks(UUID playerID) {
+        // don't load and cache an offline player's data just to find out they have no group bonus
+        if (GriefPrevention.instance.getServer().getPlayer(playerID) == null)
+            return 0;
+
+        return this.getPlayerData(playerID).getGroupBonusClaimBlocks();
+    }
+
+    // checks every bonus group's permission to total a player's group bonus blocks
+    int calculateGroupBonusBlocks(UUID playerID) {
         Player player = GriefPrevention.instance.getServer().getPlayer(playerID);
 
         if (player == null)
@@ -331,6 +345,11 @@ public abstract class DataStore {
         currentValue += amount;
         this.permissionToBonusBlocksMap.put(groupName, currentValue);
 
+        // cached totals are stale now, recalculate them the next time they're needed
+        for (PlayerData playerData : this.playerNameToPlayerDataMap.values()) {
+            playerData.invalidateGroupBonusClaimBlocks();
+        }
+
         // write changes to storage to ensure they don't get lost
         this.saveGroupBonusBlocks(groupName, currentValue);
 
@@ -379,6 +398,7 @@ public abstract class DataStore {
 
         // transfer
         claim.ownerID = event.getNewOwner();
+        this.claimRevision++;
         this.saveClaim(claim);
 
         // adjust blocks and other records
@@ -420,24 +440,28 @@ public abstract class DataStore {
                     }
                 }
             }
+            newClaim.inDataStore = true;
             if (!alreadyExists) {
-                newClaim.parent.children.add(newClaim);
+                this.claimIndex.update(newClaim.parent, () -> newClaim.parent.children.add(newClaim));
             }
 
             // 3D subdivisions need to be added to chunk claims map so getClaimAt can find
             // them
             if (newClaim.is3D()) {
                 addToChunkClaimMap(newClaim);
+            } else {
+                // the parent's chunks now contain a subdivision edge
+                this.claimRevision++;
             }
 
-            newClaim.inDataStore = true;
             if (writeToStorage) {
                 this.saveClaim(newClaim);
             }
             return;
         }
 
-        // add it and mark it as added
+        // mark it as added before indexing it, so it is never indexed without being effective
+        newClaim.inDataStore = true;
         this.claims.add(newClaim);
         this.claimIDMap.put(newClaim.id, newClaim);
         for (Claim child : newClaim.children) {
@@ -449,8 +473,6 @@ public abstract class DataStore {
         }
         addToChunkClaimMap(newClaim);
 
-        newClaim.inDataStore = true;
-
         // except for administrative claims (which have no owner), update the owner's
         // playerData with the new claim
         if (!newClaim.isAdminClaim() && writeToStorage) {
@@ -472,15 +494,9 @@ public abstract class DataStore {
         if (claim.parent != null && !claim.is3D())
             return;
 
-        ArrayList<Long> chunkHashes = claim.getChunkHashes();
-        for (Long chunkHash : chunkHashes) {
-            ArrayList<Claim> claimsInChunk = this.chunksToClaimsMap.get(chunkHash);
-            if (claimsInChunk == null) {
-                this.chunksToClaimsMap.put(chunkHash, claimsInChunk = new ArrayList<>());
-            }
-
-            claimsInChunk.add(claim);
-        }
+        this.claimIndex.add(claim);
+        // only after the index changed, so a lookup racing the change can't cache the old index as current
+        this.claimRevision++;
     }
 
     private void removeFromChunkClaimMap(Claim claim) {
@@ -489,22 +505,16 @@ public abstract class DataStore {
         if (claim.parent != null && !claim.is3D())
             return;
 
-        ArrayList<Long> chunkHashes = claim.getChunkHashes();
-        for (Long chunkHash : chunkHashes) {
-            ArrayList<Claim> claimsInChunk = this.chunksToClaimsMap.get(chunkHash);
-            if (claimsInChunk != null) {
-                for (Iterator<Claim> it = claimsInChunk.iterator(); it.hasNext();) {
-                    Claim c = it.next();
-                    if (c.id.equals(claim.id)) {
-                        it.remove();
-                        break;
-                    }
-                }
-                if (claimsInChunk.isEmpty()) { // if nothing's left, remove this chunk's cache
-                    this.chunksToClaimsMap.remove(chunkHash);
-                }
-            }
+        this.claimIndex.remove(claim);
+        this.claimRevision++;
+    }
+
+    private static ClaimIndex newClaimIndex() {
+        GriefPrevention plugin = GriefPrevention.instance;
+        if (plugin != null && plugin.config_advanced_shardClaimIndex) {
+            return ClaimIndex.sharded(plugin.config_advanced_claimIndexShardExponent);
         }
+        return ClaimIndex.unsharded();
     }
 
     // Helper method to compare claim boundaries for duplicate detection
@@ -582,6 +592,7 @@ public abstract class DataStore {
     // saves any changes to a claim to secondary storage
     synchronized public void saveClaim(Claim claim) {
         assignClaimID(claim);
+        claim.markModified();
 
         this.writeClaimToStorage(claim);
     }
@@ -603,21 +614,20 @@ public abstract class DataStore {
     // retrieves player data from memory or secondary storage, as necessary
     // if the player has never been on the server before, this will return a fresh
     // player data with default values
-    synchronized public PlayerData getPlayerData(UUID playerID) {
+    // this does not lock the data store, as it is called from async chat threads
+    public PlayerData getPlayerData(UUID playerID) {
         // first, look in memory
         PlayerData playerData = this.playerNameToPlayerDataMap.get(playerID);
+        if (playerData != null)
+            return playerData;
 
         // if not there, build a fresh instance with some blanks for what may be in
-        // secondary storage
-        if (playerData == null) {
-            playerData = new PlayerData();
-            playerData.playerID = playerID;
-
-            // shove that new player data into the hash map cache
-            this.playerNameToPlayerDataMap.put(playerID, playerData);
-        }
-
-        return playerData;
+        // secondary storage and shove it into the hash map cache
+        return this.playerNameToPlayerDataMap.computeIfAbsent(playerID, id -> {
+            PlayerData newPlayerData = new PlayerData();
+            newPlayerData.playerID = id;
+            return newPlayerData;
+        });
     }
 
     abstract PlayerData getPlayerDataFromStorage(UUID playerID);
@@ -661,13 +671,17 @@ public abstract class DataStore {
         }
 
         // subdivisions must also be removed from the parent claim child list
-        if (claim.parent != null) {
-            Claim parentClaim = claim.parent;
-            parentClaim.children.remove(claim);
-        }
-
         // mark as deleted so any references elsewhere can be ignored
-        claim.inDataStore = false;
+        this.claimIndex.update(claim, () -> {
+            if (claim.parent != null) {
+                Claim parentClaim = claim.parent;
+                parentClaim.children.remove(claim);
+            }
+
+            claim.inDataStore = false;
+        });
+        this.claimRevision++;
+        claim.markModified();
 
         // remove from memory
         for (int i = 0; i < this.claims.size(); i++) {
@@ -731,7 +745,7 @@ public abstract class DataStore {
     // the claim
     // cachedClaim can be NULL, but will help performance if you have a reasonable
     // guess about which claim the location is in
-    synchronized public Claim getClaimAt(Location location, boolean ignoreHeight, Claim cachedClaim) {
+    public Claim getClaimAt(Location location, boolean ignoreHeight, Claim cachedClaim) {
         return getClaimAt(location, ignoreHeight, false, cachedClaim);
     }
 
@@ -750,7 +764,21 @@ public abstract class DataStore {
      * @param cachedClaim     the cached claim, if any
      * @return the claim containing the location or null if no claim exists there
      */
-    synchronized public Claim getClaimAt(Location location, boolean ignoreHeight, boolean ignoreSubclaims,
+    public Claim getClaimAt(Location location, boolean ignoreHeight, boolean ignoreSubclaims,
+            Claim cachedClaim) {
+        // A sharded index is read under the lock of the location's shard rather than the data store's monitor, so
+        // lookups in different regions do not contend.
+        if (this.claimIndex.isSharded()) {
+            return this.claimIndex.read(location.getBlockX() >> 4, location.getBlockZ() >> 4,
+                    () -> this.findClaimAt(location, ignoreHeight, ignoreSubclaims, cachedClaim));
+        }
+
+        synchronized (this) {
+            return this.findClaimAt(location, ignoreHeight, ignoreSubclaims, cachedClaim);
+        }
+    }
+
+    private Claim findClaimAt(Location location, boolean ignoreHeight, boolean ignoreSubclaims,
             Claim cachedClaim) {
         // Check cached claim first, but don't prematurely return a non-3D claim if a
         // more specific 3D subclaim exists.
@@ -1038,7 +1066,7 @@ public abstract class DataStore {
     }
 
     public Collection<Claim> getClaims(int chunkx, int chunkz) {
-        ArrayList<Claim> chunkClaims = this.chunksToClaimsMap.get(getChunkHash(chunkx, chunkz));
+        List<Claim> chunkClaims = this.claimIndex.get(chunkx, chunkz);
         if (chunkClaims != null) {
             return Collections.unmodifiableCollection(chunkClaims);
         } else {
@@ -1053,7 +1081,7 @@ public abstract class DataStore {
 
         for (int chunkX = boundingBox.getMinX() >> 4; chunkX <= chunkXMax; ++chunkX) {
             for (int chunkZ = boundingBox.getMinZ() >> 4; chunkZ <= chunkZMax; ++chunkZ) {
-                ArrayList<Claim> chunkClaims = this.chunksToClaimsMap.get(getChunkHash(chunkX, chunkZ));
+                List<Claim> chunkClaims = this.claimIndex.get(chunkX, chunkZ);
                 if (chunkClaims == null)
                     continue;
 
@@ -1068,6 +1096,77 @@ public abstract class DataStore {
         return claims;
     }
 
+    /**
+     * Get the claims whose boundaries intersect a bounding box.
+     *
+     * <p>Unlike {@link #getChunkClaims(World, BoundingBox)}, claims are filtered by their actual boundaries while
+     * scanning the chunk index and no hash set is built. This keeps frequent queries over small areas, such as
+     * blocks moved by pistons, cheap. Only top-level claims and 3D subdivisions are returned, matching the index.
+     *
+     * @param world       the world
+     * @param boundingBox the area to query
+     * @return the intersecting claims
+     */
+    public @NotNull List<Claim> getClaimsIntersecting(@NotNull World world, @NotNull BoundingBox boundingBox) {
+        List<Claim> claims = new ArrayList<>();
+        int chunkXMax = boundingBox.getMaxX() >> 4;
+        int chunkZMax = boundingBox.getMaxZ() >> 4;
+        boolean multipleChunks = (boundingBox.getMinX() >> 4) != chunkXMax || (boundingBox.getMinZ() >> 4) != chunkZMax;
+
+        for (int chunkX = boundingBox.getMinX() >> 4; chunkX <= chunkXMax; ++chunkX) {
+            for (int chunkZ = boundingBox.getMinZ() >> 4; chunkZ <= chunkZMax; ++chunkZ) {
+                List<Claim> chunkClaims = this.claimIndex.get(chunkX, chunkZ);
+                if (chunkClaims == null)
+                    continue;
+
+                for (Claim claim : chunkClaims) {
+                    if (!claim.inDataStore || !world.equals(claim.getLesserBoundaryCorner().getWorld()))
+                        continue;
+                    if (!intersects(claim, world, boundingBox))
+                        continue;
+                    // Claims spanning several chunks are indexed in each of them.
+                    if (multipleChunks && claims.contains(claim))
+                        continue;
+                    claims.add(claim);
+                }
+            }
+        }
+
+        return claims;
+    }
+
+    // equivalent to new BoundingBox(claim).intersects(boundingBox) without allocating
+    private static boolean intersects(@NotNull Claim claim, @NotNull World world, @NotNull BoundingBox boundingBox) {
+        Location lesser = claim.getLesserBoundaryCorner();
+        Location greater = claim.getGreaterBoundaryCorner();
+        int maxY = claim.is3D() ? greater.getBlockY() : world.getMaxHeight();
+        return lesser.getBlockX() <= boundingBox.getMaxX() && greater.getBlockX() >= boundingBox.getMinX()
+                && lesser.getBlockY() <= boundingBox.getMaxY() && maxY >= boundingBox.getMinY()
+                && lesser.getBlockZ() <= boundingBox.getMaxZ() && greater.getBlockZ() >= boundingBox.getMinZ();
+    }
+
+    /**
+     * Get the current claim revision. The revision changes after a claim is added, removed, resized or transferred
+     * to a new owner, so it can be used to invalidate data derived from the claim index. Changes to trust, names and
+     * other claim settings do not change the revision.
+     *
+     * @return the current claim revision
+     */
+    public long getClaimRevision() {
+        return this.claimRevision;
+    }
+
+    /**
+     * Get the claims indexed for a chunk without copying them into a new collection.
+     *
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the indexed claims, which may include claims in other worlds sharing the same chunk hash, or null
+     */
+    @Nullable List<Claim> getIndexedChunkClaims(long chunkX, long chunkZ) {
+        return this.claimIndex.get(chunkX, chunkZ);
+    }
+
     // gets an almost-unique, persistent identifier for a chunk
     public static Long getChunkHash(long chunkx, long chunkz) {
         return (chunkz ^ (chunkx << 32));
@@ -1398,7 +1497,12 @@ public abstract class DataStore {
     // saves changes to player data to secondary storage. MUST be called after
     // you're done making changes, otherwise a reload will lose them
     public void savePlayerData(UUID playerID, PlayerData playerData) {
-        new SavePlayerDataThread(playerID, playerData).start();
+        GriefPrevention.instance.ioExecutor.execute(IOExecutor.Category.PLAYER_DATA, () -> {
+            // ensure player data is already read from file before trying to save
+            playerData.getAccruedClaimBlocks();
+            playerData.getClaims();
+            asyncSavePlayerData(playerID, playerData);
+        });
     }
 
     public void asyncSavePlayerData(UUID playerID, PlayerData playerData) {
@@ -1502,14 +1606,16 @@ public abstract class DataStore {
 
         // Adjust depth for the parent claim and NON-3D children only.
         // 3D subdivisions have explicit Y bounds and must not be altered here.
-        Stream.concat(
+        List<Claim> changedClaims = Stream.concat(
                 Stream.of(claim),
-                claim.children.stream().filter(child -> !child.is3D())).forEach(localClaim -> {
-                    localClaim.lesserBoundaryCorner.setY(depth);
-                    localClaim.greaterBoundaryCorner
-                            .setY(Math.max(localClaim.greaterBoundaryCorner.getBlockY(), depth));
-                    this.saveClaim(localClaim);
-                });
+                claim.children.stream().filter(child -> !child.is3D())).toList();
+        this.claimIndex.update(claim, () -> changedClaims.forEach(localClaim -> {
+            localClaim.lesserBoundaryCorner.setY(depth);
+            localClaim.greaterBoundaryCorner
+                    .setY(Math.max(localClaim.greaterBoundaryCorner.getBlockY(), depth));
+            localClaim.markModified();
+        }));
+        changedClaims.forEach(this::saveClaim);
     }
 
     // deletes all claims owned by a player
@@ -1544,11 +1650,11 @@ public abstract class DataStore {
 
         // if succeeded
         if (result.succeeded) {
-            removeFromChunkClaimMap(claim); // remove the old boundary from the chunk cache
             // copy the boundary from the claim created in the dry run of createClaim() to
-            // our existing claim
-            claim.lesserBoundaryCorner = result.claim.lesserBoundaryCorner;
-            claim.greaterBoundaryCorner = result.claim.greaterBoundaryCorner;
+            // our existing claim, moving it in the chunk cache
+            this.claimIndex.move(claim, result.claim.lesserBoundaryCorner, result.claim.greaterBoundaryCorner);
+            this.claimRevision++;
+            claim.markModified();
             // Sanitize claim depth for non-3D claims only. For 3D subdivisions, do not
             // adjust
             // parent/child depths as they have explicit Y bounds and should NOT extend to
@@ -1563,7 +1669,6 @@ public abstract class DataStore {
                 this.saveClaim(claim);
             }
             result.claim = claim;
-            addToChunkClaimMap(claim); // add the new boundary to the chunk cache
         }
 
         return result;
@@ -1939,7 +2044,7 @@ public abstract class DataStore {
         }
     }
 
-    synchronized public String getMessage(Messages messageID, String... args) {
+    public String getMessage(Messages messageID, String... args) {
         String message = messages[messageID.ordinal()];
 
         for (int i = 0; i < args.length; i++) {
@@ -1985,23 +2090,6 @@ public abstract class DataStore {
 
     abstract void close();
 
-    private class SavePlayerDataThread extends Thread {
-        private final UUID playerID;
-        private final PlayerData playerData;
-
-        SavePlayerDataThread(UUID playerID, PlayerData playerData) {
-            this.playerID = playerID;
-            this.playerData = playerData;
-        }
-
-        public void run() {
-            // ensure player data is already read from file before trying to save
-            playerData.getAccruedClaimBlocks();
-            playerData.getClaims();
-            asyncSavePlayerData(this.playerID, this.playerData);
-        }
-    }
-
     // gets all the claims "near" a location
     Set<Claim> getNearbyClaims(Location location) {
         return getChunkClaims(
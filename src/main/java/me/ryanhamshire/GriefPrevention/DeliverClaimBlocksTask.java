@@ -18,69 +18,184 @@
 
 package me.ryanhamshire.GriefPrevention;
 
+import me.ryanhamshire.GriefPrevention.events.AccrueClaimBlocksBatchEvent;
 import me.ryanhamshire.GriefPrevention.events.AccrueClaimBlocksEvent;
+import me.ryanhamshire.GriefPrevention.util.EventUtil;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 //FEATURE: give players claim blocks for playing, as long as they're not away from their computer
 
 //runs every 5 minutes in the main thread, grants blocks per hour / 12 to each online player who appears to be actively playing
 class DeliverClaimBlocksTask implements Runnable
 {
-    private final Player player;
+    //on servers ticking regions separately, players within the same 16x16 chunk section are batched together
+    private static final int REGION_SECTION_SHIFT = 8;
+
+    //the players to deliver claim blocks to, or null to start deliveries for every online player
+    private final List<Player> players;
     private final GriefPrevention instance;
 
     public DeliverClaimBlocksTask(Player player, GriefPrevention instance)
     {
-        this.player = player;
+        this(player == null ? null : List.of(player), instance);
+    }
+
+    private DeliverClaimBlocksTask(List<Player> players, GriefPrevention instance)
+    {
+        this.players = players;
         this.instance = instance;
     }
 
     @Override
     public void run()
     {
-        //if no player specified, this task will create a player-specific task for each online player, scheduled one tick apart
-        if (this.player == null)
+        //if no player specified, this task will create tasks for batches of online players, scheduled one tick apart
+        if (this.players == null)
         {
-            @SuppressWarnings("unchecked")
-            Collection<Player> players = (Collection<Player>) GriefPrevention.instance.getServer().getOnlinePlayers();
-
-            long i = 0;
-            for (Player onlinePlayer : players)
+            Collection<? extends Player> onlinePlayers = instance.getServer().getOnlinePlayers();
+            int batchSize = instance.config_claims_accrualBatchSize;
+            if (batchSize <= 0)
+            {
+                //batching disabled, start a task for each player
+                long i = 0;
+                for (Player onlinePlayer : onlinePlayers)
+                {
+                    DeliverClaimBlocksTask newTask = new DeliverClaimBlocksTask(onlinePlayer, instance);
+                    SchedulerUtil.runLaterEntity(instance, onlinePlayer, newTask, i++);
+                }
+            }
+            else if (!SchedulerUtil.isRegionThreaded())
             {
-                DeliverClaimBlocksTask newTask = new DeliverClaimBlocksTask(onlinePlayer, instance);
-                SchedulerUtil.runLaterEntity(instance, onlinePlayer, newTask::run, i++);
+                //every player is ticked on the main thread, so batches only limit the work done per tick
+                List<Player> batch = new ArrayList<>(onlinePlayers);
+                for (int i = 0; i * batchSize < batch.size(); i++)
+                {
+                    List<Player> slice = batch.subList(i * batchSize, Math.min(batch.size(), (i + 1) * batchSize));
+                    SchedulerUtil.runLaterGlobal(instance, new DeliverClaimBlocksTask(slice, instance), i);
+                }
+            }
+            else
+            {
+                scheduleRegionBatches(onlinePlayers, batchSize);
             }
 
-            return; //tasks started for each player
+            return; //tasks started for each batch
         }
 
-        //deliver claim blocks to the specified player
-        if (!this.player.isOnline())
+        deliver(this.players);
+    }
+
+    private void scheduleRegionBatches(Collection<? extends Player> onlinePlayers, int batchSize)
+    {
+        //group players by position so each batch is likely to be owned by a single region
+        //positions may be slightly outdated here, ownership is checked again when the batch runs
+        Map<Section, List<Player>> sections = new HashMap<>();
+        Location location = new Location(null, 0, 0, 0);
+        for (Player onlinePlayer : onlinePlayers)
         {
-            return; //player is not online to receive claim blocks
+            onlinePlayer.getLocation(location);
+            Section section = new Section(location.getWorld(),
+                    location.getBlockX() >> REGION_SECTION_SHIFT,
+                    location.getBlockZ() >> REGION_SECTION_SHIFT);
+            sections.computeIfAbsent(section, key -> new ArrayList<>()).add(onlinePlayer);
         }
 
-        DataStore dataStore = instance.dataStore;
-        PlayerData playerData = dataStore.getPlayerData(player.getUniqueId());
+        for (Map.Entry<Section, List<Player>> entry : sections.entrySet())
+        {
+            Section section = entry.getKey();
+            Location anchor = new Location(section.world(),
+                    section.x() << REGION_SECTION_SHIFT, 0, section.z() << REGION_SECTION_SHIFT);
+            List<Player> group = entry.getValue();
+            for (int i = 0; i * batchSize < group.size(); i++)
+            {
+                List<Player> slice = group.subList(i * batchSize, Math.min(group.size(), (i + 1) * batchSize));
+                SchedulerUtil.runAtLocationLater(instance, anchor, new DeliverClaimBlocksTask(slice, instance), i + 1);
+            }
+        }
+    }
 
-        // check if player is idle (considered idle if player's facing direction has not changed)
-        boolean isIdle = playerData.lastAfkCheckLocation != null 
-                && playerData.lastAfkCheckLocation.getDirection().equals(player.getLocation().getDirection());
+    //deliver claim blocks to the specified players
+    private void deliver(List<Player> players)
+    {
+        Location location = new Location(null, 0, 0, 0);
+        List<AccrueClaimBlocksEvent> accruals = new ArrayList<>(players.size());
+        for (Player player : players)
+        {
+            if (!player.isOnline())
+            {
+                continue; //player is not online to receive claim blocks
+            }
 
-        //remember current location for next time
-        playerData.lastAfkCheckLocation = player.getLocation();
+            //player moved to another region since batches were formed, deliver on the player's own scheduler
+            if (!SchedulerUtil.isOwnedByCurrentRegion(player))
+            {
+                SchedulerUtil.runLaterEntity(instance, player, new DeliverClaimBlocksTask(player, instance), 1L);
+                continue;
+            }
+
+            PlayerData playerData = instance.dataStore.getPlayerData(player.getUniqueId());
+
+            //there is no event for permission changes, so pick up any group changes on each delivery
+            playerData.refreshGroupBonusClaimBlocks();
+
+            // check if player is idle (considered idle if player's facing direction has not changed)
+            player.getLocation(location);
+            long rotation = packRotation(location.getYaw(), location.getPitch());
+            boolean isIdle = playerData.lastAfkCheckRotation == rotation;
+
+            //remember current facing direction for next time
+            playerData.lastAfkCheckRotation = rotation;
 
-        try
-        {
             //determine how fast blocks accrue for this player; can be modified by addons
             int accrualRate = instance.config_claims_blocksAccruedPerHour_default;
+            accruals.add(new AccrueClaimBlocksEvent(player, accrualRate, isIdle));
+        }
+
+        if (accruals.isEmpty()) return;
 
-            //fire event for addons
-            AccrueClaimBlocksEvent event = new AccrueClaimBlocksEvent(player, accrualRate, isIdle);
-            instance.getServer().getPluginManager().callEvent(event);
+        //fire events for addons
+        try
+        {
+            if (instance.config_claims_aggregateAccrualEvents)
+            {
+                EventUtil.callEvent(new AccrueClaimBlocksBatchEvent(accruals));
+            }
+            else
+            {
+                for (AccrueClaimBlocksEvent event : accruals)
+                {
+                    EventUtil.callEvent(event);
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            GriefPrevention.AddLogEntry("Problem delivering claim blocks to " + accruals.size() + " players:");
+            e.printStackTrace();
+            return;
+        }
+
+        for (AccrueClaimBlocksEvent event : accruals)
+        {
+            accrue(event);
+        }
+    }
+
+    private void accrue(AccrueClaimBlocksEvent event)
+    {
+        Player player = event.getPlayer();
+        try
+        {
             if (event.isCancelled())
             {
                 //event is initialized as canceled if player is idle
@@ -92,8 +207,9 @@ class DeliverClaimBlocksTask implements Runnable
             }
 
             //set actual accrual
-            accrualRate = event.getBlocksToAccrue();
+            int accrualRate = event.getBlocksToAccrue();
             if (accrualRate < 0) accrualRate = 0;
+            PlayerData playerData = instance.dataStore.getPlayerData(player.getUniqueId());
             playerData.accrueBlocks(accrualRate);
             GriefPrevention.AddLogEntry("Delivering " + event.getBlocksToAccrue() + " blocks to " + player.getName(), CustomLogEntryTypes.Debug, true);
 
@@ -107,4 +223,19 @@ class DeliverClaimBlocksTask implements Runnable
             e.printStackTrace();
         }
     }
+
+    /**
+     * Pack a facing direction into a single value for idle checks. Equal values mean the same direction.
+     *
+     * @param yaw the yaw
+     * @param pitch the pitch
+     * @return the packed rotation, never {@link PlayerData#NO_ROTATION}
+     */
+    static long packRotation(float yaw, float pitch)
+    {
+        //adding zero turns negative zero into zero, so the packed value can't collide with NO_ROTATION
+        return ((long) Float.floatToIntBits(yaw + 0.0F) << 32) | (Float.floatToIntBits(pitch + 0.0F) & 0xFFFFFFFFL);
+    }
+
+    private record Section(@NotNull World world, int x, int z) {}
 }
@@ -1,6 +1,7 @@
 package me.ryanhamshire.GriefPrevention;
 
 import me.ryanhamshire.GriefPrevention.events.PreventPvPEvent;
+import me.ryanhamshire.GriefPrevention.util.EventUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
@@ -58,6 +59,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -364,9 +367,7 @@ public class EntityDamageHandler implements Listener {
         if (damagedClaim != null) {
             damagedData.lastClaim = damagedClaim;
             if (instance.claimIsPvPSafeZone(damagedClaim)) {
-                PreventPvPEvent pvpEvent = new PreventPvPEvent(damagedClaim, attacker, damaged);
-                Bukkit.getPluginManager().callEvent(pvpEvent);
-                if (!pvpEvent.isCancelled()) {
+                if (!isPvPPreventionCancelled(() -> damagedClaim, attacker, damaged)) {
                     event.setCancelled(true);
                 }
                 return true;
@@ -504,25 +505,24 @@ public class EntityDamageHandler implements Listener {
         if (event.damaged().getType() == EntityType.WOLF && pet.getTarget() == attacker)
             return true;
 
-        Claim claim;
+        Supplier<Claim> claim;
         // Note: Internal name is not descriptive. Actual node is
         // "GriefPrevention.PVP.ProtectPetsOutsideLandClaims"
         if (!instance.config_pvp_protectPets) {
-            claim = dataStore.getClaimAt(event.damaged().getLocation(), false, attackerData.lastClaim);
-            if (claim == null) {
+            Claim petClaim = dataStore.getClaimAt(event.damaged().getLocation(), false, attackerData.lastClaim);
+            if (petClaim == null) {
                 // Pet is not in a claim, allow attack.
                 return true;
             }
-            attackerData.lastClaim = claim;
+            attackerData.lastClaim = petClaim;
+            claim = () -> petClaim;
         } else {
             // Create a dummy claim to signify blanket pet protection.
-            claim = new Claim(event.damaged().getLocation(), event.damaged().getLocation(), null, new ArrayList<>(),
-                    new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null);
+            claim = () -> new Claim(event.damaged().getLocation(), event.damaged().getLocation(), null,
+                    new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null);
         }
 
-        PreventPvPEvent pvpEvent = new PreventPvPEvent(claim, attacker, pet);
-        Bukkit.getPluginManager().callEvent(pvpEvent);
-        if (!pvpEvent.isCancelled()) {
+        if (!isPvPPreventionCancelled(claim, attacker, pet)) {
             event.setCancelled(true);
             if (sendMessages) {
                 String ownerName = GriefPrevention.lookupPlayerName(owner);
@@ -558,21 +558,62 @@ public class EntityDamageHandler implements Listener {
             return false;
 
         Claim claim = this.dataStore.getClaimAt(location, false, playerData.lastClaim);
+        return handlePvpInClaim(attacker, defender, claim, playerData, cancelHandler);
+    }
+
+    /**
+     * Handle a PVP action in an already resolved claim depending on configured rules.
+     *
+     * @param attacker      the attacking {@link Player}, or null for indirect PVP
+     *                      like pet-induced damage
+     * @param defender      the defending {@link Player}
+     * @param claim         the {@link Claim} the PVP occurs in, if any
+     * @param playerData    the {@link PlayerData} used for caching last claim
+     * @param cancelHandler the {@link Runnable} to run if PVP is disallowed
+     * @return true if PVP is handled by claim rules
+     */
+    private boolean handlePvpInClaim(
+            @Nullable Player attacker,
+            @NotNull Player defender,
+            @Nullable Claim claim,
+            @NotNull PlayerData playerData,
+            @NotNull Runnable cancelHandler) {
+        if (playerData.inPvpCombat())
+            return false;
 
         if (claim == null || !instance.claimIsPvPSafeZone(claim))
             return false;
 
         playerData.lastClaim = claim;
-        PreventPvPEvent pvpEvent = new PreventPvPEvent(claim, attacker, defender);
-        Bukkit.getPluginManager().callEvent(pvpEvent);
 
         // if other plugins aren't making an exception to the rule
-        if (!pvpEvent.isCancelled()) {
+        if (!isPvPPreventionCancelled(() -> claim, attacker, defender)) {
             cancelHandler.run();
         }
         return true;
     }
 
+    /**
+     * Call a {@link PreventPvPEvent} to check whether addons make an exception to PVP protection.
+     * The event and its claim are only created if something is listening for it.
+     *
+     * @param claim    a supplier for the {@link Claim} protecting the defender
+     * @param attacker the attacking {@link Player}, if any
+     * @param defender the defending {@link Entity}
+     * @return true if another plugin cancelled the PVP prevention
+     */
+    private static boolean isPvPPreventionCancelled(
+            @NotNull Supplier<Claim> claim,
+            @Nullable Player attacker,
+            @NotNull Entity defender) {
+        if (!EventUtil.hasListeners(PreventPvPEvent.getHandlerList()))
+            return false;
+
+        PreventPvPEvent pvpEvent = new PreventPvPEvent(claim.get(), attacker, defender);
+        Bukkit.getPluginManager().callEvent(pvpEvent);
+        return pvpEvent.isCancelled();
+    }
+
     /**
      * Handle actions requiring build trust.
      *
@@ -975,6 +1016,12 @@ public class EntityDamageHandler implements Listener {
                     type.equals(PotionEffectType.WEAKNESS);
         });
 
+        // Clouds reapply constantly over crowded mob farms, so resolve each chunk and claim only once per event.
+        PlayerData playerData = this.dataStore.getPlayerData(thrower.getUniqueId());
+        ChunkClaimResolver claims = new ChunkClaimResolver(this.dataStore, cloud.getWorld());
+        Map<Claim, Boolean> accessAllowed = new HashMap<>();
+        Map<Claim, Boolean> animalsProtected = new HashMap<>();
+
         // Check each affected entity
         event.getAffectedEntities().removeIf(affected -> {
             // Always affect the thrower
@@ -983,27 +1030,25 @@ public class EntityDamageHandler implements Listener {
 
             // For players, use PvP rules
             if (affected instanceof Player affectedPlayer) {
-                PlayerData playerData = this.dataStore.getPlayerData(thrower.getUniqueId());
-                Claim claim = this.dataStore.getClaimAt(affected.getLocation(), false, playerData.lastClaim);
+                Claim claim = claims.getClaimAt(affected.getLocation());
                 if (claim != null) {
                     playerData.lastClaim = claim;
                     // Check PvP permissions
-                    return handlePvpInClaim(thrower, affectedPlayer, affected.getLocation(), playerData, () -> {
+                    return handlePvpInClaim(thrower, affectedPlayer, claim, playerData, () -> {
                     });
                 }
                 return false;
             }
             // For entities (mobs)
             else if (affected instanceof LivingEntity) {
-                Location loc = affected.getLocation();
-                Claim claim = this.dataStore.getClaimAt(loc, false, null);
+                Claim claim = claims.getClaimAt(affected.getLocation());
 
                 // If not in a claim, allow all effects
                 if (claim == null)
                     return false;
 
                 // If thrower is the owner, allow all effects
-                if (claim.allowAccess(thrower) == null) {
+                if (accessAllowed.computeIfAbsent(claim, key -> key.allowAccess(thrower) == null)) {
                     return false;
                 }
 
@@ -1011,11 +1056,12 @@ public class EntityDamageHandler implements Listener {
                 if (isHarmful) {
                     // Protect Animals (passive mobs) from harmful potions in claims
                     if (affected instanceof Animals) {
-                        Supplier<String> override = () -> instance.dataStore
-                                .getMessage(Messages.NoDamageClaimedEntity, claim.getOwnerName());
-                        final Supplier<String> noContainersReason = claim.checkPermission(thrower,
-                                ClaimPermission.Inventory, event, override);
-                        return noContainersReason != null; // Remove effect if no permission
+                        // Remove effect if no permission
+                        return animalsProtected.computeIfAbsent(claim, key -> {
+                            Supplier<String> override = () -> instance.dataStore
+                                    .getMessage(Messages.NoDamageClaimedEntity, key.getOwnerName());
+                            return key.checkPermission(thrower, ClaimPermission.Inventory, event, override) != null;
+                        });
                     }
                     // Allow harmful effects on hostile mobs
                     return !(affected instanceof Monster || affected instanceof Slime || affected instanceof Phantom);
@@ -1045,86 +1091,91 @@ public class EntityDamageHandler implements Listener {
             thrower = null;
         AtomicBoolean messagedPlayer = new AtomicBoolean(false);
 
-        Collection<PotionEffect> effects = potion.getEffects();
-        for (PotionEffect effect : effects) {
+        // Determine which rules apply up front so each affected entity is only examined once.
+        boolean griefEffect = false;
+        boolean harmfulEffect = false;
+        for (PotionEffect effect : potion.getEffects()) {
             PotionEffectType effectType = effect.getType();
+            griefEffect |= GRIEF_EFFECTS.contains(effectType);
+            // no restrictions for positive effects
+            harmfulEffect |= effectType.getCategory() != PotionEffectTypeCategory.BENEFICIAL;
+        }
+
+        // Otherwise, PvP rules ignore potions not thrown by players
+        // FEATURE: prevent players from engaging in PvP combat inside land claims (when it's disabled)
+        boolean pvpRules = thrower != null && harmfulEffect
+                && (instance.config_pvp_noCombatInPlayerLandClaims || instance.config_pvp_noCombatInAdminLandClaims);
+
+        if (!griefEffect && !pvpRules)
+            return;
+
+        // Claims are resolved once per chunk, and the thrower's standing once per claim.
+        ChunkClaimResolver claims = new ChunkClaimResolver(this.dataStore, potion.getWorld());
+        Map<Claim, Supplier<String>> denialReasons = new HashMap<>();
+        Map<Claim, Boolean> sourceInClaim = new HashMap<>();
+        PlayerData throwerData = pvpRules ? this.dataStore.getPlayerData(thrower.getUniqueId()) : null;
+        Claim throwerClaim = pvpRules
+                ? this.dataStore.getClaimAt(thrower.getLocation(), false, throwerData.lastClaim)
+                : null;
+
+        for (LivingEntity affected : event.getAffectedEntities()) {
+            // Always impact the thrower.
+            if (affected == thrower)
+                continue;
 
             // Restrict some potions on claimed villagers and animals.
             // Griefers could use potions to kill entities or steal them over fences.
-            if (GRIEF_EFFECTS.contains(effectType)) {
-                Claim cachedClaim = null;
-                for (LivingEntity affected : event.getAffectedEntities()) {
-                    // Always impact the thrower.
-                    if (affected == thrower)
-                        continue;
-
-                    if (affected.getType() == EntityType.VILLAGER || affected instanceof Animals) {
-                        Claim claim = this.dataStore.getClaimAt(affected.getLocation(), false, cachedClaim);
-                        if (claim != null) {
-                            cachedClaim = claim;
-
-                            if (thrower == null) {
-                                // Non-player source: Witches, dispensers, etc.
-                                if (!EntityEventHandler.isBlockSourceInClaim(projectileSource, claim)) {
-                                    // If the source is not a block in the same claim as the affected entity,
-                                    // disallow.
-                                    event.setIntensity(affected, 0);
-                                }
-                            } else {
-                                // Source is a player. Determine if they have permission to access entities in
-                                // the claim.
-                                Supplier<String> override = () -> instance.dataStore
-                                        .getMessage(Messages.NoDamageClaimedEntity, claim.getOwnerName());
-                                final Supplier<String> noContainersReason = claim.checkPermission(thrower,
-                                        ClaimPermission.Inventory, event, override);
-                                if (noContainersReason != null) {
-                                    event.setIntensity(affected, 0);
-                                    if (messagedPlayer.compareAndSet(false, true)) {
-                                        GriefPrevention.sendMessage(thrower, TextMode.Err, noContainersReason.get());
-                                    }
-                                }
+            if (griefEffect && (affected.getType() == EntityType.VILLAGER || affected instanceof Animals)) {
+                Claim claim = claims.getClaimAt(affected.getLocation());
+                if (claim != null) {
+                    if (thrower == null) {
+                        // Non-player source: Witches, dispensers, etc.
+                        if (!sourceInClaim.computeIfAbsent(claim,
+                                key -> EntityEventHandler.isBlockSourceInClaim(projectileSource, key))) {
+                            // If the source is not a block in the same claim as the affected entity,
+                            // disallow.
+                            event.setIntensity(affected, 0);
+                        }
+                    } else {
+                        // Source is a player. Determine if they have permission to access entities in
+                        // the claim.
+                        final Supplier<String> noContainersReason;
+                        if (denialReasons.containsKey(claim)) {
+                            noContainersReason = denialReasons.get(claim);
+                        } else {
+                            Supplier<String> override = () -> instance.dataStore
+                                    .getMessage(Messages.NoDamageClaimedEntity, claim.getOwnerName());
+                            noContainersReason = claim.checkPermission(thrower, ClaimPermission.Inventory, event,
+                                    override);
+                            denialReasons.put(claim, noContainersReason);
+                        }
+                        if (noContainersReason != null) {
+                            event.setIntensity(affected, 0);
+                            if (messagedPlayer.compareAndSet(false, true)) {
+                                GriefPrevention.sendMessage(thrower, TextMode.Err, noContainersReason.get());
                             }
                         }
                     }
                 }
             }
 
-            // Otherwise, ignore potions not thrown by players
-            if (thrower == null)
-                return;
-
-            // otherwise, no restrictions for positive effects
-            if (effectType.getCategory() == PotionEffectTypeCategory.BENEFICIAL)
+            // always impact non players
+            if (!pvpRules || !(affected instanceof Player affectedPlayer))
                 continue;
 
-            for (LivingEntity affected : event.getAffectedEntities()) {
-                // always impact the thrower
-                if (affected == thrower)
-                    continue;
-
-                // always impact non players
-                if (!(affected instanceof Player affectedPlayer))
-                    continue;
-
-                // otherwise if in no-pvp zone, stop effect
-                // FEATURE: prevent players from engaging in PvP combat inside land claims (when
-                // it's disabled)
-                if (instance.config_pvp_noCombatInPlayerLandClaims || instance.config_pvp_noCombatInAdminLandClaims) {
-                    PlayerData playerData = this.dataStore.getPlayerData(thrower.getUniqueId());
-                    Consumer<Messages> cancelHandler = message -> {
-                        event.setIntensity(affected, 0);
-                        if (messagedPlayer.compareAndSet(false, true))
-                            GriefPrevention.sendRateLimitedErrorMessage(thrower, message);
-                    };
-                    if (handlePvpInClaim(thrower, affectedPlayer, thrower.getLocation(), playerData,
-                            () -> cancelHandler.accept(Messages.CantFightWhileImmune))) {
-                        continue;
-                    }
-                    playerData = this.dataStore.getPlayerData(affectedPlayer.getUniqueId());
-                    handlePvpInClaim(thrower, affectedPlayer, affectedPlayer.getLocation(), playerData,
-                            () -> cancelHandler.accept(Messages.PlayerInPvPSafeZone));
-                }
+            // otherwise if in no-pvp zone, stop effect
+            Consumer<Messages> cancelHandler = message -> {
+                event.setIntensity(affected, 0);
+                if (messagedPlayer.compareAndSet(false, true))
+                    GriefPrevention.sendRateLimitedErrorMessage(thrower, message);
+            };
+            if (handlePvpInClaim(thrower, affectedPlayer, throwerClaim, throwerData,
+                    () -> cancelHandler.accept(Messages.CantFightWhileImmune))) {
+                continue;
             }
+            PlayerData playerData = this.dataStore.getPlayerData(affectedPlayer.getUniqueId());
+            handlePvpInClaim(thrower, affectedPlayer, claims.getClaimAt(affectedPlayer.getLocation()), playerData,
+                    () -> cancelHandler.accept(Messages.PlayerInPvPSafeZone));
         }
     }
 
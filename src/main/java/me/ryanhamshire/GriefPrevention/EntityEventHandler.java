@@ -536,46 +536,13 @@ public class EntityEventHandler implements Listener
         }
 
         //if item is on watch list, apply protection
-        ArrayList<PendingItemProtection> watchList = GriefPrevention.instance.pendingItemWatchList;
         Item newItem = event.getEntity();
-        Long now = null;
-        for (int i = 0; i < watchList.size(); i++)
+        PendingItemProtection pendingProtection = GriefPrevention.instance.pendingItemWatchList
+                .take(event.getLocation(), newItem.getItemStack());
+        if (pendingProtection != null)
         {
-            PendingItemProtection pendingProtection = watchList.get(i);
-            //ignore and remove any expired pending protections
-            if (now == null) now = System.currentTimeMillis();
-            if (pendingProtection.expirationTimestamp < now)
-            {
-                watchList.remove(i--);
-                continue;
-            }
-            //skip if item stack doesn't match
-            if (pendingProtection.itemStack.getAmount() != newItem.getItemStack().getAmount() ||
-                    pendingProtection.itemStack.getType() != newItem.getItemStack().getType())
-            {
-                continue;
-            }
-
-            //skip if new item location isn't near the expected spawn area
-            Location spawn = event.getLocation();
-            Location expected = pendingProtection.location;
-            if (!spawn.getWorld().equals(expected.getWorld()) ||
-                    spawn.getX() < expected.getX() - 5 ||
-                    spawn.getX() > expected.getX() + 5 ||
-                    spawn.getZ() < expected.getZ() - 5 ||
-                    spawn.getZ() > expected.getZ() + 5 ||
-                    spawn.getY() < expected.getY() - 15 ||
-                    spawn.getY() > expected.getY() + 3)
-            {
-                continue;
-            }
-
-            //otherwise, mark item with protection information
+            //mark item with protection information
             newItem.setMetadata("GP_ITEMOWNER", new FixedMetadataValue(GriefPrevention.instance, pendingProtection.owner));
-
-            //and remove pending protection data
-            watchList.remove(i);
-            break;
         }
     }
 
@@ -18,14 +18,17 @@
 
 package me.ryanhamshire.GriefPrevention;
 
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
-import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
+import me.ryanhamshire.GriefPrevention.util.IOExecutor;
+import org.bukkit.Bukkit;
 
 //FEATURE: automatically remove claims owned by inactive players which:
 //...aren't protecting much OR
@@ -33,50 +36,229 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 //...because the player has been gone a REALLY long time, and that expiration has been configured in config.yml
 
 //runs every 1 minute in the main thread
+//claim owners are queued by when their claims may first expire, based on when they last played
+//each run checks a limited batch of owners who are due, so expired claims are found as soon as they expire
 class FindUnusedClaimsTask implements Runnable
 {
-    private List<UUID> claimOwnerUUIDs;
-    private Iterator<UUID> claimOwnerIterator;
+    //how long to wait before checking an owner again whose claims didn't expire even though they were due
+    static final long RECHECK_MILLIS = TimeUnit.DAYS.toMillis(7);
 
-    FindUnusedClaimsTask()
-    {
-        refreshUUIDs();
-    }
+    private final PriorityQueue<QueuedOwner> queue = new PriorityQueue<>(Comparator.comparingLong(QueuedOwner::dueAt));
+    //every owner which is queued, being loaded or being checked
+    private final Set<UUID> knownOwners = new HashSet<>();
+    private long ownersRevision = -1;
+    private boolean loading = false;
+
+    //progress, reported in the debug log and by /aclaim checkexpiry
+    private long ownersChecked = 0;
+    private long ownersLoaded = 0;
 
     @Override
     public void run()
     {
-        //don't do anything when there are no claims
-        if (claimOwnerUUIDs.isEmpty()) return;
+        //nothing can expire unless expiration is configured
+        if (expiryMillis() < 0) return;
 
-        //wrap search around to beginning
-        if (!claimOwnerIterator.hasNext())
+        queueNewOwners();
+
+        long now = System.currentTimeMillis();
+        int batchSize = Math.max(1, GriefPrevention.instance.config_advanced_claim_expiration_batch_size);
+        List<UUID> batch = new ArrayList<>();
+        synchronized (this)
         {
-            refreshUUIDs();
-            return;
+            while (batch.size() < batchSize && !queue.isEmpty() && queue.peek().dueAt() <= now)
+            {
+                //skip owners forgotten while queued
+                UUID ownerID = queue.poll().ownerID();
+                if (knownOwners.contains(ownerID)) batch.add(ownerID);
+            }
+            ownersChecked += batch.size();
         }
 
-        // Run the pretask asynchronously to avoid blocking Folia region/global threads with disk I/O
-        SchedulerUtil.runAsyncNow(GriefPrevention.instance, new CleanupUnusedClaimPreTask(claimOwnerIterator.next()));
+        if (batch.isEmpty()) return;
+
+        // Run the pretasks on the I/O executor to avoid blocking Folia region/global threads with disk I/O
+        GriefPrevention.instance.ioExecutor.execute(IOExecutor.Category.CLAIM_EXPIRY, () -> checkOwners(batch));
+
+        Progress progress = getProgress();
+        GriefPrevention.AddLogEntry("Checked " + batch.size() + " claim owners for inactivity, " + progress.due()
+                + " more are due and " + progress.queued() + " are queued (" + progress.checked() + " checked so far).",
+                CustomLogEntryTypes.Debug, true);
     }
 
-    public void refreshUUIDs()
+    private void checkOwners(List<UUID> owners)
     {
-        // Fetch owner UUIDs from list of claims
-        claimOwnerUUIDs = GriefPrevention.instance.dataStore.claims.stream().map(claim -> claim.ownerID)
-                .distinct().filter(Objects::nonNull).collect(Collectors.toList());
+        for (UUID ownerID : owners)
+        {
+            try
+            {
+                new CleanupUnusedClaimPreTask(ownerID, this).run();
+            }
+            catch (Exception e)
+            {
+                GriefPrevention.AddLogEntry("Problem checking claims of " + ownerID + " for inactivity:");
+                e.printStackTrace();
+                requeue(ownerID, System.currentTimeMillis() + RECHECK_MILLIS);
+            }
+        }
+    }
 
-        if (!claimOwnerUUIDs.isEmpty())
+    //queue owners of claims which aren't known yet, reading when they last played off the main thread
+    private void queueNewOwners()
+    {
+        DataStore dataStore = GriefPrevention.instance.dataStore;
+        long revision = dataStore.getClaimRevision();
+        List<UUID> newOwners = new ArrayList<>();
+        synchronized (this)
         {
-            // Randomize order
-            Collections.shuffle(claimOwnerUUIDs);
+            if (loading || revision == ownersRevision) return;
+
+            for (Claim claim : dataStore.claims)
+            {
+                if (claim.ownerID != null && knownOwners.add(claim.ownerID))
+                    newOwners.add(claim.ownerID);
+            }
+            ownersRevision = revision;
+            if (newOwners.isEmpty()) return;
+            loading = true;
         }
 
-        GriefPrevention.AddLogEntry("The following UUIDs own a claim and will be checked for inactivity in the following order:", CustomLogEntryTypes.Debug, true);
+        GriefPrevention.instance.ioExecutor.execute(IOExecutor.Category.CLAIM_EXPIRY, () ->
+        {
+            List<QueuedOwner> loaded = new ArrayList<>(newOwners.size());
+            long now = System.currentTimeMillis();
+            try
+            {
+                for (UUID ownerID : newOwners)
+                {
+                    long lastPlayed = Bukkit.getServer().getOfflinePlayer(ownerID).getLastPlayed();
+                    //owners without a known last login are checked right away, which decides when to check again
+                    loaded.add(new QueuedOwner(ownerID, lastPlayed > 0 ? firstDueAt(lastPlayed) : now));
+                }
+            }
+            finally
+            {
+                synchronized (this)
+                {
+                    queue.addAll(loaded);
+                    ownersLoaded += loaded.size();
+                    //owners which failed to load are picked up again on the next scan
+                    for (int i = loaded.size(); i < newOwners.size(); i++)
+                    {
+                        knownOwners.remove(newOwners.get(i));
+                    }
+                    if (loaded.size() < newOwners.size()) ownersRevision = -1;
+                    loading = false;
+                }
+            }
+        });
+    }
 
-        for (UUID uuid : claimOwnerUUIDs)
-            GriefPrevention.AddLogEntry(uuid.toString(), CustomLogEntryTypes.Debug, true);
+    /**
+     * Queue an owner to be checked again after being checked.
+     *
+     * @param ownerID the owner's UUID
+     * @param dueAt when to check the owner again, in milliseconds since the epoch
+     */
+    synchronized void requeue(UUID ownerID, long dueAt)
+    {
+        if (knownOwners.contains(ownerID))
+            queue.add(new QueuedOwner(ownerID, dueAt));
+    }
 
-        claimOwnerIterator = claimOwnerUUIDs.iterator();
+    /**
+     * Stop tracking an owner without claims. The owner is queued again if they make a new claim.
+     *
+     * @param ownerID the owner's UUID
+     */
+    synchronized void forget(UUID ownerID)
+    {
+        knownOwners.remove(ownerID);
+    }
+
+    /**
+     * Get the time at which claims of a newly queued owner may first expire.
+     *
+     * @param lastPlayed when the owner last played, in milliseconds since the epoch
+     * @return when the owner should be checked, which may already have passed
+     */
+    static long firstDueAt(long lastPlayed)
+    {
+        long expiryMillis = expiryMillis();
+        return expiryMillis < 0 ? lastPlayed + RECHECK_MILLIS : lastPlayed + expiryMillis;
     }
+
+    /**
+     * Get the time at which claims of an owner may expire next after being checked.
+     *
+     * @param lastPlayed when the owner last played, in milliseconds since the epoch
+     * @param now the current time, in milliseconds since the epoch
+     * @return when the owner should be checked
+     */
+    static long dueAfter(long lastPlayed, long now)
+    {
+        return dueAfter(lastPlayed, now, GriefPrevention.instance.config_claims_chestClaimExpirationDays,
+                GriefPrevention.instance.config_claims_expirationDays);
+    }
+
+    /**
+     * Get the next expiry threshold still ahead for an owner.
+     *
+     * @param lastPlayed when the owner last played, in milliseconds since the epoch
+     * @param now the current time, in milliseconds since the epoch
+     * @param expiryDays the configured expiries in days, where values of zero or less are disabled
+     * @return when the owner should be checked
+     */
+    static long dueAfter(long lastPlayed, long now, int... expiryDays)
+    {
+        //the chest claim expiry only applies to some owners, so owners passing it are checked again at the next one
+        long dueAt = Long.MAX_VALUE;
+        for (int days : expiryDays)
+        {
+            if (days <= 0) continue;
+            long threshold = lastPlayed + TimeUnit.DAYS.toMillis(days);
+            if (threshold > now) dueAt = Math.min(dueAt, threshold);
+        }
+        //every expiry passed but the claims did not expire, e.g. because the owner is exempt
+        return dueAt == Long.MAX_VALUE ? now + RECHECK_MILLIS : dueAt;
+    }
+
+    //the shortest configured inactivity after which claims may expire, or -1 if claims never expire
+    private static long expiryMillis()
+    {
+        int chestDays = GriefPrevention.instance.config_claims_chestClaimExpirationDays;
+        int allDays = GriefPrevention.instance.config_claims_expirationDays;
+        int days;
+        if (chestDays > 0 && allDays > 0) days = Math.min(chestDays, allDays);
+        else days = Math.max(chestDays, allDays);
+        return days > 0 ? TimeUnit.DAYS.toMillis(days) : -1;
+    }
+
+    /**
+     * Get the progress of claim expiration.
+     *
+     * @return a snapshot of the progress
+     */
+    synchronized Progress getProgress()
+    {
+        long now = System.currentTimeMillis();
+        int due = 0;
+        for (QueuedOwner owner : queue)
+        {
+            if (owner.dueAt() <= now) due++;
+        }
+        return new Progress(queue.size(), due, ownersLoaded, ownersChecked);
+    }
+
+    /**
+     * A snapshot of the progress of claim expiration.
+     *
+     * @param queued the number of owners waiting to be checked
+     * @param due the number of queued owners whose claims may have expired
+     * @param loaded the total number of owners queued after reading when they last played
+     * @param checked the total number of owners checked for expired claims
+     */
+    record Progress(int queued, int due, long loaded, long checked) {}
+
+    private record QueuedOwner(UUID ownerID, long dueAt) {}
 }
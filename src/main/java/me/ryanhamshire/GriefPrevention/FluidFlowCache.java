@@ -0,0 +1,169 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A thread-confined cache of fluid flow decisions.
+ *
+ * <p>Chunks are classified once per claim revision. A chunk is uniform when every block in it resolves to the
+ * same claim or to the wilderness, meaning no claim edge, subdivision or 3D subdivision lies within it. Flow
+ * between two uniform chunks is decided once per chunk pair and never needs a claim lookup. Chunks containing
+ * a claim edge fall back to regular lookups using the last resolved claims as hints.
+ *
+ * <p>Each thread owns its own instance, so Folia region threads never share state.
+ */
+final class FluidFlowCache {
+
+    private static final ThreadLocal<FluidFlowCache> CACHES = ThreadLocal.withInitial(FluidFlowCache::new);
+    // upper bound on classified chunks per thread before the cache starts over
+    private static final int MAX_CHUNKS = 4096;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+
+    /** Shared marker for chunks containing a claim edge. */
+    private static final ChunkState MIXED = new ChunkState(null);
+
+    private final Map<UUID, Map<Long, ChunkState>> worldChunks = new HashMap<>();
+    private long revision = -1;
+    private int size = 0;
+
+    // last claims resolved in chunks containing claim edges, used as lookup hints
+    @Nullable Claim lastFromClaim;
+    @Nullable Claim lastToClaim;
+
+    private FluidFlowCache() {}
+
+    /**
+     * Get the cache for the current thread, discarding its contents if claims changed since it was last used.
+     *
+     * @param dataStore the data store
+     * @return the cache for the current thread
+     */
+    static @NotNull FluidFlowCache get(@NotNull DataStore dataStore) {
+        FluidFlowCache cache = CACHES.get();
+        long currentRevision = dataStore.getClaimRevision();
+        if (cache.revision != currentRevision) {
+            cache.clear();
+            cache.revision = currentRevision;
+        }
+        return cache;
+    }
+
+    private void clear() {
+        this.worldChunks.clear();
+        this.size = 0;
+        this.lastFromClaim = null;
+        this.lastToClaim = null;
+    }
+
+    /**
+     * Get a cached decision for a flow between two chunks, computing it if both chunks are uniform.
+     *
+     * @param dataStore          the data store
+     * @param world              the world the flow occurs in
+     * @param fromChunkX         the source chunk X coordinate
+     * @param fromChunkZ         the source chunk Z coordinate
+     * @param toChunkX           the destination chunk X coordinate
+     * @param toChunkZ           the destination chunk Z coordinate
+     * @param creativeRulesApply whether creative rules apply in the world
+     * @param decider            the decision function for a claim pair
+     * @return the decision, or null if either chunk contains a claim edge and blocks must be checked individually
+     */
+    @Nullable Boolean getDecision(
+            @NotNull DataStore dataStore,
+            @NotNull World world,
+            int fromChunkX,
+            int fromChunkZ,
+            int toChunkX,
+            int toChunkZ,
+            boolean creativeRulesApply,
+            @NotNull FlowDecider decider) {
+        Map<Long, ChunkState> chunks = this.worldChunks.computeIfAbsent(world.getUID(), uid -> new HashMap<>());
+        ChunkState from = getChunkState(dataStore, chunks, world, fromChunkX, fromChunkZ);
+        if (from == MIXED)
+            return null;
+        ChunkState to = getChunkState(dataStore, chunks, world, toChunkX, toChunkZ);
+        if (to == MIXED)
+            return null;
+
+        int slot = decisionSlot(toChunkX - fromChunkX, toChunkZ - fromChunkZ, creativeRulesApply);
+        if (slot >= 0 && from.decisions[slot] != UNKNOWN)
+            return from.decisions[slot] == ALLOWED;
+
+        boolean allowed = decider.isFluidFlowAllowed(from.claim, to.claim, creativeRulesApply);
+        if (slot >= 0)
+            from.decisions[slot] = allowed ? ALLOWED : DENIED;
+        return allowed;
+    }
+
+    private @NotNull ChunkState getChunkState(
+            @NotNull DataStore dataStore,
+            @NotNull Map<Long, ChunkState> chunks,
+            @NotNull World world,
+            int chunkX,
+            int chunkZ) {
+        Long key = DataStore.getChunkHash(chunkX, chunkZ);
+        ChunkState state = chunks.get(key);
+        if (state != null)
+            return state;
+
+        if (this.size >= MAX_CHUNKS) {
+            this.worldChunks.values().forEach(Map::clear);
+            this.size = 0;
+        }
+
+        state = classify(dataStore, world, chunkX, chunkZ);
+        chunks.put(key, state);
+        this.size++;
+        return state;
+    }
+
+    private static @NotNull ChunkState classify(@NotNull DataStore dataStore, @NotNull World world, int chunkX,
+            int chunkZ) {
+        ChunkClaimResolver.ChunkClaim chunkClaim = ChunkClaimResolver.classify(dataStore, world, chunkX, chunkZ);
+        return chunkClaim.uniform() ? new ChunkState(chunkClaim.claim()) : MIXED;
+    }
+
+    // Fluids only ever flow into the same or an adjacent chunk. Anything else (i.e. dragon eggs) is not cached.
+    private static int decisionSlot(int chunkDX, int chunkDZ, boolean creativeRulesApply) {
+        int direction;
+        if (chunkDX == 0 && chunkDZ == 0)
+            direction = 0;
+        else if (chunkDZ == 0 && chunkDX == 1)
+            direction = 1;
+        else if (chunkDZ == 0 && chunkDX == -1)
+            direction = 2;
+        else if (chunkDX == 0 && chunkDZ == 1)
+            direction = 3;
+        else if (chunkDX == 0 && chunkDZ == -1)
+            direction = 4;
+        else
+            return -1;
+
+        return direction * 2 + (creativeRulesApply ? 1 : 0);
+    }
+
+    @FunctionalInterface
+    interface FlowDecider {
+        boolean isFluidFlowAllowed(@Nullable Claim from, @Nullable Claim to, boolean creativeRulesApply);
+    }
+
+    private static final class ChunkState {
+        private final @Nullable Claim claim;
+        // decisions towards the chunk itself and each horizontal neighbour, with and without creative rules
+        private final byte[] decisions = new byte[10];
+
+        private ChunkState(@Nullable Claim claim) {
+            this.claim = claim;
+        }
+    }
+
+}
@@ -24,6 +24,7 @@ import com.google.common.cache.CacheBuilder;
 import com.griefprevention.commands.CommandAliasConfiguration;
 import com.griefprevention.commands.TabCompletions;
 import com.griefprevention.protection.ProtectionHelper;
+import com.griefprevention.visualization.impl.GlowingVisualization;
 import me.ryanhamshire.GriefPrevention.DataStore.NoTransferException;
 import me.ryanhamshire.GriefPrevention.events.SaveTrappedPlayerEvent;
 import me.ryanhamshire.GriefPrevention.events.TrustChangedEvent;
@@ -66,6 +67,7 @@ import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -86,6 +88,7 @@ import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import me.ryanhamshire.GriefPrevention.util.IOExecutor;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 import me.ryanhamshire.GriefPrevention.util.TaskHandle;
 
@@ -106,11 +109,17 @@ public class GriefPrevention extends JavaPlugin {
     EntityDamageHandler entityDamageHandler;
 
     // this tracks item stacks expected to drop which will need protection
-    ArrayList<PendingItemProtection> pendingItemWatchList = new ArrayList<>();
+    final PendingItemWatchList pendingItemWatchList = new PendingItemWatchList();
 
     // log entry manager for GP's custom log files
     CustomLogger customLogger;
 
+    // the scan for claims of inactive players, whose progress is shown to administrators
+    private FindUnusedClaimsTask findUnusedClaimsTask;
+
+    // runs blocking I/O off the server's threads
+    public IOExecutor ioExecutor;
+
     // Player event handler
     PlayerEventHandler playerEventHandler;
     // configuration variables, loaded/saved from a config.yml
@@ -149,6 +158,10 @@ public class GriefPrevention extends JavaPlugin {
                                                     // abandoned
     public int config_claims_blocksAccruedPerHour_default; // how many additional blocks players get each hour of play
                                                            // (can be zero) without any special permissions
+    public int config_claims_accrualBatchSize; // how many players receive accrued claim blocks in the same task, zero
+                                               // for a task per player
+    public boolean config_claims_aggregateAccrualEvents; // whether to call one event per batch of accruals instead of
+                                                         // one per player
     public int config_claims_maxAccruedBlocks_default; // the limit on accrued blocks (over time) for players without
                                                        // any special permissions. doesn't limit purchased or
                                                        // admin-gifted blocks
@@ -250,6 +263,7 @@ public class GriefPrevention extends JavaPlugin {
 
     public boolean config_visualizationAntiCheatCompat; // whether to engage compatibility mode for anti-cheat plugins
     public boolean config_visualizationGlow; // whether to add glow effect to visualization outlines
+    public int config_visualizationElementsPerTick; // how many visualization elements may be sent to a player per tick
     public boolean config_smartBan; // whether to be smart about banning players (check for new players with the
                                     // same ip)
 
@@ -280,8 +294,18 @@ public class GriefPrevention extends JavaPlugin {
                                                                  // into negative amounts)
     public int config_advanced_claim_expiration_check_rate; // How often GP should check for expired claims, amount in
                                                             // seconds
+    public int config_advanced_claim_expiration_batch_size; // How many claim owners whose claims may have expired
+                                                            // are checked each time GP checks for expired claims
     public int config_advanced_offlineplayer_cache_days; // Cache players who have logged in within the last x number of
                                                          // days
+    public boolean config_advanced_shardClaimIndex; // whether to shard the claim index by region, so region threads
+                                                    // look up claims without contending on a single lock
+    public int config_advanced_claimIndexShardExponent; // size of a claim index shard in chunks, as a power of two
+    public String config_advanced_uuidLookupEndpoint; // bulk profile endpoint used to convert names to UUIDs
+    public int config_advanced_uuidLookupBatchSize; // how many names are sent in one UUID lookup request
+    public int config_advanced_uuidLookupMaxInFlight; // how many UUID lookup requests may await a response at once
+    public double config_advanced_uuidLookupRequestsPerSecond; // how many UUID lookup requests are sent per second
+    public int config_advanced_uuidLookupMaxAttempts; // how many times a failed UUID lookup request is sent
 
     public boolean config_webmc_protectworldspawn; // whether 0, 64, 0 in "world" should be protected by a claim
     public HashMap<String, Integer> config_webmc_claims_minYOverride; // per-world override for minimum Y coordinate
@@ -311,7 +335,7 @@ public class GriefPrevention extends JavaPlugin {
     private static final long ERROR_MESSAGE_COOLDOWN_MS = 10000; // 10 seconds
 
     // adds a server log entry
-    public static synchronized void AddLogEntry(String entry, CustomLogEntryTypes customLogType,
+    public static void AddLogEntry(String entry, CustomLogEntryTypes customLogType,
             boolean excludeFromServerLogs) {
         if (customLogType != null && GriefPrevention.instance.customLogger != null) {
             GriefPrevention.instance.customLogger.AddEntry(entry, customLogType);
@@ -320,11 +344,11 @@ public class GriefPrevention extends JavaPlugin {
             Bukkit.getLogger().info(entry);
     }
 
-    public static synchronized void AddLogEntry(String entry, CustomLogEntryTypes customLogType) {
+    public static void AddLogEntry(String entry, CustomLogEntryTypes customLogType) {
         AddLogEntry(entry, customLogType, false);
     }
 
-    public static synchronized void AddLogEntry(String entry) {
+    public static void AddLogEntry(String entry) {
         AddLogEntry(entry, CustomLogEntryTypes.Debug);
     }
 
@@ -332,6 +356,7 @@ public class GriefPrevention extends JavaPlugin {
     public void onEnable() {
         instance = this;
         log = instance.getLogger();
+        this.ioExecutor = new IOExecutor(log);
 
         this.loadConfig();
         this.loadCommandAliases();
@@ -407,8 +432,9 @@ public class GriefPrevention extends JavaPlugin {
         }
 
         // start recurring cleanup scan for unused claims belonging to inactive players
-        FindUnusedClaimsTask task2 = new FindUnusedClaimsTask();
-        SchedulerUtil.runRepeatingGlobal(this, task2, 20L * 60, 20L * config_advanced_claim_expiration_check_rate);
+        this.findUnusedClaimsTask = new FindUnusedClaimsTask();
+        SchedulerUtil.runRepeatingGlobal(this, this.findUnusedClaimsTask, 20L * 60,
+                20L * config_advanced_claim_expiration_check_rate);
 
         // register for events
         PluginManager pluginManager = this.getServer().getPluginManager();
@@ -444,17 +470,15 @@ public class GriefPrevention extends JavaPlugin {
 
         // cache offline players
         OfflinePlayer[] offlinePlayers = this.getServer().getOfflinePlayers();
-        CacheOfflinePlayerNamesThread namesThread = new CacheOfflinePlayerNamesThread(offlinePlayers,
-                this.playerNameToIDMap);
-        namesThread.setPriority(Thread.MIN_PRIORITY);
-        namesThread.start();
+        this.ioExecutor.execute(IOExecutor.Category.PLAYER_NAMES,
+                new CacheOfflinePlayerNamesTask(offlinePlayers, this.playerNameToIDMap));
 
         // load ignore lists for any already-online players
         @SuppressWarnings("unchecked")
         Collection<Player> players = (Collection<Player>) GriefPrevention.instance.getServer().getOnlinePlayers();
         for (Player player : players) {
-            new IgnoreLoaderThread(player.getUniqueId(),
-                    this.dataStore.getPlayerData(player.getUniqueId()).ignoredPlayers).start();
+            this.ioExecutor.execute(IOExecutor.Category.IGNORE_LIST, new IgnoreLoaderTask(player.getUniqueId(),
+                    this.dataStore.getPlayerData(player.getUniqueId()).ignoredPlayers));
         }
 
         setUpCommands();
@@ -764,6 +788,9 @@ public class GriefPrevention extends JavaPlugin {
         this.config_claims_blocksAccruedPerHour_default = config.getInt(
                 "GriefPrevention.Claims.Claim Blocks Accrued Per Hour.Default",
                 config_claims_blocksAccruedPerHour_default);
+        this.config_claims_accrualBatchSize = config.getInt("GriefPrevention.Claims.AccrualBatchSize", 100);
+        this.config_claims_aggregateAccrualEvents = config.getBoolean("GriefPrevention.Claims.AggregateAccrualEvents",
+                false);
         this.config_claims_maxAccruedBlocks_default = config.getInt("GriefPrevention.Claims.MaxAccruedBlocks", 80000);
         this.config_claims_maxAccruedBlocks_default = config.getInt(
                 "GriefPrevention.Claims.Max Accrued Claim Blocks.Default", this.config_claims_maxAccruedBlocks_default);
@@ -905,6 +932,7 @@ public class GriefPrevention extends JavaPlugin {
         this.config_visualizationAntiCheatCompat = config.getBoolean("GriefPrevention.VisualizationAntiCheatCompatMode",
                 false);
         this.config_visualizationGlow = config.getBoolean("GriefPrevention.VisualizationGlow", false);
+        this.config_visualizationElementsPerTick = config.getInt("GriefPrevention.VisualizationElementsPerTick", 500);
         this.config_smartBan = config.getBoolean("GriefPrevention.SmartBan", true);
         this.config_trollFilterEnabled = config.getBoolean("GriefPrevention.Mute New Players Using Banned Words", true);
         this.config_ipLimit = config.getInt("GriefPrevention.MaxPlayersPerIpAddress", 3);
@@ -972,8 +1000,24 @@ public class GriefPrevention extends JavaPlugin {
                 .getBoolean("GriefPrevention.Advanced.fixNegativeClaimblockAmounts", true);
         this.config_advanced_claim_expiration_check_rate = config
                 .getInt("GriefPrevention.Advanced.ClaimExpirationCheckRate", 60);
+        this.config_advanced_claim_expiration_batch_size = config
+                .getInt("GriefPrevention.Advanced.ClaimExpirationBatchSize", 50);
         this.config_advanced_offlineplayer_cache_days = config
                 .getInt("GriefPrevention.Advanced.OfflinePlayer_cache_days", 90);
+        this.config_advanced_shardClaimIndex = config
+                .getBoolean("GriefPrevention.Advanced.ShardClaimIndexByRegion", false);
+        this.config_advanced_claimIndexShardExponent = config
+                .getInt("GriefPrevention.Advanced.ClaimIndexShardExponent", 4);
+        this.config_advanced_uuidLookupEndpoint = config
+                .getString("GriefPrevention.Advanced.UUIDLookup.Endpoint", UUIDResolver.DEFAULT_ENDPOINT.toString());
+        this.config_advanced_uuidLookupBatchSize = config
+                .getInt("GriefPrevention.Advanced.UUIDLookup.BatchSize", 10);
+        this.config_advanced_uuidLookupMaxInFlight = config
+                .getInt("GriefPrevention.Advanced.UUIDLookup.MaxRequestsInFlight", 4);
+        this.config_advanced_uuidLookupRequestsPerSecond = config
+                .getDouble("GriefPrevention.Advanced.UUIDLookup.RequestsPerSecond", 5);
+        this.config_advanced_uuidLookupMaxAttempts = config
+                .getInt("GriefPrevention.Advanced.UUIDLookup.MaxAttempts", 5);
 
         // webmc custom settings
         this.config_webmc_protectworldspawn = config.getBoolean("GriefPrevention.WebMC.ProtectWorldSpawn", true);
@@ -1015,6 +1059,8 @@ public class GriefPrevention extends JavaPlugin {
         outConfig.set("GriefPrevention.Claims.InitialBlocks", this.config_claims_initialBlocks);
         outConfig.set("GriefPrevention.Claims.Claim Blocks Accrued Per Hour.Default",
                 this.config_claims_blocksAccruedPerHour_default);
+        outConfig.set("GriefPrevention.Claims.AccrualBatchSize", this.config_claims_accrualBatchSize);
+        outConfig.set("GriefPrevention.Claims.AggregateAccrualEvents", this.config_claims_aggregateAccrualEvents);
         outConfig.set("GriefPrevention.Claims.Max Accrued Claim Blocks.Default",
                 this.config_claims_maxAccruedBlocks_default);
         outConfig.set("GriefPrevention.Claims.AbandonReturnRatio", this.config_claims_abandonReturnRatio);
@@ -1116,6 +1162,7 @@ public class GriefPrevention extends JavaPlugin {
 
         outConfig.set("GriefPrevention.VisualizationAntiCheatCompatMode", this.config_visualizationAntiCheatCompat);
         outConfig.set("GriefPrevention.VisualizationGlow", this.config_visualizationGlow);
+        outConfig.set("GriefPrevention.VisualizationElementsPerTick", this.config_visualizationElementsPerTick);
         outConfig.set("GriefPrevention.SmartBan", this.config_smartBan);
         outConfig.set("GriefPrevention.Mute New Players Using Banned Words", this.config_trollFilterEnabled);
         outConfig.set("GriefPrevention.MaxPlayersPerIpAddress", this.config_ipLimit);
@@ -1135,8 +1182,24 @@ public class GriefPrevention extends JavaPlugin {
                 this.config_advanced_fixNegativeClaimblockAmounts);
         outConfig.set("GriefPrevention.Advanced.ClaimExpirationCheckRate",
                 this.config_advanced_claim_expiration_check_rate);
+        outConfig.set("GriefPrevention.Advanced.ClaimExpirationBatchSize",
+                this.config_advanced_claim_expiration_batch_size);
         outConfig.set("GriefPrevention.Advanced.OfflinePlayer_cache_days",
                 this.config_advanced_offlineplayer_cache_days);
+        outConfig.set("GriefPrevention.Advanced.ShardClaimIndexByRegion",
+                this.config_advanced_shardClaimIndex);
+        outConfig.set("GriefPrevention.Advanced.ClaimIndexShardExponent",
+                this.config_advanced_claimIndexShardExponent);
+        outConfig.set("GriefPrevention.Advanced.UUIDLookup.Endpoint",
+                this.config_advanced_uuidLookupEndpoint);
+        outConfig.set("GriefPrevention.Advanced.UUIDLookup.BatchSize",
+                this.config_advanced_uuidLookupBatchSize);
+        outConfig.set("GriefPrevention.Advanced.UUIDLookup.MaxRequestsInFlight",
+                this.config_advanced_uuidLookupMaxInFlight);
+        outConfig.set("GriefPrevention.Advanced.UUIDLookup.RequestsPerSecond",
+                this.config_advanced_uuidLookupRequestsPerSecond);
+        outConfig.set("GriefPrevention.Advanced.UUIDLookup.MaxAttempts",
+                this.config_advanced_uuidLookupMaxAttempts);
 
         // webmc custom settings
         outConfig.set("GriefPrevention.WebMC.ProtectWorldSpawn",
@@ -3042,12 +3105,12 @@ public class GriefPrevention extends JavaPlugin {
     // helper method to resolve a player by name
     public static ConcurrentHashMap<String, UUID> playerNameToIDMap = new ConcurrentHashMap<>();
 
-    // thread to build the above cache
-    private class CacheOfflinePlayerNamesThread extends Thread {
+    // task to build the above cache
+    private class CacheOfflinePlayerNamesTask implements Runnable {
         private final OfflinePlayer[] offlinePlayers;
         private final ConcurrentHashMap<String, UUID> playerNameToIDMap;
 
-        CacheOfflinePlayerNamesThread(OfflinePlayer[] offlinePlayers,
+        CacheOfflinePlayerNamesTask(OfflinePlayer[] offlinePlayers,
                 ConcurrentHashMap<String, UUID> playerNameToIDMap) {
             this.offlinePlayers = offlinePlayers;
             this.playerNameToIDMap = playerNameToIDMap;
@@ -3080,6 +3143,20 @@ public class GriefPrevention extends JavaPlugin {
         }
     }
 
+    /**
+     * Describe the progress of the scan for claims of inactive players.
+     *
+     * @return the description
+     */
+    public @NotNull String getClaimExpiryProgress() {
+        if (this.findUnusedClaimsTask == null)
+            return "not running";
+
+        FindUnusedClaimsTask.Progress progress = this.findUnusedClaimsTask.getProgress();
+        return progress.queued() + " owners queued, " + progress.due() + " due now, " + progress.checked()
+                + " checked and " + progress.loaded() + " loaded since startup";
+    }
+
     public OfflinePlayer resolvePlayerByName(String name) {
         // try online players first
         Player targetPlayer = this.getServer().getPlayerExact(name);
@@ -3252,10 +3329,21 @@ public class GriefPrevention extends JavaPlugin {
             this.dataStore.savePlayerDataSync(playerID, playerData);
         }
 
+        // finish pending I/O, i.e. player data saves, before closing the data store
+        if (!this.ioExecutor.shutdown(Duration.ofSeconds(10))) {
+            AddLogEntry("Timed out waiting for pending I/O to finish, some player data may not have been saved.");
+        }
+        for (IOExecutor.Stats stats : this.ioExecutor.getStats()) {
+            AddLogEntry("I/O " + stats, CustomLogEntryTypes.Debug, true);
+        }
+
         this.dataStore.close();
 
+        // remove visualization displays kept for reuse
+        GlowingVisualization.discardAllDisplays();
+
         // dump any remaining unwritten log entries
-        this.customLogger.WriteEntries();
+        this.customLogger.close();
 
         Bukkit.getLogger().info("GriefPrevention disabled.");
     }
@@ -3461,10 +3549,15 @@ public class GriefPrevention extends JavaPlugin {
 
     // determines whether creative anti-grief rules apply at a location
     public boolean creativeRulesApply(@NotNull Location location) {
+        return this.creativeRulesApply(location.getWorld());
+    }
+
+    // determines whether creative anti-grief rules apply in a world
+    public boolean creativeRulesApply(@Nullable World world) {
         if (!this.config_creativeWorldsExist)
             return false;
 
-        return this.config_claims_worldModes.get(location.getWorld()) == ClaimsMode.Creative;
+        return this.config_claims_worldModes.get(world) == ClaimsMode.Creative;
     }
 
     /**
@@ -3583,10 +3676,20 @@ public class GriefPrevention extends JavaPlugin {
         return this.config_webmc_claims_minYOverride.getOrDefault(world.getName(), this.config_claims_minY);
     }
 
+    private static final Pattern IP_ADDRESS_PATTERN = Pattern.compile("([0-9]{1,3}\\.){3}[0-9]{1,3}");
+
     public boolean containsBlockedIP(String message) {
+        // an IP address needs at least three dots, which rules out most chat without running the pattern
+        int dots = 0;
+        for (int i = 0; i < message.length() && dots < 3; i++) {
+            if (message.charAt(i) == '.')
+                dots++;
+        }
+        if (dots < 3)
+            return false;
+
         message = message.replace("\r\n", "");
-        Pattern ipAddressPattern = Pattern.compile("([0-9]{1,3}\\.){3}[0-9]{1,3}");
-        Matcher matcher = ipAddressPattern.matcher(message);
+        Matcher matcher = IP_ADDRESS_PATTERN.matcher(message);
 
         // if it looks like an IP address
         if (matcher.find()) {
@@ -251,6 +251,7 @@ public enum Messages
     CommandNotImplementedYet("This command is not implemented yet."),
     CommandInvalidMode("Invalid mode. Valid options: 2d, 3d"),
     RestoreNatureActivate("Ready to restore nature!  Right-click on a block to restore an area.  Use /basicclaims to exit."),
+    RestoreNatureComplete("Nature restored, {0} blocks changed.", "0: number of blocks changed"),
     RestoreNatureAggressiveActivate("Aggressive restore nature mode activated.  Right-click on a block to restore an area.  Use /basicclaims to exit."),
     FillModeActive("Fill mode activated with radius {0}.  Right-click on a block to fill in an area.  Use /basicclaims to exit.", "0: fill radius"),
     EconomyDisabled("Economy features are disabled on this server."),
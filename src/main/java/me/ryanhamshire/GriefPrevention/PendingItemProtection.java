@@ -11,6 +11,8 @@ class PendingItemProtection
     public UUID owner;
     long expirationTimestamp;
     ItemStack itemStack;
+    //the watch list's timing wheel slot holding this protection
+    int wheelSlot;
 
     public PendingItemProtection(Location location, UUID owner, long expirationTimestamp, ItemStack itemStack)
     {
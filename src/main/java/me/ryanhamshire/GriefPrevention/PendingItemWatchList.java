@@ -0,0 +1,229 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks item stacks expected to drop which will need protection.
+ *
+ * <p>Pending protections are bucketed by the chunk they are expected to spawn in, so an item spawn only
+ * examines the few buckets within matching range instead of every pending protection on the server.
+ * Expired protections are removed by a hashed timing wheel advanced lazily by callers, so no scheduled task
+ * is required. All operations are safe to call from any thread.
+ */
+class PendingItemWatchList
+{
+    // spawned items may land this far away horizontally from the expected location
+    private static final int HORIZONTAL_RANGE = 5;
+    // and this far below or above it
+    private static final int RANGE_BELOW = 15;
+    private static final int RANGE_ABOVE = 3;
+
+    // timing wheel resolution and size; protections last a few seconds, so one rotation covers them
+    private static final long TICK_MILLIS = 250;
+    private static final int WHEEL_SIZE = 32;
+
+    private final Map<UUID, Map<Long, Queue<PendingItemProtection>>> buckets = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Queue<PendingItemProtection>[] wheel = new Queue[WHEEL_SIZE];
+    private final AtomicLong wheelTick;
+    private final LongSupplier clock;
+
+    PendingItemWatchList()
+    {
+        this(System::currentTimeMillis);
+    }
+
+    PendingItemWatchList(@NotNull LongSupplier clock)
+    {
+        for (int i = 0; i < WHEEL_SIZE; i++)
+        {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.clock = clock;
+        wheelTick = new AtomicLong(clock.getAsLong() / TICK_MILLIS - 1);
+    }
+
+    /**
+     * Start watching for an item stack.
+     *
+     * @param protection the pending protection
+     */
+    void add(@NotNull PendingItemProtection protection)
+    {
+        World world = protection.location.getWorld();
+        if (world == null) return;
+
+        long now = clock.getAsLong();
+        expire(now);
+
+        long key = chunkKey(protection.location.getBlockX() >> 4, protection.location.getBlockZ() >> 4);
+        buckets.computeIfAbsent(world.getUID(), uid -> new ConcurrentHashMap<>())
+                .compute(key, (k, bucket) ->
+                {
+                    if (bucket == null) bucket = new ConcurrentLinkedQueue<>();
+                    bucket.add(protection);
+                    return bucket;
+                });
+
+        // Expired protections are checked on the tick they expire. Ones expiring past a full rotation are
+        // simply re-checked every time their slot comes around.
+        long expirationTick = Math.max(protection.expirationTimestamp / TICK_MILLIS, now / TICK_MILLIS);
+        protection.wheelSlot = (int) (expirationTick % WHEEL_SIZE);
+        wheel[protection.wheelSlot].add(protection);
+    }
+
+    /**
+     * Find and remove the pending protection matching a newly spawned item.
+     *
+     * @param spawn the location the item spawned at
+     * @param stack the item stack spawned
+     * @return the matching pending protection, or null if the item is not being watched for
+     */
+    @Nullable PendingItemProtection take(@NotNull Location spawn, @NotNull ItemStack stack)
+    {
+        long now = clock.getAsLong();
+        expire(now);
+
+        World world = spawn.getWorld();
+        if (world == null) return null;
+        Map<Long, Queue<PendingItemProtection>> worldBuckets = buckets.get(world.getUID());
+        if (worldBuckets == null || worldBuckets.isEmpty()) return null;
+
+        // Only the chunks an expected location in range could be in need to be examined.
+        int minChunkX = (int) Math.floor(spawn.getX() - HORIZONTAL_RANGE) >> 4;
+        int maxChunkX = (int) Math.floor(spawn.getX() + HORIZONTAL_RANGE) >> 4;
+        int minChunkZ = (int) Math.floor(spawn.getZ() - HORIZONTAL_RANGE) >> 4;
+        int maxChunkZ = (int) Math.floor(spawn.getZ() + HORIZONTAL_RANGE) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+        {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                Queue<PendingItemProtection> bucket = worldBuckets.get(chunkKey(chunkX, chunkZ));
+                if (bucket == null) continue;
+
+                for (PendingItemProtection pendingProtection : bucket)
+                {
+                    if (pendingProtection.expirationTimestamp < now || !matches(pendingProtection, spawn, stack))
+                    {
+                        continue;
+                    }
+
+                    // Another thread may have claimed the same protection for a simultaneous spawn.
+                    if (bucket.remove(pendingProtection))
+                    {
+                        removeIfEmpty(worldBuckets, chunkKey(chunkX, chunkZ));
+                        // Don't hold on to the protection until its slot comes around.
+                        wheel[pendingProtection.wheelSlot].remove(pendingProtection);
+                        return pendingProtection;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the number of protections being watched for, including expired ones not yet removed.
+     *
+     * @return the number of pending protections
+     */
+    int size()
+    {
+        int size = 0;
+        for (Queue<PendingItemProtection> slot : wheel)
+        {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private static boolean matches(@NotNull PendingItemProtection pendingProtection, @NotNull Location spawn,
+                                   @NotNull ItemStack stack)
+    {
+        //skip if item stack doesn't match
+        if (pendingProtection.itemStack.getAmount() != stack.getAmount() ||
+                pendingProtection.itemStack.getType() != stack.getType())
+        {
+            return false;
+        }
+
+        //skip if new item location isn't near the expected spawn area
+        Location expected = pendingProtection.location;
+        return spawn.getX() >= expected.getX() - HORIZONTAL_RANGE &&
+                spawn.getX() <= expected.getX() + HORIZONTAL_RANGE &&
+                spawn.getZ() >= expected.getZ() - HORIZONTAL_RANGE &&
+                spawn.getZ() <= expected.getZ() + HORIZONTAL_RANGE &&
+                spawn.getY() >= expected.getY() - RANGE_BELOW &&
+                spawn.getY() <= expected.getY() + RANGE_ABOVE;
+    }
+
+    // Advance the timing wheel, removing expired protections from their buckets.
+    private void expire(long now)
+    {
+        // The current tick is still in progress, so only ticks before it are fully expired.
+        long dueTick = now / TICK_MILLIS - 1;
+        long lastTick = wheelTick.get();
+        if (dueTick <= lastTick || !wheelTick.compareAndSet(lastTick, dueTick)) return;
+
+        // Only visit each slot once, even if the wheel has been idle for more than a rotation.
+        long firstTick = Math.max(lastTick + 1, dueTick - WHEEL_SIZE + 1);
+        for (long tick = firstTick; tick <= dueTick; tick++)
+        {
+            Queue<PendingItemProtection> slot = wheel[(int) (tick % WHEEL_SIZE)];
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++)
+            {
+                PendingItemProtection protection = slot.poll();
+                if (protection == null) break;
+
+                if (protection.expirationTimestamp / TICK_MILLIS > dueTick)
+                {
+                    // Due in a later rotation.
+                    slot.add(protection);
+                    continue;
+                }
+
+                remove(protection);
+            }
+        }
+    }
+
+    private void remove(@NotNull PendingItemProtection protection)
+    {
+        World world = protection.location.getWorld();
+        if (world == null) return;
+        Map<Long, Queue<PendingItemProtection>> worldBuckets = buckets.get(world.getUID());
+        if (worldBuckets == null) return;
+
+        long key = chunkKey(protection.location.getBlockX() >> 4, protection.location.getBlockZ() >> 4);
+        Queue<PendingItemProtection> bucket = worldBuckets.get(key);
+        if (bucket != null && bucket.remove(protection))
+        {
+            removeIfEmpty(worldBuckets, key);
+        }
+    }
+
+    private static void removeIfEmpty(@NotNull Map<Long, Queue<PendingItemProtection>> worldBuckets, long key)
+    {
+        worldBuckets.computeIfPresent(key, (k, bucket) -> bucket.isEmpty() ? null : bucket);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ)
+    {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
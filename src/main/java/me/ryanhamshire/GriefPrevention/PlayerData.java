@@ -45,12 +45,22 @@ public class PlayerData
     //temporary holding area to avoid opening data files too early
     private int newlyAccruedClaimBlocks = 0;
 
-    //where this player was the last time we checked on him for earning claim blocks
+    //marks a player whose facing direction has not been checked yet
+    static final long NO_ROTATION = Long.MIN_VALUE;
+
+    /** @deprecated No longer updated, idle checks for earning claim blocks only compare the facing direction. */
+    @Deprecated
     public Location lastAfkCheckLocation = null;
 
+    //which way this player was facing the last time we checked on him for earning claim blocks, packed by DeliverClaimBlocksTask
+    long lastAfkCheckRotation = NO_ROTATION;
+
     //how many claim blocks the player has been gifted by admins, or purchased via economy integration
     private Integer bonusClaimBlocks = null;
 
+    //how many claim blocks the player has from permission groups, cached because checking every group's permission is costly
+    private volatile Integer groupBonusClaimBlocks = null;
+
     //what "mode" the shovel is in determines what it will do when it's used
     public ShovelMode shovelMode = ShovelMode.Basic;
 
@@ -158,7 +168,7 @@ public class PlayerData
         {
             remainingBlocks = Math.addExact(
                     Math.addExact(this.getAccruedClaimBlocks(), this.getBonusClaimBlocks()),
-                    GriefPrevention.instance.dataStore.getGroupBonusBlocks(this.playerID));
+                    this.getGroupBonusClaimBlocks());
         }
         catch (ArithmeticException e)
         {
@@ -226,6 +236,28 @@ public class PlayerData
         this.bonusClaimBlocks = bonusClaimBlocks;
     }
 
+    public int getGroupBonusClaimBlocks()
+    {
+        Integer groupBonusClaimBlocks = this.groupBonusClaimBlocks;
+        if (groupBonusClaimBlocks == null)
+        {
+            groupBonusClaimBlocks = GriefPrevention.instance.dataStore.calculateGroupBonusBlocks(this.playerID);
+            this.groupBonusClaimBlocks = groupBonusClaimBlocks;
+        }
+        return groupBonusClaimBlocks;
+    }
+
+    //recheck the player's permissions for group bonus blocks, i.e. when they join or their permissions may have changed
+    public void refreshGroupBonusClaimBlocks()
+    {
+        this.groupBonusClaimBlocks = GriefPrevention.instance.dataStore.calculateGroupBonusBlocks(this.playerID);
+    }
+
+    void invalidateGroupBonusClaimBlocks()
+    {
+        this.groupBonusClaimBlocks = null;
+    }
+
     private void loadDataFromSecondaryStorage()
     {
         //reach out to secondary storage to get any data there
@@ -301,7 +333,7 @@ public class PlayerData
             this.loadDataFromSecondaryStorage();
 
             //if total claimed area is more than total blocks available
-            int totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + GriefPrevention.instance.dataStore.getGroupBonusBlocks(this.playerID);
+            int totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + this.getGroupBonusClaimBlocks();
             if (GriefPrevention.instance.config_advanced_fixNegativeClaimblockAmounts && totalBlocks < totalClaimsArea)
             {
                 OfflinePlayer player = GriefPrevention.instance.getServer().getOfflinePlayer(this.playerID);
@@ -325,7 +357,7 @@ public class PlayerData
                 GriefPrevention.AddLogEntry("New accrued blocks: " + this.accruedClaimBlocks, CustomLogEntryTypes.Debug, true);
 
                 //Recalculate total blocks (accrued + bonus + permission group bonus)
-                totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + GriefPrevention.instance.dataStore.getGroupBonusBlocks(this.playerID);
+                totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + this.getGroupBonusClaimBlocks();
                 GriefPrevention.AddLogEntry("New total blocks: " + totalBlocks, CustomLogEntryTypes.Debug, true);
 
                 //if that didn't fix it, then make up the difference with bonus blocks
@@ -335,9 +367,9 @@ public class PlayerData
                     this.bonusClaimBlocks += bonusBlocksToAdd;
                     GriefPrevention.AddLogEntry("Accrued blocks weren't enough. Adding " + bonusBlocksToAdd + " bonus blocks.", CustomLogEntryTypes.Debug, true);
                 }
-                GriefPrevention.AddLogEntry(player.getName() + " Accrued blocks: " + this.getAccruedClaimBlocks() + " Bonus blocks: " + this.getBonusClaimBlocks() + " Group Bonus Blocks: " + GriefPrevention.instance.dataStore.getGroupBonusBlocks(this.playerID), CustomLogEntryTypes.Debug, true);
+                GriefPrevention.AddLogEntry(player.getName() + " Accrued blocks: " + this.getAccruedClaimBlocks() + " Bonus blocks: " + this.getBonusClaimBlocks() + " Group Bonus Blocks: " + this.getGroupBonusClaimBlocks(), CustomLogEntryTypes.Debug, true);
                 //Recalculate total blocks (accrued + bonus + permission group bonus)
-                totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + GriefPrevention.instance.dataStore.getGroupBonusBlocks(this.playerID);
+                totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + this.getGroupBonusClaimBlocks();
                 GriefPrevention.AddLogEntry("Total blocks: " + totalBlocks + " Total claimed area: " + totalClaimsArea, CustomLogEntryTypes.Debug, true);
                 GriefPrevention.AddLogEntry("Remaining claim blocks to use: " + this.getRemainingClaimBlocks() + " (should be 0)", CustomLogEntryTypes.Debug, true);
             }
@@ -23,6 +23,7 @@
  import com.griefprevention.util.command.MonitoredCommands;
  import com.griefprevention.visualization.BoundaryVisualization;
  import com.griefprevention.visualization.VisualizationType;
+ import com.griefprevention.visualization.impl.GlowingVisualization;
  import me.ryanhamshire.GriefPrevention.events.ClaimInspectionEvent;
  import me.ryanhamshire.GriefPrevention.util.BoundingBox;
  import org.bukkit.BanList;
@@ -62,6 +63,7 @@ import org.bukkit.Tag;
  import org.bukkit.event.player.AsyncPlayerChatEvent;
  import org.bukkit.event.player.PlayerBucketEmptyEvent;
  import org.bukkit.event.player.PlayerBucketFillEvent;
+ import org.bukkit.event.player.PlayerChangedWorldEvent;
  import org.bukkit.event.player.PlayerCommandPreprocessEvent;
  import org.bukkit.event.player.PlayerDropItemEvent;
  import org.bukkit.event.player.PlayerEggThrowEvent;
@@ -109,6 +111,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
  
+import me.ryanhamshire.GriefPrevention.util.IOExecutor;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 
 
@@ -128,11 +131,11 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
      //timestamps of login and logout notifications in the last minute
      private final ArrayList<Long> recentLoginLogoutNotifications = new ArrayList<>();
  
-     //regex pattern for the "how do i claim land?" scanner
-     private Pattern howToClaimPattern = null;
+     //regex pattern for the "how do i claim land?" scanner, lazily compiled by whichever chat thread needs it first
+     private volatile Pattern howToClaimPattern = null;
  
      //matcher for banned words
-     private WordFinder bannedWordFinder;
+     private volatile WordFinder bannedWordFinder;
     
     /**
      * Gets the banned word finder instance
@@ -189,7 +192,7 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
  
      //when a player chats, monitor for spam
      @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
-     synchronized void onPlayerChat(AsyncPlayerChatEvent event)
+     void onPlayerChat(AsyncPlayerChatEvent event)
      {
          Player player = event.getPlayer();
          if (!player.isOnline())
@@ -311,12 +314,14 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
      {
          //FEATURE: automatically educate players about claiming land
          //watching for message format how*claim*, and will send a link to the basics video
-         if (this.howToClaimPattern == null)
+         Pattern howToClaimPattern = this.howToClaimPattern;
+         if (howToClaimPattern == null)
          {
-             this.howToClaimPattern = Pattern.compile(this.dataStore.getMessage(Messages.HowToClaimRegex), Pattern.CASE_INSENSITIVE);
+             howToClaimPattern = Pattern.compile(this.dataStore.getMessage(Messages.HowToClaimRegex), Pattern.CASE_INSENSITIVE);
+             this.howToClaimPattern = howToClaimPattern;
          }
  
-         if (this.howToClaimPattern.matcher(message).matches())
+         if (howToClaimPattern.matcher(message).matches())
          {
              if (instance.creativeRulesApply(player.getLocation()))
              {
@@ -439,7 +444,7 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
  
      //when a player uses a slash command...
      @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
-     synchronized void onPlayerCommandPreprocess(PlayerCommandPreprocessEvent event)
+     void onPlayerCommandPreprocess(PlayerCommandPreprocessEvent event)
      {
          MonitorableCommand command = new MonitorableCommand(event.getMessage());
  
@@ -644,7 +649,7 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
          return CommandCategory.None;
     }
 
-     static int longestNameLength = 10;
+     static volatile int longestNameLength = 10;
  
      static void makeSocialLogEntry(String name, String message)
      {
@@ -724,6 +729,9 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
          playerData.lastSpawn = now;
          this.lastLoginThisServerSessionMap.put(playerID, nowDate);
  
+         //permissions are only known once online, so note any group bonus blocks now
+         playerData.refreshGroupBonusClaimBlocks();
+ 
          //if newish, prevent chat until he's moved a bit to prove he's not a bot
          if (GriefPrevention.isNewToServer(player) && !player.hasPermission("griefprevention.premovementchat"))
          {
@@ -855,7 +863,7 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
          }
  
          //create a thread to load ignore information
-         new IgnoreLoaderThread(playerID, playerData.ignoredPlayers).start();
+         instance.ioExecutor.execute(IOExecutor.Category.IGNORE_LIST, new IgnoreLoaderTask(playerID, playerData.ignoredPlayers));
  
          //is he stuck in a portal frame?
          if (player.hasMetadata("GP_PORTALRESCUE"))
@@ -912,6 +920,13 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
          instance.checkPvpProtectionNeeded(player);
      }
  
+     //when a player changes worlds, per-world permissions may grant different group bonus blocks
+     @EventHandler(priority = EventPriority.MONITOR)
+     void onPlayerChangedWorld(PlayerChangedWorldEvent event)
+     {
+         this.dataStore.getPlayerData(event.getPlayer().getUniqueId()).refreshGroupBonusClaimBlocks();
+     }
+ 
      //when a player dies...
      private final HashMap<UUID, Long> deathTimestamps = new HashMap<>();
  
@@ -1006,6 +1021,9 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
          //drop data about this player
          this.dataStore.clearCachedPlayerData(playerID);
  
+         //remove any visualization displays kept for this player
+         GlowingVisualization.discardDisplays(playerID);
+ 
          //send quit message later, but only if the player stays offline
          if (instance.config_spam_logoutMessageDelaySeconds > 0)
          {
@@ -3082,7 +3100,7 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
      } 
      /**
      * Handle RestoreNature shovel mode interactions.
-     * Captures block snapshots and starts async processing to restore nature.
+     * Captures the chunks in the area and starts async processing to restore nature.
      * Folia-safe using SchedulerUtil.
      */
      private void handleRestoreNature(Player player, Block clickedBlock, PlayerData playerData) {
@@ -3099,25 +3117,15 @@ import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
          int maxX = centerX + radius;
          int minZ = centerZ - radius;
          int maxZ = centerZ + radius;
-         int sizeX = maxX - minX + 1;
-         int sizeY = maxY - minY;
-         int sizeZ = maxZ - minZ + 1;
-         BlockSnapshot[][][] snapshots = new BlockSnapshot[sizeX][sizeY][sizeZ];
-         for (int x = 0; x < sizeX; x++) {
-             for (int z = 0; z < sizeZ; z++) {
-                 for (int y = 0; y < sizeY; y++) {
-                     Block block = world.getBlockAt(minX + x, minY + y, minZ + z);
-                     snapshots[x][y][z] = new BlockSnapshot(block);
-                 }
-             }
-         }
+         // Only copy the chunks here, the blocks are read from the copies on the processing thread
+         BlockVolume.Capture capture = BlockVolume.capture(world, minX, minY, minZ, maxX, maxY - 1, maxZ);
          Location lesserCorner = new Location(world, minX, minY, minZ);
          Location greaterCorner = new Location(world, maxX, maxY - 1, maxZ);
          boolean aggressiveMode = playerData.shovelMode == ShovelMode.RestoreNatureAggressive;
          org.bukkit.block.Biome biome = clickedBlock.getBiome();
          boolean creativeMode = instance.creativeRulesApply(clickedBlock.getLocation());
          RestoreNatureProcessingTask processingTask = new RestoreNatureProcessingTask(
-                 snapshots,
+                 capture,
                  minY,
                  world.getEnvironment(),
                  biome,
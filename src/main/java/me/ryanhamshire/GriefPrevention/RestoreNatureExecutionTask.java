@@ -20,6 +20,7 @@ package me.ryanhamshire.GriefPrevention;
 
 import com.griefprevention.visualization.BoundaryVisualization;
 import com.griefprevention.visualization.VisualizationType;
+import me.ryanhamshire.GriefPrevention.util.BlockChangeApplier;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -41,17 +42,36 @@ import java.util.UUID;
  */
 public class RestoreNatureExecutionTask implements Runnable {
 
-    private final BlockSnapshot[][][] snapshots;
-    private final int miny;
+    private final BlockChangeApplier applier;
     private final Location lesserCorner;
     private final Location greaterCorner;
     private final UUID playerID;
     private final boolean aggressiveMode;
+    private Claim cachedClaim = null;
 
-    public RestoreNatureExecutionTask(BlockSnapshot[][][] snapshots, int miny,
+    /**
+     * Collect the changes to apply. May be called from any thread.
+     */
+    public RestoreNatureExecutionTask(BlockVolume volume,
             Location lesserCorner, Location greaterCorner, UUID playerID, boolean aggressiveMode) {
-        this.snapshots = snapshots;
-        this.miny = miny;
+        // Note: the edge of the results is not applied (1-block-wide band around the outside)
+        // Those data were sent to the processing thread for reference purposes only
+        this.applier = new BlockChangeApplier(GriefPrevention.instance, volume.getWorld(),
+                BlockChangeApplier.DEFAULT_TICK_BUDGET_NANOS);
+        for (int x = 1; x < volume.getSizeX() - 1; x++) {
+            for (int z = 1; z < volume.getSizeZ() - 1; z++) {
+                for (int y = 0; y < volume.getSizeY(); y++) {
+                    // Only blocks changed by processing need to be applied
+                    int index = volume.index(x, y, z);
+                    if (volume.isChanged(index)) {
+                        applier.add(volume.getMinX() + x, volume.getMinY() + y, volume.getMinZ() + z,
+                                volume.getBlockData(index));
+                    }
+                }
+            }
+        }
+        applier.prepare();
+
         this.lesserCorner = lesserCorner;
         this.greaterCorner = greaterCorner;
         this.playerID = playerID;
@@ -60,51 +80,30 @@ public class RestoreNatureExecutionTask implements Runnable {
 
     @Override
     public void run() {
-        // Apply changes to the world
+        // Apply changes to the world, spread over as many ticks as needed
         // In aggressive mode, modifies all blocks (including claimed ones)
         // Otherwise, only modifies unclaimed blocks
-        // Note: the edge of the results is not applied (1-block-wide band around the outside)
-        // Those data were sent to the processing thread for reference purposes only
-        Claim cachedClaim = null;
-
-        for (int x = 1; x < snapshots.length - 1; x++) {
-            for (int z = 1; z < snapshots[0][0].length - 1; z++) {
-                for (int y = 0; y < snapshots[0].length; y++) {
-                    BlockSnapshot blockUpdate = snapshots[x][y][z];
-                    if (blockUpdate == null) continue;
-
-                    Block currentBlock = blockUpdate.location.getBlock();
-
-                    // Check if the block actually changed
-                    if (blockUpdate.material != currentBlock.getType() ||
-                            !blockUpdate.blockData.equals(currentBlock.getBlockData())) {
-
-                        // In aggressive mode, modify all blocks (including claimed ones)
-                        // Otherwise, only modify unclaimed blocks
-                        if (!aggressiveMode) {
-                            Claim claim = GriefPrevention.instance.dataStore.getClaimAt(
-                                    blockUpdate.location, false, cachedClaim);
-                            if (claim != null) {
-                                cachedClaim = claim;
-                                continue; // Skip claimed blocks
-                            }
-                        }
-
-                        try {
-                            currentBlock.setBlockData(blockUpdate.blockData, false);
-                        } catch (IllegalArgumentException e) {
-                            // Just skip this block if there's an issue
-                        }
-                    }
+        Location location = new Location(lesserCorner.getWorld(), 0, 0, 0);
+        applier.apply((block, blockData) -> {
+            // Check if the block actually changed
+            if (blockData.equals(block.getBlockData())) return false;
+
+            if (!aggressiveMode) {
+                Claim claim = GriefPrevention.instance.dataStore.getClaimAt(
+                        block.getLocation(location), false, cachedClaim);
+                if (claim != null) {
+                    cachedClaim = claim;
+                    return false; // Skip claimed blocks
                 }
             }
-        }
-
-        // Clean up entities in the affected area
-        cleanupEntities();
-
-        // Show visualization to the player who started the restoration
-        showVisualization();
+            return true;
+        }, () -> {
+            // Clean up entities in the affected area
+            cleanupEntities();
+
+            // Show visualization to the player who started the restoration
+            showVisualization();
+        });
     }
 
     private void cleanupEntities() {
@@ -185,7 +184,7 @@ public class RestoreNatureExecutionTask implements Runnable {
 
         BoundaryVisualization.visualizeClaim(player, visualClaim, VisualizationType.RESTORE_NATURE, lesserCorner.getBlock());
 
-        GriefPrevention.sendMessage(player, TextMode.Success, Messages.RestoreNatureActivate);
+        GriefPrevention.sendMessage(player, TextMode.Success, Messages.RestoreNatureComplete, String.valueOf(applier.getApplied()));
 
         // Auto-revert visualization after 5 seconds (100 ticks)
         SchedulerUtil.runLaterEntity(GriefPrevention.instance, player, () -> {
@@ -39,7 +39,7 @@ import java.util.UUID;
 public class RestoreNatureProcessingTask implements Runnable {
 
     // World information captured from the main thread
-    private final BlockSnapshot[][][] snapshots;
+    private final BlockVolume.Capture capture;
     private final int miny;
     private final Environment environment;
     private final Location lesserBoundaryCorner;
@@ -55,10 +55,10 @@ public class RestoreNatureProcessingTask implements Runnable {
     // Player-placed blocks that should be removed
     private final Set<Material> playerBlocks;
 
-    public RestoreNatureProcessingTask(BlockSnapshot[][][] snapshots, int miny, Environment environment,
+    public RestoreNatureProcessingTask(BlockVolume.Capture capture, int miny, Environment environment,
             Biome biome, Location lesserBoundaryCorner, Location greaterBoundaryCorner,
             int seaLevel, boolean aggressiveMode, boolean creativeMode, Player player) {
-        this.snapshots = snapshots;
+        this.capture = capture;
         this.miny = Math.max(0, miny);
         this.environment = environment;
         this.lesserBoundaryCorner = lesserBoundaryCorner;
@@ -127,94 +127,73 @@ public class RestoreNatureProcessingTask implements Runnable {
 
     @Override
     public void run() {
+        // Read the captured chunks into a compact volume
+        BlockVolume volume = capture.read();
+
         // Remove floating blocks (blocks that shouldn't be suspended in air)
-        removeHanging();
+        removeHanging(volume);
 
         // Remove player-placed blocks
-        removePlayerBlocks();
+        removePlayerBlocks(volume);
 
         // Remove walls/floors that separate natural areas
-        removeWalls();
+        removeWalls(volume);
 
         // Fill in empty spaces with appropriate materials
-        fillHoles();
+        fillHoles(volume);
 
         // Cover surface with grass/sand as appropriate
-        coverSurface();
+        coverSurface(volume);
 
         // Remove floating blocks again after other changes
-        removeHanging();
+        removeHanging(volume);
 
-        // Schedule the execution task at the location's region (Folia-safe)
-        SchedulerUtil.runAtLocation(GriefPrevention.instance, lesserBoundaryCorner, () -> {
-            new RestoreNatureExecutionTask(snapshots, miny, lesserBoundaryCorner, greaterBoundaryCorner, playerID, aggressiveMode).run();
-        });
+        // Collect and order the changes here, then schedule the execution task at the location's region (Folia-safe)
+        RestoreNatureExecutionTask executionTask = new RestoreNatureExecutionTask(volume, lesserBoundaryCorner, greaterBoundaryCorner, playerID, aggressiveMode);
+        SchedulerUtil.runAtLocation(GriefPrevention.instance, lesserBoundaryCorner, executionTask);
     }
 
-    private void removeHanging() {
+    private void removeHanging(BlockVolume volume) {
         // Iterate from bottom to top, removing blocks that shouldn't float
-        for (int x = 1; x < snapshots.length - 1; x++) {
-            for (int z = 1; z < snapshots[0][0].length - 1; z++) {
-                for (int y = miny + 1; y < snapshots[0].length; y++) {
-                    BlockSnapshot block = snapshots[x][y][z];
-                    BlockSnapshot blockBelow = snapshots[x][y - 1][z];
-
-                    if (block != null && blockBelow != null) {
-                        if (notAllowedToHang.contains(block.material) && blockBelow.material == Material.AIR) {
-                            block.material = Material.AIR;
-                            block.blockData = Material.AIR.createBlockData();
-                        }
+        for (int x = 1; x < volume.getSizeX() - 1; x++) {
+            for (int z = 1; z < volume.getSizeZ() - 1; z++) {
+                for (int y = miny + 1; y < volume.getSizeY(); y++) {
+                    if (notAllowedToHang.contains(volume.getMaterial(x, y, z)) && volume.getMaterial(x, y - 1, z) == Material.AIR) {
+                        volume.setMaterial(x, y, z, Material.AIR);
                     }
                 }
             }
         }
     }
 
-    private void removePlayerBlocks() {
-        for (int x = 1; x < snapshots.length - 1; x++) {
-            for (int z = 1; z < snapshots[0][0].length - 1; z++) {
-                for (int y = miny; y < snapshots[0].length; y++) {
-                    BlockSnapshot block = snapshots[x][y][z];
-                    if (block != null && playerBlocks.contains(block.material)) {
-                        block.material = Material.AIR;
-                        block.blockData = Material.AIR.createBlockData();
+    private void removePlayerBlocks(BlockVolume volume) {
+        for (int x = 1; x < volume.getSizeX() - 1; x++) {
+            for (int z = 1; z < volume.getSizeZ() - 1; z++) {
+                for (int y = miny; y < volume.getSizeY(); y++) {
+                    if (playerBlocks.contains(volume.getMaterial(x, y, z))) {
+                        volume.setMaterial(x, y, z, Material.AIR);
                     }
                 }
             }
         }
     }
 
-    private void removeWalls() {
+    private void removeWalls(BlockVolume volume) {
         // Remove thin walls of stone/dirt that players may have used to grief
-        for (int x = 1; x < snapshots.length - 1; x++) {
-            for (int z = 1; z < snapshots[0][0].length - 1; z++) {
-                for (int y = miny; y < snapshots[0].length - 1; y++) {
-                    BlockSnapshot block = snapshots[x][y][z];
-                    if (block == null) continue;
-
+        for (int x = 1; x < volume.getSizeX() - 1; x++) {
+            for (int z = 1; z < volume.getSizeZ() - 1; z++) {
+                for (int y = miny; y < volume.getSizeY() - 1; y++) {
                     // Check for thin walls (solid block with air on opposite sides)
-                    if (block.material.isSolid()) {
+                    if (volume.getMaterial(x, y, z).isSolid()) {
                         // Check X-axis walls
-                        if (x > 0 && x < snapshots.length - 1) {
-                            BlockSnapshot left = snapshots[x - 1][y][z];
-                            BlockSnapshot right = snapshots[x + 1][y][z];
-                            if (left != null && right != null &&
-                                    left.material == Material.AIR && right.material == Material.AIR) {
-                                block.material = Material.AIR;
-                                block.blockData = Material.AIR.createBlockData();
-                                continue;
-                            }
+                        if (volume.getMaterial(x - 1, y, z) == Material.AIR && volume.getMaterial(x + 1, y, z) == Material.AIR) {
+                            volume.setMaterial(x, y, z, Material.AIR);
+                            continue;
                         }
 
                         // Check Z-axis walls
-                        if (z > 0 && z < snapshots[0][0].length - 1) {
-                            BlockSnapshot front = snapshots[x][y][z - 1];
-                            BlockSnapshot back = snapshots[x][y][z + 1];
-                            if (front != null && back != null &&
-                                    front.material == Material.AIR && back.material == Material.AIR) {
-                                block.material = Material.AIR;
-                                block.blockData = Material.AIR.createBlockData();
-                            }
+                        if (volume.getMaterial(x, y, z - 1) == Material.AIR && volume.getMaterial(x, y, z + 1) == Material.AIR) {
+                            volume.setMaterial(x, y, z, Material.AIR);
                         }
                     }
                 }
@@ -222,17 +201,16 @@ public class RestoreNatureProcessingTask implements Runnable {
         }
     }
 
-    private void fillHoles() {
+    private void fillHoles(BlockVolume volume) {
         Material fillMaterial = getFillMaterial();
 
-        for (int x = 1; x < snapshots.length - 1; x++) {
-            for (int z = 1; z < snapshots[0][0].length - 1; z++) {
+        for (int x = 1; x < volume.getSizeX() - 1; x++) {
+            for (int z = 1; z < volume.getSizeZ() - 1; z++) {
                 // Find surface level (highest non-air block)
                 int surfaceY = -1;
-                for (int y = snapshots[0].length - 1; y >= miny; y--) {
-                    BlockSnapshot block = snapshots[x][y][z];
-                    if (block != null && block.material != Material.AIR &&
-                            block.material != Material.WATER && !block.material.name().contains("LEAVES")) {
+                for (int y = volume.getSizeY() - 1; y >= miny; y--) {
+                    Material material = volume.getMaterial(x, y, z);
+                    if (material != Material.AIR && material != Material.WATER && !material.name().contains("LEAVES")) {
                         surfaceY = y;
                         break;
                     }
@@ -242,22 +220,20 @@ public class RestoreNatureProcessingTask implements Runnable {
 
                 // Fill holes below surface
                 for (int y = miny; y < surfaceY; y++) {
-                    BlockSnapshot block = snapshots[x][y][z];
-                    if (block != null && block.material == Material.AIR) {
+                    if (volume.getMaterial(x, y, z) == Material.AIR) {
                         // Check if surrounded by solid blocks (it's a hole)
                         int solidNeighbors = 0;
-                        if (x > 0 && snapshots[x - 1][y][z] != null && snapshots[x - 1][y][z].material.isSolid())
+                        if (volume.getMaterial(x - 1, y, z).isSolid())
                             solidNeighbors++;
-                        if (x < snapshots.length - 1 && snapshots[x + 1][y][z] != null && snapshots[x + 1][y][z].material.isSolid())
+                        if (volume.getMaterial(x + 1, y, z).isSolid())
                             solidNeighbors++;
-                        if (z > 0 && snapshots[x][y][z - 1] != null && snapshots[x][y][z - 1].material.isSolid())
+                        if (volume.getMaterial(x, y, z - 1).isSolid())
                             solidNeighbors++;
-                        if (z < snapshots[0][0].length - 1 && snapshots[x][y][z + 1] != null && snapshots[x][y][z + 1].material.isSolid())
+                        if (volume.getMaterial(x, y, z + 1).isSolid())
                             solidNeighbors++;
 
                         if (solidNeighbors >= 3) {
-                            block.material = fillMaterial;
-                            block.blockData = fillMaterial.createBlockData();
+                            volume.setMaterial(x, y, z, fillMaterial);
                         }
                     }
                 }
@@ -265,37 +241,29 @@ public class RestoreNatureProcessingTask implements Runnable {
         }
     }
 
-    private void coverSurface() {
+    private void coverSurface(BlockVolume volume) {
         Material surfaceMaterial = getSurfaceMaterial();
         Material underMaterial = getUnderSurfaceMaterial();
 
-        for (int x = 1; x < snapshots.length - 1; x++) {
-            for (int z = 1; z < snapshots[0][0].length - 1; z++) {
+        for (int x = 1; x < volume.getSizeX() - 1; x++) {
+            for (int z = 1; z < volume.getSizeZ() - 1; z++) {
                 // Find surface level
-                for (int y = snapshots[0].length - 2; y >= miny; y--) {
-                    BlockSnapshot block = snapshots[x][y][z];
-                    BlockSnapshot blockAbove = snapshots[x][y + 1][z];
-
-                    if (block != null && blockAbove != null) {
-                        // If this is a solid block with air above, it's the surface
-                        if (block.material.isSolid() && blockAbove.material == Material.AIR) {
-                            // Replace with appropriate surface material
-                            if (block.material == Material.DIRT || block.material == Material.STONE ||
-                                    block.material == Material.COBBLESTONE || block.material == Material.GRAVEL) {
-                                block.material = surfaceMaterial;
-                                block.blockData = surfaceMaterial.createBlockData();
-
-                                // Also fix the block below if needed
-                                if (y > miny) {
-                                    BlockSnapshot blockBelow = snapshots[x][y - 1][z];
-                                    if (blockBelow != null && blockBelow.material == Material.STONE) {
-                                        blockBelow.material = underMaterial;
-                                        blockBelow.blockData = underMaterial.createBlockData();
-                                    }
-                                }
+                for (int y = volume.getSizeY() - 2; y >= miny; y--) {
+                    Material material = volume.getMaterial(x, y, z);
+
+                    // If this is a solid block with air above, it's the surface
+                    if (material.isSolid() && volume.getMaterial(x, y + 1, z) == Material.AIR) {
+                        // Replace with appropriate surface material
+                        if (material == Material.DIRT || material == Material.STONE ||
+                                material == Material.COBBLESTONE || material == Material.GRAVEL) {
+                            volume.setMaterial(x, y, z, surfaceMaterial);
+
+                            // Also fix the block below if needed
+                            if (y > miny && volume.getMaterial(x, y - 1, z) == Material.STONE) {
+                                volume.setMaterial(x, y - 1, z, underMaterial);
                             }
-                            break;
                         }
+                        break;
                     }
                 }
             }
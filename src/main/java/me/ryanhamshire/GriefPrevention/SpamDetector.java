@@ -3,45 +3,53 @@ package me.ryanhamshire.GriefPrevention;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Detects chat and command spam.
+ *
+ * <p>Chat arrives on many threads at once. Per-player state lives in {@link ChatterData} and is only ever
+ * locked per player, so messages from different players are analyzed in parallel. The only state shared
+ * between players, the last chat message shown, is an immutable snapshot swapped atomically.
+ */
 class SpamDetector
 {
-    //last chat message shown and its timestamp, regardless of who sent it
-    private String lastChatMessage = "";
-    private long lastChatMessageTimestamp = 0;
-
-    //number of identical chat messages in a row
-    private int duplicateMessageCount = 0;
+    //last chat message shown and its timestamp, regardless of who sent it, plus the number of identical chat messages in a row
+    private final AtomicReference<LastChatMessage> lastChatMessage = new AtomicReference<>(new LastChatMessage("", 0, 0));
 
     //data for individual chatters
     ConcurrentHashMap<UUID, ChatterData> dataStore = new ConcurrentHashMap<>();
 
     private ChatterData getChatterData(UUID chatterID)
     {
-        ChatterData data = this.dataStore.get(chatterID);
-        if (data == null)
+        return this.dataStore.computeIfAbsent(chatterID, id -> new ChatterData());
+    }
+
+    SpamAnalysisResult AnalyzeMessage(UUID chatterID, String message, long timestamp)
+    {
+        ChatterData chatterData = this.getChatterData(chatterID);
+
+        //a single player's messages are analyzed in order, other players are not held up
+        synchronized (chatterData)
         {
-            data = new ChatterData();
-            this.dataStore.put(chatterID, data);
+            return this.analyzeMessage(chatterData, message, timestamp);
         }
-
-        return data;
     }
 
-    SpamAnalysisResult AnalyzeMessage(UUID chatterID, String message, long timestamp)
+    private SpamAnalysisResult analyzeMessage(ChatterData chatterData, String message, long timestamp)
     {
         SpamAnalysisResult result = new SpamAnalysisResult();
         result.finalMessage = message;
 
         //remedy any CAPS SPAM, exception for very short messages which could be emoticons like =D or XD
-        if (message.length() > 4 && this.stringsAreSimilar(message.toUpperCase(), message))
+        if (message.length() > 4 && stringsAreSimilar(message, Character::toUpperCase, message, IntUnaryOperator.identity()))
         {
             message = message.toLowerCase();
             result.finalMessage = message;
         }
 
         boolean spam = false;
-        ChatterData chatterData = this.getChatterData(chatterID);
 
         //mute if total volume of text from this player is too high
         if (message.length() > 50 && chatterData.getTotalRecentLength(timestamp) > 200)
@@ -52,18 +60,13 @@ class SpamDetector
         }
 
         //always mute an exact match to the last chat message
-        if (result.finalMessage.equals(this.lastChatMessage) && timestamp - this.lastChatMessageTimestamp < 2000)
+        int duplicateMessageCount = this.updateLastChatMessage(result.finalMessage, timestamp);
+        if (duplicateMessageCount > 0)
         {
-            chatterData.spamLevel += ++this.duplicateMessageCount;
+            chatterData.spamLevel += duplicateMessageCount;
             spam = true;
             result.muteReason = "repeat message";
         }
-        else
-        {
-            this.lastChatMessage = message;
-            this.lastChatMessageTimestamp = timestamp;
-            this.duplicateMessageCount = 0;
-        }
 
         //check message content and timing      
         long millisecondsSinceLastMessage = timestamp - chatterData.lastMessageTimestamp;
@@ -85,7 +88,7 @@ class SpamDetector
         }
 
         //if it's very similar to the last message from the same player and within 10 seconds of that message
-        if (result.muteReason == null && millisecondsSinceLastMessage < 10000 && this.stringsAreSimilar(message.toLowerCase(), chatterData.lastMessage.toLowerCase()))
+        if (result.muteReason == null && millisecondsSinceLastMessage < 10000 && stringsAreSimilar(message, Character::toLowerCase, chatterData.lastMessage, Character::toLowerCase))
         {
             chatterData.spamLevel++;
             spam = true;
@@ -164,53 +167,93 @@ class SpamDetector
         return result;
     }
 
+    //records a message as the last chat message shown, returning the number of identical messages in a row before it
+    private int updateLastChatMessage(String message, long timestamp)
+    {
+        while (true)
+        {
+            LastChatMessage previous = this.lastChatMessage.get();
+            LastChatMessage next;
+            if (message.equals(previous.message) && timestamp - previous.timestamp < 2000)
+            {
+                next = new LastChatMessage(previous.message, previous.timestamp, previous.duplicateCount + 1);
+            }
+            else
+            {
+                next = new LastChatMessage(message, timestamp, 0);
+            }
+
+            if (this.lastChatMessage.compareAndSet(previous, next))
+            {
+                return next.duplicateCount;
+            }
+        }
+    }
+
+    private record LastChatMessage(String message, long timestamp, int duplicateCount) {}
+
     //if two strings are 75% identical, they're too close to follow each other in the chat
-    private boolean stringsAreSimilar(String message, String lastMessage)
+    //letters are compared after applying each string's case mapping, differences in anything else are ignored
+    //the strings are walked in place rather than stripped into copies, as this runs for every chat message
+    private static boolean stringsAreSimilar(String message, IntUnaryOperator messageCase, String lastMessage, IntUnaryOperator lastMessageCase)
     {
-        //ignore differences in only punctuation and whitespace
-        message = message.replaceAll("[^\\p{Alpha}]", "");
-        lastMessage = lastMessage.replaceAll("[^\\p{Alpha}]", "");
+        int messageLength = countLetters(message);
+        int lastMessageLength = countLetters(lastMessage);
+        int shorterLength = Math.min(messageLength, lastMessageLength);
+        int longerLength = Math.max(messageLength, lastMessageLength);
 
-        //determine which is shorter
-        String shorterString, longerString;
-        if (lastMessage.length() < message.length())
+        int maxIdenticalCharacters;
+        if (shorterLength <= 5)
         {
-            shorterString = lastMessage;
-            longerString = message;
+            //short strings must match exactly
+            if (shorterLength != longerLength) return false;
+            maxIdenticalCharacters = shorterLength - 1;
         }
         else
         {
-            shorterString = message;
-            longerString = lastMessage;
-        }
-
-        if (shorterString.length() <= 5) return shorterString.equals(longerString);
-
-        //set similarity tolerance
-        int maxIdenticalCharacters = longerString.length() - longerString.length() / 4;
+            //set similarity tolerance
+            maxIdenticalCharacters = longerLength - longerLength / 4;
 
-        //trivial check on length
-        if (shorterString.length() < maxIdenticalCharacters) return false;
+            //trivial check on length
+            if (shorterLength < maxIdenticalCharacters) return false;
+        }
 
         //compare forward
         int identicalCount = 0;
-        int i;
-        for (i = 0; i < shorterString.length(); i++)
+        int messageIndex = -1;
+        int lastMessageIndex = -1;
+        for (int i = 0; i < shorterLength; i++)
         {
-            if (shorterString.charAt(i) == longerString.charAt(i)) identicalCount++;
+            messageIndex = nextLetter(message, messageIndex + 1);
+            lastMessageIndex = nextLetter(lastMessage, lastMessageIndex + 1);
+            if (messageCase.applyAsInt(message.charAt(messageIndex)) == lastMessageCase.applyAsInt(lastMessage.charAt(lastMessageIndex)))
+                identicalCount++;
             if (identicalCount > maxIdenticalCharacters) return true;
         }
 
-        //compare backward
-        int j;
-        for (j = 0; j < shorterString.length() - i; j++)
+        return identicalCount > maxIdenticalCharacters;
+    }
+
+    //equivalent of \p{Alpha}, which only matches ASCII letters
+    private static boolean isLetter(char character)
+    {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    private static int countLetters(String string)
+    {
+        int count = 0;
+        for (int i = 0; i < string.length(); i++)
         {
-            if (shorterString.charAt(shorterString.length() - j - 1) == longerString.charAt(longerString.length() - j - 1))
-                identicalCount++;
-            if (identicalCount > maxIdenticalCharacters) return true;
+            if (isLetter(string.charAt(i))) count++;
         }
+        return count;
+    }
 
-        return false;
+    private static int nextLetter(String string, int from)
+    {
+        while (!isLetter(string.charAt(from))) from++;
+        return from;
     }
 }
 
@@ -222,6 +265,7 @@ class SpamAnalysisResult
     String muteReason;
 }
 
+//per-player spam state, guarded by the instance's own monitor
 class ChatterData
 {
     public String lastMessage = "";                 //the player's last chat message, or slash command complete with parameters 
@@ -3,30 +3,19 @@
 package me.ryanhamshire.GriefPrevention;
 
 import com.google.common.base.Charsets;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import org.bukkit.OfflinePlayer;
 
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
 class UUIDFetcher
 {
-    private static int PROFILES_PER_REQUEST = 100;
-    private static final String PROFILE_URL = "https://api.mojang.com/profiles/minecraft";
-    private final Gson gson = new Gson();
     private final List<String> names;
-    private final boolean rateLimiting;
 
     //cache for username -> uuid lookups
     static HashMap<String, UUID> lookupCache;
@@ -34,15 +23,9 @@ class UUIDFetcher
     //record of username -> proper casing updates
     static HashMap<String, String> correctedNames;
 
-    public UUIDFetcher(List<String> names, boolean rateLimiting)
-    {
-        this.names = names;
-        this.rateLimiting = rateLimiting;
-    }
-
     public UUIDFetcher(List<String> names)
     {
-        this(names, true);
+        this.names = names;
     }
 
     public void call() throws Exception
@@ -116,65 +99,17 @@ class UUIDFetcher
 
             GriefPrevention.AddLogEntry("Calling Mojang to get UUIDs for remaining unresolved players (this is the slowest step)...");
 
-            for (int i = 0; i * PROFILES_PER_REQUEST < names.size(); i++)
+            //batches are sent concurrently under a rate limit, and results are cached in case conversion is interrupted
+            Map<String, UUIDResolver.Profile> profiles;
+            try (UUIDResolver resolver = UUIDResolver.fromConfig(GriefPrevention.instance))
+            {
+                profiles = resolver.resolve(names);
+            }
+            for (UUIDResolver.Profile profile : profiles.values())
             {
-                boolean retry = false;
-                JsonArray array = null;
-                do
-                {
-                    HttpURLConnection connection = createConnection();
-                    String body = gson.toJson(names.subList(i * PROFILES_PER_REQUEST, Math.min((i + 1) * PROFILES_PER_REQUEST, names.size())));
-                    writeBody(connection, body);
-                    retry = false;
-                    array = null;
-                    try
-                    {
-                        array = gson.fromJson(new InputStreamReader(connection.getInputStream()), JsonArray.class);
-                    }
-                    catch (Exception e)
-                    {
-                        //in case of error 429 too many requests, pause and then retry later
-                        if (e.getMessage().contains("429"))
-                        {
-                            retry = true;
-
-                            //if this is the first time we're sending anything, the batch size must be too big
-                            //try reducing it
-                            if (i == 0 && PROFILES_PER_REQUEST > 1)
-                            {
-                                GriefPrevention.AddLogEntry("Batch size " + PROFILES_PER_REQUEST + " seems too large.  Looking for a workable batch size...");
-                                PROFILES_PER_REQUEST = Math.max(PROFILES_PER_REQUEST - 5, 1);
-                            }
-
-                            //otherwise, keep the batch size which has worked for previous iterations
-                            //but wait a little while before trying again.
-                            else
-                            {
-                                GriefPrevention.AddLogEntry("Mojang says we're sending requests too fast.  Will retry every 30 seconds until we succeed...");
-                                Thread.sleep(30000);
-                            }
-                        }
-                        else
-                        {
-                            throw e;
-                        }
-                    }
-                } while (retry);
-
-                for (JsonElement profile : array)
-                {
-                    JsonObject jsonProfile = profile.getAsJsonObject();
-                    String id = jsonProfile.get("id").getAsString();
-                    String name = jsonProfile.get("name").getAsString();
-                    UUID uuid = UUIDFetcher.getUUID(id);
-                    GriefPrevention.AddLogEntry(name + " --> " + uuid.toString());
-                    lookupCache.put(name, uuid);
-                    lookupCache.put(name.toLowerCase(), uuid);
-                }
-                if (rateLimiting)
-                {
-                    Thread.sleep(200L);
-                }
+                GriefPrevention.AddLogEntry(profile.name() + " --> " + profile.id().toString());
+                lookupCache.put(profile.name(), profile.id());
+                lookupCache.put(profile.name().toLowerCase(), profile.id());
             }
         }
 
@@ -193,31 +128,6 @@ class UUIDFetcher
         }
     }
 
-    private static void writeBody(HttpURLConnection connection, String body) throws Exception
-    {
-        OutputStream stream = connection.getOutputStream();
-        stream.write(body.getBytes());
-        stream.flush();
-        stream.close();
-    }
-
-    private static HttpURLConnection createConnection() throws Exception
-    {
-        URL url = new URL(PROFILE_URL);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setUseCaches(false);
-        connection.setDoInput(true);
-        connection.setDoOutput(true);
-        return connection;
-    }
-
-    private static UUID getUUID(String id)
-    {
-        return UUID.fromString(id.substring(0, 8) + "-" + id.substring(8, 12) + "-" + id.substring(12, 16) + "-" + id.substring(16, 20) + "-" + id.substring(20, 32));
-    }
-
     public static byte[] toBytes(UUID uuid)
     {
         ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[16]);
@@ -0,0 +1,347 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import me.ryanhamshire.GriefPrevention.util.TokenBucket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves player names to profiles through a bulk profile endpoint accepting a JSON array of names, i.e. Mojang's.
+ *
+ * <p>Names are sent in batches, several of which may be in flight at once, while a {@link TokenBucket} keeps requests
+ * under the endpoint's rate limit. Batches failing with a rate limit, server or connection error are retried with
+ * exponential backoff, honoring the endpoint's {@code Retry-After}. Resolved profiles are kept in a cache which may be
+ * persisted, so names resolved by an interrupted conversion are not requested again.
+ *
+ * <p>Resolvers own an HTTP client and its selector thread, so they must be closed once done.
+ */
+final class UUIDResolver implements AutoCloseable {
+
+    static final URI DEFAULT_ENDPOINT = URI.create("https://api.mojang.com/profiles/minecraft");
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * A resolved profile.
+     *
+     * @param id the player's UUID
+     * @param name the player's name, correctly cased
+     */
+    record Profile(@NotNull UUID id, @NotNull String name) {}
+
+    private final Gson gson = new Gson();
+    private final @NotNull HttpClient client;
+    private final @NotNull URI endpoint;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final @NotNull Duration initialBackoff;
+    private final @NotNull TokenBucket rateLimit;
+    private final @Nullable Path cacheFile;
+    private final @NotNull Logger logger;
+
+    // lowercase name -> profile
+    private final Map<String, Profile> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a new {@code UUIDResolver}.
+     *
+     * @param endpoint the bulk profile endpoint
+     * @param batchSize the most names sent in one request
+     * @param maxInFlight the most requests awaiting a response at once
+     * @param requestsPerSecond the most requests sent per second
+     * @param maxAttempts the most times a batch is sent before giving up on it
+     * @param initialBackoff the wait before the first retry, doubled for each following retry
+     * @param cacheFile the file to persist resolved profiles in, or null
+     * @param logger the logger for progress and failures
+     */
+    UUIDResolver(@NotNull URI endpoint, int batchSize, int maxInFlight, double requestsPerSecond, int maxAttempts,
+            @NotNull Duration initialBackoff, @Nullable Path cacheFile, @NotNull Logger logger) {
+        this.endpoint = endpoint;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.rateLimit = new TokenBucket(Math.max(0.01, requestsPerSecond), this.maxInFlight);
+        this.cacheFile = cacheFile;
+        this.logger = logger;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.loadCache();
+    }
+
+    /**
+     * Create a resolver from the plugin's configuration, persisting its cache in the data folder.
+     *
+     * @param plugin the plugin
+     * @return the resolver
+     */
+    static @NotNull UUIDResolver fromConfig(@NotNull GriefPrevention plugin) {
+        URI endpoint;
+        try {
+            endpoint = URI.create(plugin.config_advanced_uuidLookupEndpoint);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid UUID lookup endpoint " + plugin.config_advanced_uuidLookupEndpoint
+                    + ", using " + DEFAULT_ENDPOINT);
+            endpoint = DEFAULT_ENDPOINT;
+        }
+        return new UUIDResolver(endpoint, plugin.config_advanced_uuidLookupBatchSize,
+                plugin.config_advanced_uuidLookupMaxInFlight, plugin.config_advanced_uuidLookupRequestsPerSecond,
+                plugin.config_advanced_uuidLookupMaxAttempts, Duration.ofSeconds(1),
+                Path.of(DataStore.dataLayerFolderPath, "uuidLookupCache.txt"), plugin.getLogger());
+    }
+
+    /**
+     * Resolve names to profiles, requesting only names which are not cached. Blocks until every batch succeeded or
+     * ran out of attempts.
+     *
+     * @param names the names
+     * @return the resolved profiles by lowercase name, without names the endpoint does not know
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @NotNull Map<String, Profile> resolve(@NotNull Collection<String> names) throws InterruptedException {
+        Set<String> unresolved = new LinkedHashSet<>();
+        for (String name : names) {
+            if (!this.cache.containsKey(name.toLowerCase(Locale.ROOT)))
+                unresolved.add(name);
+        }
+
+        if (!unresolved.isEmpty()) {
+            this.logger.info("Requesting " + unresolved.size() + " names from " + this.endpoint + "...");
+            this.request(new ArrayList<>(unresolved));
+            this.saveCache();
+        }
+
+        Map<String, Profile> resolved = new HashMap<>();
+        for (String name : names) {
+            String key = name.toLowerCase(Locale.ROOT);
+            Profile profile = this.cache.get(key);
+            if (profile != null)
+                resolved.put(key, profile);
+        }
+        return resolved;
+    }
+
+    /**
+     * Shut down the resolver's HTTP client, aborting any requests still in flight.
+     */
+    @Override
+    public void close() {
+        this.client.shutdownNow();
+    }
+
+    // sends every batch, keeping up to maxInFlight requests pending and requeueing failed batches after a backoff
+    private void request(@NotNull List<String> names) throws InterruptedException {
+        DelayQueue<Batch> queue = new DelayQueue<>();
+        for (int i = 0; i < names.size(); i += this.batchSize) {
+            queue.add(new Batch(names.subList(i, Math.min(i + this.batchSize, names.size()))));
+        }
+
+        AtomicInteger unfinished = new AtomicInteger(queue.size());
+        Semaphore inFlight = new Semaphore(this.maxInFlight);
+        while (unfinished.get() > 0) {
+            Batch batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (batch == null)
+                continue;
+
+            inFlight.acquire();
+            this.rateLimit.acquire();
+            batch.attempts++;
+            this.client.sendAsync(this.createRequest(batch), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        if (this.complete(batch, response, error)) {
+                            unfinished.decrementAndGet();
+                        } else {
+                            queue.add(batch);
+                        }
+                    });
+        }
+    }
+
+    private @NotNull HttpRequest createRequest(@NotNull Batch batch) {
+        return HttpRequest.newBuilder(this.endpoint)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(this.gson.toJson(batch.names), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * Handle the outcome of sending a batch.
+     *
+     * @return true if the batch is finished, false if it was scheduled to be retried
+     */
+    private boolean complete(@NotNull Batch batch, @Nullable HttpResponse<String> response, @Nullable Throwable error) {
+        Duration retryAfter = null;
+        String failure;
+        if (error != null) {
+            failure = (error instanceof CompletionException && error.getCause() != null ? error.getCause() : error).toString();
+        } else if (response.statusCode() == 200) {
+            try {
+                this.record(response.body());
+                return true;
+            } catch (RuntimeException e) {
+                // Malformed response, give up on the batch rather than retrying what will fail again.
+                this.logger.log(Level.WARNING, "Unexpected response from " + this.endpoint, e);
+                return true;
+            }
+        } else if (response.statusCode() == 429 || response.statusCode() >= 500) {
+            failure = "HTTP " + response.statusCode();
+            retryAfter = parseRetryAfter(response.headers().firstValue("Retry-After"));
+        } else {
+            this.logger.warning("Failed to resolve " + batch.names.size() + " names: HTTP " + response.statusCode());
+            return true;
+        }
+
+        if (batch.attempts >= this.maxAttempts) {
+            this.logger.warning("Failed to resolve " + batch.names.size() + " names after " + batch.attempts
+                    + " attempts: " + failure);
+            return true;
+        }
+
+        long backoff = this.initialBackoff.toMillis() << Math.min(batch.attempts - 1, 16);
+        backoff = Math.min(backoff, MAX_BACKOFF.toMillis());
+        // Spread out retries of batches which failed together.
+        backoff += ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+        if (retryAfter != null)
+            backoff = Math.max(backoff, retryAfter.toMillis());
+        this.logger.info("Request failed (" + failure + "), retrying in " + backoff + "ms...");
+        batch.notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+        return false;
+    }
+
+    private void record(@NotNull String body) {
+        JsonArray array = this.gson.fromJson(body, JsonArray.class);
+        if (array == null)
+            throw new JsonParseException("Empty response");
+
+        for (JsonElement element : array) {
+            JsonObject jsonProfile = element.getAsJsonObject();
+            UUID id = parseId(jsonProfile.get("id").getAsString());
+            String name = jsonProfile.get("name").getAsString();
+            this.cache.put(name.toLowerCase(Locale.ROOT), new Profile(id, name));
+        }
+    }
+
+    private static @Nullable Duration parseRetryAfter(@NotNull Optional<String> header) {
+        try {
+            return header.map(value -> Duration.ofSeconds(Long.parseLong(value.trim()))).orElse(null);
+        } catch (NumberFormatException e) {
+            // An HTTP date, fall back to the backoff.
+            return null;
+        }
+    }
+
+    /**
+     * Parse a UUID with or without dashes.
+     *
+     * @param id the UUID
+     * @return the parsed UUID
+     */
+    static @NotNull UUID parseId(@NotNull String id) {
+        if (id.length() == 32)
+            id = id.substring(0, 8) + "-" + id.substring(8, 12) + "-" + id.substring(12, 16) + "-"
+                    + id.substring(16, 20) + "-" + id.substring(20, 32);
+        return UUID.fromString(id);
+    }
+
+    private void loadCache() {
+        if (this.cacheFile == null || !Files.exists(this.cacheFile))
+            return;
+
+        try {
+            for (String line : Files.readAllLines(this.cacheFile, StandardCharsets.UTF_8)) {
+                // Each line is a name and its UUID.
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 2)
+                    continue;
+                try {
+                    this.cache.put(parts[0].toLowerCase(Locale.ROOT), new Profile(parseId(parts[1]), parts[0]));
+                } catch (IllegalArgumentException e) {
+                    // Skip corrupt lines.
+                }
+            }
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Failed to read UUID lookup cache " + this.cacheFile, e);
+        }
+    }
+
+    private void saveCache() {
+        if (this.cacheFile == null)
+            return;
+
+        StringBuilder content = new StringBuilder();
+        for (Profile profile : this.cache.values()) {
+            content.append(profile.name()).append(' ').append(profile.id()).append('\n');
+        }
+
+        try {
+            // Write a temporary file first, so an interrupted save never leaves a truncated cache.
+            Files.createDirectories(this.cacheFile.toAbsolutePath().getParent());
+            Path temp = this.cacheFile.resolveSibling(this.cacheFile.getFileName() + ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Failed to save UUID lookup cache " + this.cacheFile, e);
+        }
+    }
+
+    // names sent in one request, delayed in the queue until its next attempt may be sent
+    private static final class Batch implements Delayed {
+        private final @NotNull List<String> names;
+        private volatile int attempts;
+        private volatile long notBefore = System.nanoTime();
+
+        private Batch(@NotNull List<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public long getDelay(@NotNull TimeUnit unit) {
+            return unit.convert(this.notBefore - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(@NotNull Delayed other) {
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+}
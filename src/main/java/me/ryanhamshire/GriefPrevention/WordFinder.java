@@ -1,46 +1,138 @@
 package me.ryanhamshire.GriefPrevention;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Queue;
+import java.util.TreeMap;
 
+/**
+ * Finds whole banned words in text, ignoring case.
+ *
+ * <p>All words are compiled into a single Aho-Corasick automaton, so each input is scanned once
+ * regardless of how many words are banned. A word only matches when it is not directly preceded or
+ * followed by a word character ({@code [a-zA-Z0-9_]}), the same boundaries as {@code [^\w]} in a regular
+ * expression.
+ */
 class WordFinder
 {
-    private Pattern pattern;
+    // root state of the automaton
+    private static final int ROOT = 0;
+    // marks the end of an output chain
+    private static final int NONE = -1;
+
+    // transitions of each state, as sorted keys with matching target states
+    private char[][] transitionKeys;
+    private int[][] transitionTargets;
+    // state to fall back to when no transition matches
+    private int[] failure;
+    // length of the word ending at each state, or 0 if no word ends there
+    private int[] wordLength;
+    // nearest state on the failure chain at which a word ends
+    private int[] outputLink;
 
     WordFinder(List<String> wordsToFind)
     {
-        if (wordsToFind.size() == 0) return;
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        lengths.add(0);
 
-        StringBuilder patternBuilder = new StringBuilder();
         for (String word : wordsToFind)
         {
-            if (!word.isEmpty() && !word.trim().isEmpty())
+            if (word.isEmpty() || word.trim().isEmpty()) continue;
+
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++)
+            {
+                char character = fold(word.charAt(i));
+                Integer next = trie.get(state).get(character);
+                if (next == null)
+                {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    lengths.add(0);
+                    trie.get(state).put(character, next);
+                }
+                state = next;
+            }
+            lengths.set(state, word.length());
+        }
+
+        // No words are defined, match nothing.
+        if (trie.size() == 1) return;
+
+        int states = trie.size();
+        this.transitionKeys = new char[states][];
+        this.transitionTargets = new int[states][];
+        this.wordLength = new int[states];
+        for (int state = 0; state < states; state++)
+        {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            char[] keys = new char[transitions.size()];
+            int[] targets = new int[transitions.size()];
+            int index = 0;
+            for (var transition : transitions.entrySet())
             {
-                patternBuilder.append("|(([^\\w]|^)").append(Pattern.quote(word)).append("([^\\w]|$))");
+                keys[index] = transition.getKey();
+                targets[index++] = transition.getValue();
             }
+            this.transitionKeys[state] = keys;
+            this.transitionTargets[state] = targets;
+            this.wordLength[state] = lengths.get(state);
         }
 
-        String patternString = patternBuilder.toString();
-        if (patternString.length() > 1)
+        // Breadth-first, so every failure target is complete before it is used.
+        this.failure = new int[states];
+        this.outputLink = new int[states];
+        Arrays.fill(this.outputLink, NONE);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : this.transitionTargets[ROOT])
         {
-            //trim extraneous leading pipe (|)
-            patternString = patternString.substring(1);
+            this.failure[child] = ROOT;
+            queue.add(child);
         }
-        // No words are defined, match nothing.
-        else return;
 
-        this.pattern = Pattern.compile(patternString, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        while (!queue.isEmpty())
+        {
+            int state = queue.poll();
+            char[] keys = this.transitionKeys[state];
+            int[] targets = this.transitionTargets[state];
+            for (int i = 0; i < keys.length; i++)
+            {
+                int child = targets[i];
+                int fallback = this.failure[state];
+                int next;
+                while ((next = this.transition(fallback, keys[i])) == NONE && fallback != ROOT)
+                {
+                    fallback = this.failure[fallback];
+                }
+                this.failure[child] = next == NONE ? ROOT : next;
+                int failState = this.failure[child];
+                this.outputLink[child] = this.wordLength[failState] > 0 ? failState : this.outputLink[failState];
+                queue.add(child);
+            }
+        }
     }
 
     boolean hasMatch(String input)
     {
-        if (this.pattern == null) return false;
+        if (this.failure == null || input == null) return false;
 
-        Matcher matcher = this.pattern.matcher(input);
-        return matcher.find();
+        int state = ROOT;
+        for (int end = 0; end < input.length(); end++)
+        {
+            state = this.step(state, fold(input.charAt(end)));
+            for (int output = this.firstOutput(state); output != NONE; output = this.outputLink[output])
+            {
+                if (isWholeWord(input, end - this.wordLength[output] + 1, end)) return true;
+            }
+        }
+
+        return false;
     }
-    
+
     /**
      * Censors all banned words in the input string by replacing each character with an asterisk (*)
      * @param input The input string to censor
@@ -48,30 +140,66 @@ class WordFinder
      */
     String censor(String input)
     {
-        if (this.pattern == null || input == null || input.isEmpty()) return input;
-        
-        StringBuffer result = new StringBuffer();
-        Matcher matcher = this.pattern.matcher(input);
-        
-        while (matcher.find()) {
-            // Get the full match
-            String match = matcher.group();
-            if (match == null || match.trim().isEmpty()) continue;
-            
-            // Extract just the word part (without leading/trailing non-word chars)
-            String word = match.replaceAll("^[^\\w]+|[^\\w]+$", "");
-            if (word.isEmpty()) continue;
-            
-            // Create replacement with asterisks for the word, keeping the boundaries
-            String replacement = match.replaceAll(
-                "\\Q" + word + "\\E", 
-                "*".repeat(word.length())
-            );
-            
-            matcher.appendReplacement(result, replacement);
+        if (this.failure == null || input == null || input.isEmpty()) return input;
+
+        char[] result = null;
+        int state = ROOT;
+        for (int end = 0; end < input.length(); end++)
+        {
+            state = this.step(state, fold(input.charAt(end)));
+            for (int output = this.firstOutput(state); output != NONE; output = this.outputLink[output])
+            {
+                int start = end - this.wordLength[output] + 1;
+                if (!isWholeWord(input, start, end)) continue;
+
+                // Only copy the input once something actually needs censoring.
+                if (result == null) result = input.toCharArray();
+                Arrays.fill(result, start, end + 1, '*');
+            }
+        }
+
+        return result == null ? input : new String(result);
+    }
+
+    private int step(int state, char character)
+    {
+        int next;
+        while ((next = this.transition(state, character)) == NONE && state != ROOT)
+        {
+            state = this.failure[state];
         }
-        matcher.appendTail(result);
-        
-        return result.toString();
+        return next == NONE ? ROOT : next;
+    }
+
+    private int transition(int state, char character)
+    {
+        int index = Arrays.binarySearch(this.transitionKeys[state], character);
+        return index < 0 ? NONE : this.transitionTargets[state][index];
+    }
+
+    private int firstOutput(int state)
+    {
+        return this.wordLength[state] > 0 ? state : this.outputLink[state];
+    }
+
+    private static boolean isWholeWord(String input, int start, int end)
+    {
+        return (start == 0 || !isWordCharacter(input.charAt(start - 1)))
+                && (end == input.length() - 1 || !isWordCharacter(input.charAt(end + 1)));
+    }
+
+    // equivalent of \w without Unicode character classes
+    private static boolean isWordCharacter(char character)
+    {
+        return (character >= 'a' && character <= 'z')
+                || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9')
+                || character == '_';
+    }
+
+    // case folding equivalent to a case-insensitive, Unicode-aware character comparison
+    private static char fold(char character)
+    {
+        return Character.toLowerCase(Character.toUpperCase(character));
     }
 }
@@ -0,0 +1,59 @@
+package me.ryanhamshire.GriefPrevention.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link Event} called when a batch of {@link org.bukkit.entity.Player Players} is about to receive claim blocks.
+ *
+ * <p>This event is only called if aggregated accrual events are enabled in the configuration, in which case it
+ * replaces the {@link AccrueClaimBlocksEvent} for each player. Every accrual in the batch is still represented by an
+ * {@code AccrueClaimBlocksEvent} that may be modified or cancelled individually, but those events are not called
+ * themselves.
+ * <br>On servers that tick regions separately, players are batched by region, so a single delivery round may call
+ * this event several times.
+ */
+public class AccrueClaimBlocksBatchEvent extends Event
+{
+
+    private final @NotNull List<AccrueClaimBlocksEvent> accruals;
+
+    /**
+     * Construct a new {@code AccrueClaimBlocksBatchEvent}.
+     *
+     * @param accruals the accrual for each player in the batch
+     */
+    public AccrueClaimBlocksBatchEvent(@NotNull List<AccrueClaimBlocksEvent> accruals)
+    {
+        this.accruals = Collections.unmodifiableList(accruals);
+    }
+
+    /**
+     * Get the accrual for each player in the batch.
+     *
+     * @return the accruals, which may be modified or cancelled individually
+     */
+    public @NotNull List<AccrueClaimBlocksEvent> getAccruals()
+    {
+        return this.accruals;
+    }
+
+    // Listenable event requirements
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    public static HandlerList getHandlerList()
+    {
+        return HANDLERS;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers()
+    {
+        return HANDLERS;
+    }
+
+}
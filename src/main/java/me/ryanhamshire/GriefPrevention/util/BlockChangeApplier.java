@@ -0,0 +1,194 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Applies a bulk edit to the world over as many ticks as needed, spending at most a fixed amount of time per tick.
+ *
+ * <p>Changes are applied one chunk section at a time, so consecutive changes touch the same section and are likely
+ * to stay within one region. Each tick's work is scheduled at the location of the next change, so edits are
+ * Folia-safe as long as every change in a section belongs to the same region.
+ *
+ * <p>Changes are collected with {@link #add(int, int, int, BlockData)}, optionally ordered off the world's thread
+ * with {@link #prepare()}, and applied with {@link #apply(ChangeFilter, Runnable)}. An applier may only be applied
+ * once.
+ */
+public final class BlockChangeApplier {
+
+    /** The default time spent applying changes per tick, in nanoseconds. */
+    public static final long DEFAULT_TICK_BUDGET_NANOS = 2_000_000L;
+    // changes are ordered by a key with the change's index in the low bits
+    private static final int INDEX_BITS = 24;
+    private static final int MAX_CHANGES = 1 << INDEX_BITS;
+
+    private final @NotNull Plugin plugin;
+    private final @NotNull World world;
+    private final long tickBudgetNanos;
+
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private int[] zs = new int[64];
+    private BlockData[] data = new BlockData[64];
+    private int size = 0;
+
+    private long @Nullable [] order;
+    private int next = 0;
+    private int applied = 0;
+    private @Nullable ChangeFilter filter;
+    private @Nullable Runnable onComplete;
+
+    /**
+     * Construct a new {@code BlockChangeApplier}.
+     *
+     * @param plugin the plugin scheduling the work
+     * @param world the world to edit
+     * @param tickBudgetNanos the most time to spend applying changes in a single tick, in nanoseconds
+     */
+    public BlockChangeApplier(@NotNull Plugin plugin, @NotNull World world, long tickBudgetNanos) {
+        this.plugin = plugin;
+        this.world = world;
+        this.tickBudgetNanos = Math.max(1L, tickBudgetNanos);
+    }
+
+    /**
+     * Add a change to apply.
+     *
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @param blockData the new block data, which must not be modified until the change is applied
+     */
+    public void add(int x, int y, int z, @NotNull BlockData blockData) {
+        if (order != null) throw new IllegalStateException("Changes are already being applied");
+        if (size == MAX_CHANGES) throw new IllegalStateException("Too many changes");
+
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            data = Arrays.copyOf(data, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        data[size] = blockData;
+        size++;
+    }
+
+    /**
+     * Get the number of changes added.
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of changes applied so far. Changes rejected by the filter are not counted.
+     *
+     * @return the number of changes applied
+     */
+    public int getApplied() {
+        return applied;
+    }
+
+    /**
+     * Order the changes by chunk section. May be called from any thread, but only before changes are applied.
+     * Otherwise, changes are ordered when they are applied.
+     */
+    public void prepare() {
+        if (order != null) return;
+
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            // Sections only need to be contiguous, so truncated chunk coordinates are good enough.
+            long section = ((long) ((xs[i] >> 4) & 0xFFFF) << 24)
+                    | ((long) ((zs[i] >> 4) & 0xFFFF) << 8)
+                    | ((ys[i] >> 4) & 0xFF);
+            sorted[i] = (section << INDEX_BITS) | i;
+        }
+        Arrays.sort(sorted);
+        this.order = sorted;
+    }
+
+    /**
+     * Start applying changes. The first batch is applied immediately, so this must be called from the thread owning
+     * the first change's location.
+     *
+     * @param filter the filter deciding whether each change is applied, checked just before applying it
+     * @param onComplete the task to run once every change has been applied, on the thread applying the last one
+     */
+    public void apply(@NotNull ChangeFilter filter, @NotNull Runnable onComplete) {
+        if (this.filter != null) throw new IllegalStateException("Changes are already being applied");
+        this.filter = Objects.requireNonNull(filter);
+        this.onComplete = Objects.requireNonNull(onComplete);
+
+        prepare();
+        applyNext();
+    }
+
+    private void applyNext() {
+        long[] order = Objects.requireNonNull(this.order);
+        ChangeFilter filter = Objects.requireNonNull(this.filter);
+        long deadline = System.nanoTime() + tickBudgetNanos;
+
+        while (next < order.length) {
+            int change = changeAt(next++);
+            Block block = world.getBlockAt(xs[change], ys[change], zs[change]);
+            BlockData blockData = data[change];
+            // Release the change's data for garbage collection once it is no longer needed.
+            data[change] = null;
+
+            try {
+                if (filter.shouldApply(block, blockData)) {
+                    block.setBlockData(blockData, false);
+                    applied++;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Just skip this block if there's an issue
+            }
+
+            if (next < order.length && System.nanoTime() - deadline >= 0) {
+                int upcoming = changeAt(next);
+                Location location = new Location(world, xs[upcoming], ys[upcoming], zs[upcoming]);
+                SchedulerUtil.runAtLocationLater(plugin, location, this::applyNext, 1L);
+                return;
+            }
+        }
+
+        Objects.requireNonNull(onComplete).run();
+    }
+
+    private int changeAt(int position) {
+        return (int) (Objects.requireNonNull(order)[position] & (MAX_CHANGES - 1));
+    }
+
+    /**
+     * Decides whether a change is applied.
+     */
+    @FunctionalInterface
+    public interface ChangeFilter {
+
+        /**
+         * Check whether a block should be changed.
+         *
+         * @param block the block
+         * @param blockData the new block data
+         * @return true if the change should be applied
+         */
+        boolean shouldApply(@NotNull Block block, @NotNull BlockData blockData);
+
+    }
+
+}
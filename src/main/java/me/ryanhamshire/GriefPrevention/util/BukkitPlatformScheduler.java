@@ -0,0 +1,59 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Scheduling on the Bukkit scheduler, where all synchronous tasks run on the main thread.
+ */
+final class BukkitPlatformScheduler implements PlatformScheduler {
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public @NotNull TaskHandle runLaterGlobal(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks) {
+        return new TaskHandle(Bukkit.getScheduler().runTaskLater(plugin, runnable, delayTicks));
+    }
+
+    @Override
+    public @NotNull TaskHandle runRepeatingGlobal(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks, long periodTicks) {
+        return new TaskHandle(Bukkit.getScheduler().runTaskTimer(plugin, runnable, delayTicks, periodTicks));
+    }
+
+    @Override
+    public @NotNull TaskHandle runAsyncNow(@NotNull Plugin plugin, @NotNull Runnable runnable) {
+        return new TaskHandle(Bukkit.getScheduler().runTaskAsynchronously(plugin, runnable));
+    }
+
+    @Override
+    public @NotNull TaskHandle runAsyncLater(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks) {
+        return new TaskHandle(Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, runnable, Math.max(0L, delayTicks)));
+    }
+
+    @Override
+    public @NotNull TaskHandle runLaterEntity(@NotNull Plugin plugin, @NotNull Entity entity, @NotNull Runnable runnable, long delayTicks) {
+        return new TaskHandle(Bukkit.getScheduler().runTaskLater(plugin, runnable, delayTicks));
+    }
+
+    @Override
+    public @NotNull TaskHandle runAtLocation(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable runnable) {
+        return new TaskHandle(Bukkit.getScheduler().runTask(plugin, runnable));
+    }
+
+    @Override
+    public @NotNull TaskHandle runAtLocationLater(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable runnable, long delayTicks) {
+        return new TaskHandle(Bukkit.getScheduler().runTaskLater(plugin, runnable, Math.max(1L, delayTicks)));
+    }
+
+}
@@ -0,0 +1,46 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Helpers for skipping events nothing is listening to.
+ *
+ * <p>Most servers have no addons listening to GriefPrevention's events, yet several of them are fired from
+ * the hottest paths in the plugin. Calling an event still locks and dispatches through the plugin manager even
+ * with no listeners, so callers check first and skip building or calling the event entirely.
+ */
+public final class EventUtil {
+
+    private EventUtil() {}
+
+    /**
+     * Check whether any listener is registered for an event.
+     *
+     * <p>A {@link HandlerList} keeps a baked snapshot of its listeners which it discards whenever a listener is
+     * registered or unregistered, so this is only a field read once the snapshot exists.
+     *
+     * @param handlers the event's handler list
+     * @return true if at least one listener is registered
+     */
+    public static boolean hasListeners(@NotNull HandlerList handlers) {
+        return handlers.getRegisteredListeners().length > 0;
+    }
+
+    /**
+     * Call an event, skipping dispatch if nothing is listening to it.
+     *
+     * @param event the event to call
+     * @param <T> the type of event
+     * @return the event
+     */
+    public static <T extends Event> @NotNull T callEvent(@NotNull T event) {
+        if (hasListeners(event.getHandlers())) {
+            Bukkit.getPluginManager().callEvent(event);
+        }
+        return event;
+    }
+
+}
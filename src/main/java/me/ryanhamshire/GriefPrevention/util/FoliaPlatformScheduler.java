@@ -0,0 +1,324 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Scheduling on Folia's region schedulers.
+ *
+ * <p>The schedulers are not part of the Bukkit API, so their methods are resolved into {@link MethodHandle}s when
+ * the scheduler is created. Global and asynchronous scheduler instances never change and are bound into their
+ * handles. Folia never falls back to the Bukkit scheduler, which is unsupported there; an entry point that could not
+ * be resolved fails when it is used.
+ */
+final class FoliaPlatformScheduler implements PlatformScheduler {
+
+    private static final String SCHEDULER_PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final @Nullable MethodHandle globalRunDelayed;
+    private final @Nullable MethodHandle globalRunAtFixedRate;
+    private final @Nullable MethodHandle asyncRunNow;
+    private final @Nullable MethodHandle asyncRunDelayed;
+    private final @Nullable MethodHandle entityRunDelayed;
+    private final @Nullable MethodHandle regionRun;
+    private final @Nullable MethodHandle regionRunDelayed;
+    private final @Nullable MethodHandle ownedByCurrentRegion;
+    private final boolean regionThreaded;
+
+    FoliaPlatformScheduler(@NotNull Server server) {
+        regionThreaded = isRegionThreaded(server);
+        Resolver resolver = new Resolver(server);
+        Object global = resolver.scheduler("getGlobalRegionScheduler");
+        Object async = resolver.scheduler("getAsyncScheduler");
+        Object region = resolver.scheduler("getRegionScheduler");
+
+        globalRunDelayed = resolver.bound(global, "GlobalRegionScheduler", "runDelayed", Plugin.class, Consumer.class, long.class);
+        globalRunAtFixedRate = resolver.bound(global, "GlobalRegionScheduler", "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+        asyncRunNow = resolver.bound(async, "AsyncScheduler", "runNow", Plugin.class, Consumer.class);
+        asyncRunDelayed = resolver.bound(async, "AsyncScheduler", "runDelayed", Plugin.class, Consumer.class, long.class);
+        regionRun = resolver.bound(region, "RegionScheduler", "run", Plugin.class, Location.class, Consumer.class);
+        regionRunDelayed = resolver.bound(region, "RegionScheduler", "runDelayed", Plugin.class, Location.class, Consumer.class, long.class);
+        entityRunDelayed = resolver.entityRunDelayed();
+        ownedByCurrentRegion = resolver.ownedByCurrentRegion();
+    }
+
+    /**
+     * Check whether a server exposes Folia's region schedulers. Paper exposes them as well, running their tasks on
+     * the main thread.
+     *
+     * @param server the server
+     * @return true if the server exposes a global region scheduler
+     */
+    static boolean isPresent(@NotNull Server server) {
+        for (Method method : server.getClass().getMethods()) {
+            if (method.getName().equals("getGlobalRegionScheduler")) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether a server ticks regions on separate threads. Only Folia itself includes its regionized server, a
+     * server merely exposing the region schedulers still ticks everything on the main thread.
+     *
+     * @param server the server
+     * @return true if regions are ticked on separate threads
+     */
+    static boolean isRegionThreaded(@NotNull Server server) {
+        try {
+            Class.forName(REGIONIZED_SERVER, false, server.getClass().getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cancel a task scheduled on any of Folia's schedulers.
+     *
+     * @param task the {@code ScheduledTask}
+     * @throws Throwable if the task could not be cancelled
+     */
+    static void cancel(@NotNull Object task) throws Throwable {
+        if (Cancel.HANDLE == null) throw new UnsupportedOperationException("ScheduledTask#cancel not found");
+        Cancel.HANDLE.invokeExact(task);
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return regionThreaded;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Entity entity) {
+        // Without a way to check, callers must assume the entity belongs to another region.
+        if (ownedByCurrentRegion == null) return false;
+        try {
+            return (boolean) ownedByCurrentRegion.invokeExact(entity);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runLaterGlobal(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks) {
+        MethodHandle handle = require(globalRunDelayed, "GlobalRegionScheduler#runDelayed");
+        try {
+            return new TaskHandle((Object) handle.invokeExact(plugin, consumer(runnable), Math.max(1L, delayTicks)));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule on GlobalRegionScheduler", t);
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runRepeatingGlobal(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks, long periodTicks) {
+        MethodHandle handle = require(globalRunAtFixedRate, "GlobalRegionScheduler#runAtFixedRate");
+        try {
+            return new TaskHandle((Object) handle.invokeExact(plugin, consumer(runnable), Math.max(1L, delayTicks), Math.max(1L, periodTicks)));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule repeating task on GlobalRegionScheduler", t);
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runAsyncNow(@NotNull Plugin plugin, @NotNull Runnable runnable) {
+        try {
+            if (asyncRunNow != null) {
+                return new TaskHandle((Object) asyncRunNow.invokeExact(plugin, consumer(runnable)));
+            }
+            // Emulate an immediate task with a delay of zero.
+            MethodHandle handle = require(asyncRunDelayed, "AsyncScheduler#runNow");
+            return new TaskHandle((Object) handle.invokeExact(plugin, consumer(runnable), 0L));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule on AsyncScheduler", t);
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runAsyncLater(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks) {
+        MethodHandle handle = require(asyncRunDelayed, "AsyncScheduler#runDelayed");
+        try {
+            return new TaskHandle((Object) handle.invokeExact(plugin, consumer(runnable), Math.max(0L, delayTicks)));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule delayed task on AsyncScheduler", t);
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runLaterEntity(@NotNull Plugin plugin, @NotNull Entity entity, @NotNull Runnable runnable, long delayTicks) {
+        MethodHandle handle = require(entityRunDelayed, "EntityScheduler#runDelayed");
+        try {
+            // No task runs if the entity is removed first, so there is nothing to do when it retires.
+            return new TaskHandle((Object) handle.invokeExact(entity, plugin, consumer(runnable), (Runnable) null, Math.max(1L, delayTicks)));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule entity task", t);
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runAtLocation(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable runnable) {
+        MethodHandle handle = require(regionRun, "RegionScheduler#run");
+        try {
+            return new TaskHandle((Object) handle.invokeExact(plugin, location, consumer(runnable)));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule at location", t);
+        }
+    }
+
+    @Override
+    public @NotNull TaskHandle runAtLocationLater(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable runnable, long delayTicks) {
+        MethodHandle handle = require(regionRunDelayed, "RegionScheduler#runDelayed");
+        try {
+            return new TaskHandle((Object) handle.invokeExact(plugin, location, consumer(runnable), Math.max(1L, delayTicks)));
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Folia detected but failed to schedule delayed at location", t);
+        }
+    }
+
+    private static @NotNull Consumer<Object> consumer(@NotNull Runnable runnable) {
+        return ignored -> runnable.run();
+    }
+
+    private static @NotNull MethodHandle require(@Nullable MethodHandle handle, @NotNull String method) {
+        if (handle == null) {
+            throw new UnsupportedOperationException("Folia detected but no compatible " + method + " method found");
+        }
+        return handle;
+    }
+
+    private static long ticksToMillis(long ticks) {
+        return ticks * MILLIS_PER_TICK;
+    }
+
+    /**
+     * Resolves scheduler methods into handles taking the same arguments as the Bukkit scheduler and returning the
+     * {@code ScheduledTask} as an {@link Object}.
+     */
+    private static final class Resolver {
+        private final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        private final @NotNull Server server;
+        private final @Nullable Class<?> scheduledTask;
+        private final @Nullable MethodHandle ticksToMillis;
+
+        private Resolver(@NotNull Server server) {
+            this.server = server;
+            this.scheduledTask = type("ScheduledTask");
+            MethodHandle converter;
+            try {
+                converter = MethodHandles.lookup().findStatic(FoliaPlatformScheduler.class, "ticksToMillis",
+                        MethodType.methodType(long.class, long.class));
+            } catch (ReflectiveOperationException e) {
+                converter = null;
+            }
+            this.ticksToMillis = converter;
+        }
+
+        private @Nullable Object scheduler(@NotNull String accessor) {
+            try {
+                return server.getClass().getMethod(accessor).invoke(server);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        // Resolve a method on a scheduler instance, preferring delays in ticks over delays with a time unit.
+        private @Nullable MethodHandle bound(@Nullable Object scheduler, @NotNull String typeName, @NotNull String name, @NotNull Class<?>... parameters) {
+            Class<?> type = type(typeName);
+            if (scheduler == null || type == null || scheduledTask == null) return null;
+
+            MethodHandle handle = find(type, name, parameters);
+            if (handle == null) return null;
+            return handle.bindTo(scheduler).asType(MethodType.methodType(Object.class, parameters));
+        }
+
+        private @Nullable MethodHandle entityRunDelayed() {
+            Class<?> type = type("EntityScheduler");
+            if (type == null || scheduledTask == null) return null;
+
+            Class<?>[] parameters = { Plugin.class, Consumer.class, Runnable.class, long.class };
+            MethodHandle runDelayed = find(type, "runDelayed", parameters);
+            if (runDelayed == null) return null;
+            try {
+                MethodHandle getScheduler = lookup.findVirtual(Entity.class, "getScheduler", MethodType.methodType(type));
+                // (Entity, Plugin, Consumer, Runnable, long) -> entity.getScheduler().runDelayed(...)
+                return MethodHandles.filterArguments(runDelayed, 0, getScheduler)
+                        .asType(MethodType.methodType(Object.class, Entity.class, Plugin.class, Consumer.class, Runnable.class, long.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        private @Nullable MethodHandle ownedByCurrentRegion() {
+            try {
+                return lookup.findVirtual(Server.class, "isOwnedByCurrentRegion", MethodType.methodType(boolean.class, Entity.class))
+                        .bindTo(server);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        private @Nullable MethodHandle find(@NotNull Class<?> type, @NotNull String name, @NotNull Class<?>... parameters) {
+            try {
+                return lookup.findVirtual(type, name, MethodType.methodType(scheduledTask, parameters));
+            } catch (ReflectiveOperationException ignored) {
+                // Fall through to the variant taking milliseconds.
+            }
+
+            if (ticksToMillis == null) return null;
+            Class<?>[] timed = Arrays.copyOf(parameters, parameters.length + 1);
+            timed[parameters.length] = TimeUnit.class;
+            MethodHandle handle;
+            try {
+                handle = lookup.findVirtual(type, name, MethodType.methodType(scheduledTask, timed));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+
+            // Index 0 is the receiver, so parameter i is argument i + 1.
+            handle = MethodHandles.insertArguments(handle, timed.length, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i] == long.class) {
+                    handle = MethodHandles.filterArguments(handle, i + 1, ticksToMillis);
+                }
+            }
+            return handle;
+        }
+
+        private static @Nullable Class<?> type(@NotNull String name) {
+            try {
+                return Class.forName(SCHEDULER_PACKAGE + name);
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+    }
+
+    // Resolved on first use, which only happens for tasks scheduled on Folia.
+    private static final class Cancel {
+        private static final @Nullable MethodHandle HANDLE = resolve();
+
+        private static @Nullable MethodHandle resolve() {
+            try {
+                Method cancel = Class.forName(SCHEDULER_PACKAGE + "ScheduledTask").getMethod("cancel");
+                return MethodHandles.publicLookup().unreflect(cancel)
+                        .asType(MethodType.methodType(void.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+
+}
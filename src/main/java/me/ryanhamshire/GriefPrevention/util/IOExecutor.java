@@ -0,0 +1,205 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking I/O, i.e. loading and saving player data, on virtual threads.
+ *
+ * <p>Every task belongs to a {@link Category} limiting how many tasks of that kind run at once, so a burst of one
+ * kind of work cannot starve the others or overwhelm the storage behind it. Tasks waiting for their category park a
+ * virtual thread rather than holding a platform thread.
+ *
+ * <p>Once the executor is shut down, new tasks are run on the submitting thread so late saves are not lost.
+ */
+public final class IOExecutor {
+
+    /**
+     * A kind of I/O work.
+     */
+    public enum Category {
+        /** Saving player data. */
+        PLAYER_DATA(4),
+        /** Loading ignore lists. */
+        IGNORE_LIST(4),
+        /** Caching the names of offline players. */
+        PLAYER_NAMES(1),
+        /** Checking claim owners for inactivity. */
+        CLAIM_EXPIRY(2),
+        /** Looking up player UUIDs by name. */
+        UUID_LOOKUP(2);
+
+        private final int concurrency;
+
+        Category(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        /**
+         * Get the most tasks of this category which may run at once.
+         *
+         * @return the concurrency limit
+         */
+        public int getConcurrency() {
+            return concurrency;
+        }
+    }
+
+    private final @NotNull Logger logger;
+    private final @NotNull ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("GriefPrevention-IO-", 0).factory());
+    private final Map<Category, Lane> lanes = new EnumMap<>(Category.class);
+
+    /**
+     * Construct a new {@code IOExecutor}.
+     *
+     * @param logger the logger for tasks which fail
+     */
+    public IOExecutor(@NotNull Logger logger) {
+        this.logger = logger;
+        for (Category category : Category.values()) {
+            lanes.put(category, new Lane(category));
+        }
+    }
+
+    /**
+     * Run a task on a virtual thread once fewer than its category's limit of tasks are running.
+     *
+     * @param category the category of the task
+     * @param task the task
+     */
+    public void execute(@NotNull Category category, @NotNull Runnable task) {
+        Lane lane = lanes.get(category);
+        lane.submitted.increment();
+        try {
+            executor.execute(() -> lane.run(task));
+        } catch (RejectedExecutionException e) {
+            // Already shut down, run on this thread rather than losing the task.
+            lane.run(task);
+        }
+    }
+
+    /**
+     * Stop accepting tasks and wait for submitted tasks to finish. Tasks still running after the timeout are
+     * interrupted.
+     *
+     * @param timeout the longest time to wait
+     * @return true if every task finished in time
+     */
+    public boolean shutdown(@NotNull Duration timeout) {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        return false;
+    }
+
+    /**
+     * Get statistics for each category of task.
+     *
+     * @return the statistics, in category order
+     */
+    public @NotNull List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>(lanes.size());
+        for (Lane lane : lanes.values()) {
+            stats.add(new Stats(lane.category, lane.submitted.sum(), lane.completed.sum(), lane.failed.sum(),
+                    lane.running.get(), lane.waiting.get(), lane.busyNanos.sum()));
+        }
+        return stats;
+    }
+
+    /**
+     * Statistics for a category of task.
+     *
+     * @param category the category
+     * @param submitted the number of tasks submitted
+     * @param completed the number of tasks which completed normally
+     * @param failed the number of tasks which threw an exception or were interrupted
+     * @param running the number of tasks currently running
+     * @param waiting the number of tasks waiting for the category's limit
+     * @param busyNanos the total time spent running tasks, in nanoseconds
+     */
+    public record Stats(@NotNull Category category, long submitted, long completed, long failed, int running,
+            int waiting, long busyNanos) {
+
+        /**
+         * Get the average time spent running a finished task.
+         *
+         * @return the average time in milliseconds
+         */
+        public double averageMillis() {
+            long finished = completed + failed;
+            return finished == 0 ? 0 : busyNanos / 1_000_000.0 / finished;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return String.format("%s: %d submitted, %d completed, %d failed, %d running, %d waiting, %.1fms average",
+                    category, submitted, completed, failed, running, waiting, averageMillis());
+        }
+
+    }
+
+    // the limit and counters of a category
+    private final class Lane {
+        private final @NotNull Category category;
+        private final @NotNull Semaphore permits;
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private Lane(@NotNull Category category) {
+            this.category = category;
+            this.permits = new Semaphore(category.getConcurrency(), true);
+        }
+
+        private void run(@NotNull Runnable task) {
+            waiting.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Interrupted by a shutdown before the task could start.
+                Thread.currentThread().interrupt();
+                failed.increment();
+                return;
+            } finally {
+                waiting.decrementAndGet();
+            }
+
+            running.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                task.run();
+                completed.increment();
+            } catch (Throwable t) {
+                failed.increment();
+                logger.log(Level.SEVERE, "Unhandled exception in " + category + " I/O task", t);
+            } finally {
+                busyNanos.add(System.nanoTime() - start);
+                running.decrementAndGet();
+                permits.release();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The scheduler of the running server platform, backing {@link SchedulerUtil}.
+ *
+ * <p>The platform is detected once and every entry point is resolved up front, so scheduling a task costs no
+ * reflective lookups.
+ */
+interface PlatformScheduler {
+
+    /**
+     * Get the scheduler for the running server.
+     *
+     * @return the Folia scheduler if its region schedulers are present, otherwise the Bukkit scheduler
+     */
+    static @NotNull PlatformScheduler detect() {
+        if (FoliaPlatformScheduler.isPresent(Bukkit.getServer())) {
+            return new FoliaPlatformScheduler(Bukkit.getServer());
+        }
+        return new BukkitPlatformScheduler();
+    }
+
+    /**
+     * Check whether the server ticks regions on separate threads, so the global scheduler may not touch entities.
+     *
+     * @return true if regions are ticked separately
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Check whether the current thread may access an entity.
+     *
+     * @param entity the entity
+     * @return true if the entity is owned by the current thread
+     */
+    boolean isOwnedByCurrentRegion(@NotNull Entity entity);
+
+    @NotNull TaskHandle runLaterGlobal(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks);
+
+    @NotNull TaskHandle runRepeatingGlobal(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks, long periodTicks);
+
+    @NotNull TaskHandle runAsyncNow(@NotNull Plugin plugin, @NotNull Runnable runnable);
+
+    @NotNull TaskHandle runAsyncLater(@NotNull Plugin plugin, @NotNull Runnable runnable, long delayTicks);
+
+    @NotNull TaskHandle runLaterEntity(@NotNull Plugin plugin, @NotNull Entity entity, @NotNull Runnable runnable, long delayTicks);
+
+    @NotNull TaskHandle runAtLocation(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable runnable);
+
+    @NotNull TaskHandle runAtLocationLater(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable runnable, long delayTicks);
+
+}
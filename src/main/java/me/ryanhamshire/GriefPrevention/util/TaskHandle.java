@@ -3,7 +3,6 @@ package me.ryanhamshire.GriefPrevention.util;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -31,9 +30,7 @@ public final class TaskHandle {
                 if (bukkitTask != null) {
                     bukkitTask.cancel();
                 } else if (foliaTask != null) {
-                    // foliaTask is ScheduledTask with a cancel() method
-                    Method cancel = foliaTask.getClass().getMethod("cancel");
-                    cancel.invoke(foliaTask);
+                    FoliaPlatformScheduler.cancel(foliaTask);
                 }
             } catch (Throwable ignored) {
                 // Best-effort cancel
@@ -0,0 +1,70 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket rate limit. Tokens are added at a fixed rate up to the bucket's capacity, and every permit taken
+ * uses one, so up to a capacity's worth of permits may be taken at once after a quiet period while the long-term rate
+ * never exceeds the refill rate.
+ */
+public final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Construct a new {@code TokenBucket} which starts full.
+     *
+     * @param permitsPerSecond the refill rate
+     * @param capacity the most permits which may be taken at once
+     */
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        if (!(permitsPerSecond > 0))
+            throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take a permit if one is available.
+     *
+     * @return true if a permit was taken
+     */
+    public synchronized boolean tryAcquire() {
+        if (nanosUntilAvailable() > 0)
+            return false;
+        this.tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Take a permit, waiting until one is available.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long wait;
+            synchronized (this) {
+                wait = nanosUntilAvailable();
+                if (wait == 0) {
+                    this.tokens -= 1;
+                    return;
+                }
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private long nanosUntilAvailable() {
+        long now = System.nanoTime();
+        this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.tokensPerNano);
+        this.lastRefill = now;
+        return this.tokens >= 1 ? 0 : (long) Math.ceil((1 - this.tokens) / this.tokensPerNano);
+    }
+
+}
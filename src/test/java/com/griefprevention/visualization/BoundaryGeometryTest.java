@@ -0,0 +1,48 @@
+package com.griefprevention.visualization;
+
+import me.ryanhamshire.GriefPrevention.util.BoundingBox;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BoundaryGeometryTest
+{
+    @Test
+    public void testSidesStopShortOfCorners()
+    {
+        BoundingBox area = new BoundingBox(0, 0, 0, 100, 0, 35);
+        BoundaryGeometry geometry = BoundaryGeometry.compute(area, 10, area);
+        assertArrayEquals(new int[] { 10, 20, 30, 40, 50, 60, 70, 80, 90 }, geometry.sideX());
+        assertArrayEquals(new int[] { 10, 20 }, geometry.sideZ());
+    }
+
+    @Test
+    public void testDetailRanks()
+    {
+        BoundingBox area = new BoundingBox(-50, 0, 0, 50, 0, 0);
+        BoundaryGeometry geometry = BoundaryGeometry.compute(area, 10, area);
+        // Ranks follow the element's index from the minimum corner, capped at the maximum reduction.
+        assertArrayEquals(new byte[] { 0, 1, 0, 2, 0, 1, 0, 2, 0 }, geometry.sideXDetail());
+    }
+
+    @Test
+    public void testLimitsKeepGridAlignment()
+    {
+        BoundingBox area = new BoundingBox(0, 0, 0, 100, 0, 100);
+        BoundingBox limits = new BoundingBox(25, 0, 25, 65, 0, 65);
+        BoundaryGeometry geometry = BoundaryGeometry.compute(area, 10, limits);
+        assertArrayEquals(new int[] { 30, 40, 50, 60 }, geometry.sideX());
+        assertArrayEquals(new byte[] { 0, 2, 0, 1 }, geometry.sideXDetail());
+    }
+
+    @Test
+    public void testFirstIndex()
+    {
+        int[] coordinates = { 10, 20, 30 };
+        assertEquals(0, BoundaryGeometry.firstIndex(coordinates, -5));
+        assertEquals(1, BoundaryGeometry.firstIndex(coordinates, 20));
+        assertEquals(2, BoundaryGeometry.firstIndex(coordinates, 21));
+        assertEquals(3, BoundaryGeometry.firstIndex(coordinates, 31));
+    }
+}
@@ -0,0 +1,95 @@
+package com.griefprevention.visualization.impl;
+
+import com.griefprevention.events.BoundaryVisualizationEvent;
+import com.griefprevention.test.ServerMocks;
+import com.griefprevention.util.IntVector;
+import com.griefprevention.visualization.BoundaryVisualization;
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FakeBlockVisualizationTest
+{
+    private static final IntVector ORIGIN = new IntVector(0, 64, 0);
+
+    @BeforeAll
+    static void beforeAll()
+    {
+        Bukkit.setServer(ServerMocks.newServer());
+    }
+
+    @AfterAll
+    static void afterAll()
+    {
+        ServerMocks.unsetBukkitServer();
+    }
+
+    @AfterEach
+    void resetPlugin()
+    {
+        GriefPrevention.instance = null;
+    }
+
+    @Test
+    void testResolvesFromSnapshotsByDefault()
+    {
+        assertTrue(new FakeBlockVisualization(world(), ORIGIN, 64).resolvesFromSnapshots());
+        assertTrue(new GlowingVisualization(world(), ORIGIN, 64).resolvesFromSnapshots());
+    }
+
+    @Test
+    void testTransparencyOverrideResolvesFromLiveBlocks()
+    {
+        assertFalse(new AntiCheatCompatVisualization(world(), ORIGIN, 64).resolvesFromSnapshots());
+
+        // Subclasses which override the check without knowing about snapshots must not be bypassed.
+        FakeBlockVisualization custom = new FakeBlockVisualization(world(), ORIGIN, 64)
+        {
+            @Override
+            protected boolean isTransparent(@NotNull Block block)
+            {
+                return true;
+            }
+        };
+        assertFalse(custom.resolvesFromSnapshots());
+    }
+
+    @Test
+    void testDefaultProviderWithAntiCheatAndGlow()
+    {
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        plugin.config_visualizationAntiCheatCompat = true;
+        plugin.config_visualizationGlow = true;
+        GriefPrevention.instance = plugin;
+
+        BoundaryVisualization visualization = BoundaryVisualizationEvent.DEFAULT_PROVIDER.create(world(), ORIGIN, 64);
+
+        assertInstanceOf(GlowingVisualization.class, visualization);
+        assertFalse(((FakeBlockVisualization) visualization).resolvesFromSnapshots());
+    }
+
+    private static @NotNull World world()
+    {
+        World world = mock(World.class);
+        Block block = mock(Block.class);
+        when(block.getType()).thenReturn(Material.AIR);
+        when(world.getBlockAt(anyInt(), anyInt(), anyInt())).thenReturn(block);
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        return world;
+    }
+}
@@ -0,0 +1,137 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AutoExtendClaimTaskTest
+{
+    private static final int WORLD_MIN_Y = -64;
+    private static final int SURFACE_Y = 64;
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final Set<Material> PLAYER_BLOCKS = EnumSet.of(Material.COBBLESTONE);
+    private static final Function<Biome, Set<Material>> ANY_BIOME = biome -> PLAYER_BLOCKS;
+
+    @Test
+    public void testFindsLowestAcrossChunks()
+    {
+        List<ChunkSnapshot> chunks = List.of(snapshot(10, null), snapshot(-20, null), snapshot(NONE, null));
+        assertEquals(-20, AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, WORLD_MIN_Y, SURFACE_Y, ANY_BIOME));
+    }
+
+    @Test
+    public void testIgnoresBlocksOutsideRange()
+    {
+        // Above the starting level.
+        List<ChunkSnapshot> chunks = List.of(snapshot(70, null));
+        assertEquals(SURFACE_Y, AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, WORLD_MIN_Y, SURFACE_Y, ANY_BIOME));
+
+        // Below the minimum level.
+        chunks = List.of(snapshot(-60, null));
+        assertEquals(SURFACE_Y, AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, -50, SURFACE_Y, ANY_BIOME));
+
+        // On the minimum level.
+        chunks = List.of(snapshot(-50, null));
+        assertEquals(-50, AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, -50, SURFACE_Y, ANY_BIOME));
+    }
+
+    @Test
+    public void testSkipsEmptySections()
+    {
+        AtomicInteger reads = new AtomicInteger();
+        List<ChunkSnapshot> chunks = List.of(snapshot(NONE, reads));
+        assertEquals(250, AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, WORLD_MIN_Y, 250, ANY_BIOME));
+
+        // Only the levels below the surface are read, the empty sections above it are skipped.
+        assertEquals((SURFACE_Y - WORLD_MIN_Y) * 256, reads.get());
+    }
+
+    /**
+     * Scan a large claim without player blocks, so every level down to the world's minimum height must be checked.
+     * Run with {@code -Dgriefprevention.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "griefprevention.benchmark", matches = "true")
+    public void benchmarkLargeClaim()
+    {
+        List<ChunkSnapshot> chunks = new ArrayList<>();
+        for (int i = 0; i < 32 * 32; i++)
+        {
+            chunks.add(snapshot(NONE, null));
+        }
+
+        for (int round = 0; round < 5; round++)
+        {
+            // Claims at the surface must scan the ground, claims in the sky skip empty sections above it.
+            time("serial, surface", () -> serial(chunks, 100));
+            time("parallel, surface", () -> AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, WORLD_MIN_Y, 100, ANY_BIOME));
+            time("serial, sky", () -> serial(chunks, 300));
+            time("parallel, sky", () -> AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, WORLD_MIN_Y, 300, ANY_BIOME));
+        }
+    }
+
+    private static int serial(List<ChunkSnapshot> chunks, int y)
+    {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try
+        {
+            return pool.submit(() -> AutoExtendClaimTask.findLowestBuiltY(chunks, WORLD_MIN_Y, WORLD_MIN_Y, y, ANY_BIOME)).join();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private static void time(String name, IntSupplier scan)
+    {
+        long start = System.nanoTime();
+        int y = scan.getAsInt();
+        System.out.printf("%-20s %6d ms (y = %d)%n", name, (System.nanoTime() - start) / 1_000_000, y);
+    }
+
+    /**
+     * Create a synthetic chunk of stone below the surface and air above, optionally with a player block.
+     *
+     * @param playerY the level of the player block, or {@link #NONE}
+     * @param reads the counter of block reads, or null
+     * @return the chunk
+     */
+    private static ChunkSnapshot snapshot(int playerY, AtomicInteger reads)
+    {
+        return (ChunkSnapshot) Proxy.newProxyInstance(
+                ChunkSnapshot.class.getClassLoader(),
+                new Class<?>[] { ChunkSnapshot.class },
+                (proxy, method, args) -> switch (method.getName())
+                {
+                    case "getBlockType" ->
+                    {
+                        if (reads != null) reads.incrementAndGet();
+                        int y = (int) args[1];
+                        if (y == playerY && (int) args[0] == 7 && (int) args[2] == 9) yield Material.COBBLESTONE;
+                        yield y < SURFACE_Y ? Material.STONE : Material.AIR;
+                    }
+                    case "isSectionEmpty" ->
+                    {
+                        int bottom = WORLD_MIN_Y + ((int) args[0] << 4);
+                        yield bottom >= SURFACE_Y && (playerY < bottom || playerY >= bottom + 16);
+                    }
+                    case "getBiome" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
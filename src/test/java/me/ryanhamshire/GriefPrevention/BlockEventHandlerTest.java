@@ -1,9 +1,13 @@
 package me.ryanhamshire.GriefPrevention;
 
 import com.griefprevention.test.ServerMocks;
+import me.ryanhamshire.GriefPrevention.util.BoundingBox;
 import org.bukkit.Bukkit;
 import org.bukkit.Server;
 import org.bukkit.Tag;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.PistonMoveReaction;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryPickupItemEvent;
@@ -18,6 +22,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
@@ -133,4 +139,47 @@ public class BlockEventHandlerTest
 
         verify(event, never()).setCancelled(true);
     }
+
+    @Test
+    void verifyPistonMoveSetIncludesDestinations()
+    {
+        Block pushed = mockBlock(0, 64, 0, PistonMoveReaction.MOVE);
+        BlockEventHandler.PistonMoveSet moveSet = new BlockEventHandler.PistonMoveSet(List.of(pushed), BlockFace.EAST);
+
+        // Interior box, destination only, and disjoint box.
+        assertTrue(moveSet.anyWithin(new BoundingBox(-5, 0, -5, 5, 100, 5)));
+        assertTrue(moveSet.anyWithin(new BoundingBox(1, 64, 0, 3, 64, 0)));
+        assertFalse(moveSet.anyWithin(new BoundingBox(2, 64, 0, 3, 64, 0)));
+    }
+
+    @Test
+    void verifyPistonMoveSetSkipsDestinationOfBrokenBlocks()
+    {
+        Block broken = mockBlock(0, 64, 0, PistonMoveReaction.BREAK);
+        BlockEventHandler.PistonMoveSet moveSet = new BlockEventHandler.PistonMoveSet(List.of(broken), BlockFace.EAST);
+
+        assertFalse(moveSet.anyWithin(new BoundingBox(1, 64, 0, 3, 64, 0)));
+    }
+
+    @Test
+    void verifyPistonMoveSetChecksIndividualBlocksOnEdge()
+    {
+        // Diagonal blocks: the bounding box of the move crosses the claim box, but no block is inside it.
+        Block first = mockBlock(0, 64, 0, PistonMoveReaction.MOVE);
+        Block second = mockBlock(4, 64, 4, PistonMoveReaction.MOVE);
+        BlockEventHandler.PistonMoveSet moveSet = new BlockEventHandler.PistonMoveSet(List.of(first, second), BlockFace.UP);
+
+        assertFalse(moveSet.anyWithin(new BoundingBox(2, 0, 0, 10, 100, 2)));
+        assertTrue(moveSet.anyWithin(new BoundingBox(2, 0, 0, 10, 100, 4)));
+    }
+
+    private static Block mockBlock(int x, int y, int z, PistonMoveReaction reaction)
+    {
+        Block block = mock(Block.class);
+        when(block.getX()).thenReturn(x);
+        when(block.getY()).thenReturn(y);
+        when(block.getZ()).thenReturn(z);
+        when(block.getPistonMoveReaction()).thenReturn(reaction);
+        return block;
+    }
 }
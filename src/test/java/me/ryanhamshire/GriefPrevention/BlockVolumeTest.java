@@ -0,0 +1,65 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockVolumeTest
+{
+    @Test
+    public void testReadAcrossChunks()
+    {
+        BlockData stone = blockData(Material.STONE);
+        BlockData dirt = blockData(Material.DIRT);
+        World world = mock(World.class);
+        mockChunk(world, 0, stone);
+        mockChunk(world, 1, dirt);
+
+        // X 14 and 15 are in chunk 0, 16 and 17 in chunk 1.
+        BlockVolume volume = BlockVolume.capture(world, 14, -2, 3, 17, 1, 4).read();
+        assertEquals(4, volume.getSizeX());
+        assertEquals(4, volume.getSizeY());
+        assertEquals(2, volume.getSizeZ());
+
+        for (int x = 0; x < volume.getSizeX(); x++)
+        {
+            for (int y = 0; y < volume.getSizeY(); y++)
+            {
+                for (int z = 0; z < volume.getSizeZ(); z++)
+                {
+                    int index = volume.index(x, y, z);
+                    assertEquals(x < 2 ? Material.STONE : Material.DIRT, volume.getMaterial(x, y, z));
+                    // Blocks in the same state share their data.
+                    assertSame(x < 2 ? stone : dirt, volume.getBlockData(index));
+                    assertFalse(volume.isChanged(index));
+                }
+            }
+        }
+    }
+
+    private static BlockData blockData(Material material)
+    {
+        BlockData data = mock(BlockData.class);
+        when(data.getMaterial()).thenReturn(material);
+        return data;
+    }
+
+    private static void mockChunk(World world, int chunkX, BlockData data)
+    {
+        ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+        when(snapshot.getBlockData(anyInt(), anyInt(), anyInt())).thenReturn(data);
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+        when(world.getChunkAt(chunkX, 0)).thenReturn(chunk);
+    }
+}
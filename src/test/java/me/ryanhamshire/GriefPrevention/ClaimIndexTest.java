@@ -0,0 +1,57 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ClaimIndexTest
+{
+    @Test
+    public void testClaimIndexedInEveryChunk()
+    {
+        for (ClaimIndex index : List.of(ClaimIndex.unsharded(), ClaimIndex.sharded(4)))
+        {
+            // Chunks 15 and 16 are in different shards.
+            Claim claim = claim(1L, 250, 260);
+            index.add(claim);
+            assertEquals(List.of(claim), index.get(15, 0));
+            assertEquals(List.of(claim), index.get(16, 0));
+            assertNull(index.get(17, 0));
+
+            index.remove(claim);
+            assertNull(index.get(15, 0));
+            assertNull(index.get(16, 0));
+        }
+    }
+
+    @Test
+    public void testMoveBetweenShards()
+    {
+        for (ClaimIndex index : List.of(ClaimIndex.unsharded(), ClaimIndex.sharded(4)))
+        {
+            Claim neighbor = claim(1L, 240, 250);
+            Claim claim = claim(2L, 250, 260);
+            index.add(neighbor);
+            index.add(claim);
+
+            index.move(claim, new Location(null, 600, 0, 0), new Location(null, 610, 0, 0));
+            assertEquals(600, claim.getLesserBoundaryCorner().getBlockX());
+            assertEquals(List.of(neighbor), index.get(15, 0));
+            assertNull(index.get(16, 0));
+            assertEquals(List.of(claim), index.get(37, 0));
+            assertEquals(List.of(claim), index.get(38, 0));
+            assertEquals(claim.getLesserBoundaryCorner().getBlockX(),
+                    index.read(37, 0, () -> claim.getLesserBoundaryCorner().getBlockX()));
+        }
+    }
+
+    private static Claim claim(long id, int minX, int maxX)
+    {
+        return new Claim(new Location(null, minX, 0, 0), new Location(null, maxX, 0, 0), null,
+                List.of(), List.of(), List.of(), List.of(), id);
+    }
+}
@@ -0,0 +1,130 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CustomLoggerTest
+{
+    @Test
+    public void testRingDropsWhenFull()
+    {
+        CustomLogger.EntryRing ring = new CustomLogger.EntryRing(4);
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(ring.offer("entry " + i));
+        }
+        assertFalse(ring.offer("entry 4"));
+        assertEquals(4, ring.size());
+
+        assertEquals("entry 0", ring.poll());
+        assertTrue(ring.offer("entry 5"));
+        for (String expected : List.of("entry 1", "entry 2", "entry 3", "entry 5"))
+        {
+            assertEquals(expected, ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    @Test
+    public void testRingConcurrentProducers() throws InterruptedException
+    {
+        CustomLogger.EntryRing ring = new CustomLogger.EntryRing(1024);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++)
+        {
+            int producer = t;
+            producers.add(new Thread(() ->
+            {
+                for (int i = 0; i < 10_000; i++)
+                {
+                    if (ring.offer(producer + ":" + i)) accepted.incrementAndGet();
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+
+        // Drain while the producers run, every accepted entry must come out exactly once.
+        Set<String> polled = new HashSet<>();
+        while (producers.stream().anyMatch(Thread::isAlive) || ring.size() > 0)
+        {
+            String entry = ring.poll();
+            if (entry != null) assertTrue(polled.add(entry));
+        }
+        for (Thread producer : producers)
+        {
+            producer.join();
+        }
+        assertEquals(accepted.get(), polled.size());
+    }
+
+    @Test
+    public void testRollsOverBySize(@TempDir Path folder) throws IOException
+    {
+        CustomLogger logger = new CustomLogger(folder, () -> 7, 64, 100);
+        for (int i = 0; i < 10; i++)
+        {
+            logger.enqueue("entry number " + i);
+        }
+        logger.close();
+
+        List<String> lines = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int index = 0; Files.exists(logger.getLogFile(today, index)); index++)
+        {
+            Path file = logger.getLogFile(today, index);
+            assertTrue(Files.size(file) <= 100);
+            lines.addAll(Files.readAllLines(file));
+        }
+        assertEquals(10, lines.size());
+        assertTrue(lines.get(9).endsWith("entry number 9"));
+        assertTrue(Files.exists(logger.getLogFile(today, 1)));
+    }
+
+    @Test
+    public void testRollsOverByEncodedSize(@TempDir Path folder) throws IOException
+    {
+        // Each entry takes up far more bytes than chars, so counting chars would overfill the files.
+        CustomLogger logger = new CustomLogger(folder, () -> 7, 64, 100);
+        for (int i = 0; i < 10; i++)
+        {
+            logger.enqueue("\u00e9\u00e9\u00e9 \u20ac\u20ac\u20ac \ud83d\ude00 " + i);
+        }
+        logger.close();
+
+        int lines = 0;
+        LocalDate today = LocalDate.now();
+        for (int index = 0; Files.exists(logger.getLogFile(today, index)); index++)
+        {
+            Path file = logger.getLogFile(today, index);
+            assertTrue(Files.size(file) <= 100);
+            lines += Files.readAllLines(file).size();
+        }
+        assertEquals(10, lines);
+    }
+
+    @Test
+    public void testUtf8Length()
+    {
+        for (String text : List.of("", "ascii", "\u00e9t\u00e9", "\u20ac", "\ud83d\ude00", "lone \ud83d", "\ude00 lone"))
+        {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, CustomLogger.utf8Length(text), text);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class DeliverClaimBlocksTaskTest
+{
+    @Test
+    void testSameDirectionPacksEqual()
+    {
+        assertEquals(DeliverClaimBlocksTask.packRotation(90.5F, -12.25F), DeliverClaimBlocksTask.packRotation(90.5F, -12.25F));
+        // Negative and positive zero face the same way.
+        assertEquals(DeliverClaimBlocksTask.packRotation(0.0F, 0.0F), DeliverClaimBlocksTask.packRotation(-0.0F, -0.0F));
+    }
+
+    @Test
+    void testDifferentDirectionsPackDifferently()
+    {
+        // Yaw and pitch must not be interchangeable.
+        assertNotEquals(DeliverClaimBlocksTask.packRotation(10.0F, 20.0F), DeliverClaimBlocksTask.packRotation(20.0F, 10.0F));
+        assertNotEquals(DeliverClaimBlocksTask.packRotation(-90.0F, 0.0F), DeliverClaimBlocksTask.packRotation(90.0F, 0.0F));
+        assertNotEquals(DeliverClaimBlocksTask.packRotation(0.0F, 45.0F), DeliverClaimBlocksTask.packRotation(0.0F, -45.0F));
+    }
+
+    @Test
+    void testNeverNoRotation()
+    {
+        // A player who never had a rotation recorded must not look idle, even when facing yaw and pitch of zero.
+        assertNotEquals(PlayerData.NO_ROTATION, DeliverClaimBlocksTask.packRotation(-0.0F, 0.0F));
+        assertNotEquals(PlayerData.NO_ROTATION, DeliverClaimBlocksTask.packRotation(0.0F, 0.0F));
+    }
+}
@@ -0,0 +1,43 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FindUnusedClaimsTaskTest
+{
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Test
+    void testDueAtNextThresholdAhead()
+    {
+        long lastPlayed = 1_000 * DAY;
+
+        // Before the chest claim expiry, the owner is due then.
+        assertEquals(lastPlayed + 7 * DAY, FindUnusedClaimsTask.dueAfter(lastPlayed, lastPlayed + DAY, 7, 60));
+
+        // Past the chest claim expiry, the owner is due at the expiry of all claims rather than weekly.
+        assertEquals(lastPlayed + 60 * DAY, FindUnusedClaimsTask.dueAfter(lastPlayed, lastPlayed + 8 * DAY, 7, 60));
+
+        // The order of the thresholds does not matter.
+        assertEquals(lastPlayed + 60 * DAY, FindUnusedClaimsTask.dueAfter(lastPlayed, lastPlayed + 8 * DAY, 60, 7));
+    }
+
+    @Test
+    void testRecheckOncePastEveryThreshold()
+    {
+        long lastPlayed = 1_000 * DAY;
+        long now = lastPlayed + 61 * DAY;
+        assertEquals(now + FindUnusedClaimsTask.RECHECK_MILLIS, FindUnusedClaimsTask.dueAfter(lastPlayed, now, 7, 60));
+    }
+
+    @Test
+    void testDisabledThresholdsIgnored()
+    {
+        long lastPlayed = 1_000 * DAY;
+        assertEquals(lastPlayed + 60 * DAY, FindUnusedClaimsTask.dueAfter(lastPlayed, lastPlayed, 0, 60));
+        assertEquals(lastPlayed + FindUnusedClaimsTask.RECHECK_MILLIS, FindUnusedClaimsTask.dueAfter(lastPlayed, lastPlayed, 0, -1));
+    }
+}
@@ -0,0 +1,99 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class FluidFlowCacheTest
+{
+    @Test
+    void verifyDecisionCachedUntilClaimRevisionChanges()
+    {
+        DataStore dataStore = mock(DataStore.class);
+        World world = mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        // Caches are kept per thread, so start from a revision no other test uses.
+        when(dataStore.getClaimRevision()).thenReturn(1_000L);
+        AtomicInteger decisions = new AtomicInteger();
+
+        FluidFlowCache cache = FluidFlowCache.get(dataStore);
+        assertEquals(Boolean.TRUE, cache.getDecision(dataStore, world, 0, 0, 1, 0, false,
+                (from, to, creative) -> decisions.incrementAndGet() > 0));
+        assertEquals(Boolean.TRUE, FluidFlowCache.get(dataStore).getDecision(dataStore, world, 0, 0, 1, 0, false,
+                (from, to, creative) -> decisions.incrementAndGet() < 0));
+        // Both wilderness chunks were classified once and the decision was made once.
+        assertEquals(1, decisions.get());
+        verify(dataStore, times(2)).getIndexedChunkClaims(anyLong(), anyLong());
+
+        // Any claim change discards classified chunks and decisions.
+        when(dataStore.getClaimRevision()).thenReturn(1_001L);
+        assertSame(cache, FluidFlowCache.get(dataStore));
+        assertEquals(Boolean.FALSE, cache.getDecision(dataStore, world, 0, 0, 1, 0, false,
+                (from, to, creative) -> decisions.incrementAndGet() < 0));
+        assertEquals(2, decisions.get());
+        verify(dataStore, times(4)).getIndexedChunkClaims(anyLong(), anyLong());
+    }
+
+    @Test
+    void verifyCreativeRulesCachedSeparately()
+    {
+        DataStore dataStore = mock(DataStore.class);
+        World world = mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(dataStore.getClaimRevision()).thenReturn(2_000L);
+
+        FluidFlowCache cache = FluidFlowCache.get(dataStore);
+        FluidFlowCache.FlowDecider decider = (from, to, creative) -> !creative;
+        assertTrue(cache.getDecision(dataStore, world, 5, 5, 5, 4, false, decider));
+        assertFalse(cache.getDecision(dataStore, world, 5, 5, 5, 4, true, decider));
+    }
+
+    @Test
+    void verifyLookupDuringClaimChangeNotCached()
+    {
+        DataStore dataStore = mock(DataStore.class, withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+        World world = mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        FluidFlowCache.FlowDecider decider = (from, to, creative) -> from != null;
+        AtomicBoolean lookedUp = new AtomicBoolean();
+
+        // Look up the claim's chunks while it is being indexed, as a region thread could.
+        Claim claim = new Claim(new Location(world, 0, 0, 0), new Location(world, 47, 0, 47), UUID.randomUUID(),
+                List.of(), List.of(), List.of(), List.of(), 1L)
+        {
+            @Override
+            public Location getLesserBoundaryCorner()
+            {
+                if (lookedUp.compareAndSet(false, true))
+                {
+                    assertEquals(Boolean.FALSE, FluidFlowCache.get(dataStore).getDecision(dataStore, world, 0, 0, 1, 0,
+                            false, decider));
+                }
+                return super.getLesserBoundaryCorner();
+            }
+        };
+
+        dataStore.addClaim(claim, false);
+
+        assertTrue(lookedUp.get());
+        assertEquals(Boolean.TRUE, FluidFlowCache.get(dataStore).getDecision(dataStore, world, 0, 0, 1, 0, false,
+                decider));
+    }
+}
@@ -0,0 +1,90 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PendingItemWatchListTest
+{
+    private static final UUID PLAYER_UUID = UUID.fromString("fa8d60a7-9645-4a9f-b74d-173966174739");
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private PendingItemWatchList watchList;
+    private World world;
+    private ItemStack stack;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        now.set(10_000);
+        watchList = new PendingItemWatchList(now::get);
+        world = mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        stack = mock(ItemStack.class);
+    }
+
+    @Test
+    void verifyTakeRemovesProtection()
+    {
+        PendingItemProtection protection = protect(-8, 64, -8, 13_000);
+
+        assertNull(watchList.take(new Location(world, 92, 64, -8), stack));
+        // Spawns may land in a neighbouring chunk.
+        assertSame(protection, watchList.take(new Location(world, -4, 60, -4), stack));
+        assertEquals(0, watchList.size());
+        assertNull(watchList.take(new Location(world, -8, 64, -8), stack));
+    }
+
+    @Test
+    void verifyExpiredProtectionsRemoved()
+    {
+        protect(0, 64, 0, 13_000);
+
+        now.set(13_100);
+        // Expired protections are never taken, but stay until their tick has passed.
+        assertNull(watchList.take(new Location(world, 0, 64, 0), stack));
+        assertEquals(1, watchList.size());
+
+        now.set(13_300);
+        assertNull(watchList.take(new Location(world, 1000, 64, 1000), stack));
+        assertEquals(0, watchList.size());
+    }
+
+    @Test
+    void verifyProtectionsOutlivingRotationKept()
+    {
+        PendingItemProtection protection = protect(0, 64, 0, 30_000);
+
+        // The protection's slot comes around long before it expires.
+        now.set(18_500);
+        assertNull(watchList.take(new Location(world, 1000, 64, 1000), stack));
+        assertEquals(1, watchList.size());
+        assertSame(protection, watchList.take(new Location(world, 0, 64, 0), stack));
+        assertEquals(0, watchList.size());
+
+        protect(0, 64, 0, 30_000);
+        now.set(30_300);
+        assertNull(watchList.take(new Location(world, 1000, 64, 1000), stack));
+        assertEquals(0, watchList.size());
+    }
+
+    private PendingItemProtection protect(int x, int y, int z, long expirationTimestamp)
+    {
+        PendingItemProtection protection = new PendingItemProtection(new Location(world, x, y, z), PLAYER_UUID,
+                expirationTimestamp, stack);
+        watchList.add(protection);
+        assertEquals(1, watchList.size());
+        return protection;
+    }
+}
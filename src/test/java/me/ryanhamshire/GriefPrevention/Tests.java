@@ -2,9 +2,19 @@ package me.ryanhamshire.GriefPrevention;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -92,6 +102,62 @@ public class Tests
     private final UUID player1 = UUID.fromString("f13c5a98-3777-4659-a111-5617adb7d7fb");
     private final UUID player2 = UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7");
 
+    @Test
+    public void testWordFinderOverlappingWords()
+    {
+        WordFinder finder = new WordFinder(Arrays.asList("he", "she", "hers"));
+        assertTrue(finder.hasMatch("did she?"));
+        assertTrue(finder.hasMatch("it is hers"));
+        assertFalse(finder.hasMatch("ushers"));
+        assertFalse(finder.hasMatch("shell"));
+    }
+
+    @Test
+    public void testWordFinderCensor()
+    {
+        WordFinder finder = new WordFinder(Arrays.asList("alpha", "beta"));
+        assertEquals("***** and ****!", finder.censor("alpha and BETA!"));
+        assertEquals("*****,*****", finder.censor("alpha,alpha"));
+        assertEquals("alphabet", finder.censor("alphabet"));
+        assertEquals("", finder.censor(""));
+    }
+
+    @Test
+    public void testWordFinderMatchesRegex()
+    {
+        //compare against the alternation regex used previously, over a large word list
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+        {
+            words.add(randomText(random, 3 + random.nextInt(5), "abcdefgh"));
+        }
+
+        StringBuilder patternBuilder = new StringBuilder();
+        for (String word : words)
+        {
+            patternBuilder.append("|(([^\\w]|^)").append(Pattern.quote(word)).append("([^\\w]|$))");
+        }
+        Pattern pattern = Pattern.compile(patternBuilder.substring(1), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        WordFinder finder = new WordFinder(words);
+
+        for (int i = 0; i < 2000; i++)
+        {
+            String input = randomText(random, random.nextInt(40), "abcdefghABCDEFGH ,.!_1");
+            assertEquals(pattern.matcher(input).find(), finder.hasMatch(input), input);
+        }
+    }
+
+    private static String randomText(Random random, int length, String alphabet)
+    {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
     @Test
     public void testSpamDetectorBasicChatOK()
     {
@@ -292,4 +358,89 @@ public class Tests
         assertTrue(result.shouldWarnChatter);
         assertFalse(result.shouldBanChatter);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSpamDetectorConcurrentChatters() throws Exception
+    {
+        SpamDetector detector = new SpamDetector();
+        int chatters = 16;
+        int messagesPerChatter = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(chatters);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger muted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int chatter = 0; chatter < chatters; chatter++)
+            {
+                UUID chatterID = UUID.randomUUID();
+                int chatterNumber = chatter;
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int i = 0; i < messagesPerChatter; i++)
+                    {
+                        //well spaced, distinct messages from each chatter are never spam
+                        String message = "Chatter " + chatterNumber + " is sending message number " + i + " to everyone";
+                        if (detector.AnalyzeMessage(chatterID, message, 1000 + i * 11000L).muteReason != null)
+                        {
+                            muted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, muted.get());
+        assertEquals(chatters, detector.dataStore.size());
+    }
+
+    @Test
+    public void testSpamDetectorConcurrentTeamRepetition() throws Exception
+    {
+        SpamDetector detector = new SpamDetector();
+        int chatters = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(chatters);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int chatter = 0; chatter < chatters; chatter++)
+            {
+                UUID chatterID = UUID.randomUUID();
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    return detector.AnalyzeMessage(chatterID, "Hello there, my friends!", 1000).muteReason;
+                }));
+            }
+
+            start.countDown();
+            int allowed = 0;
+            for (Future<String> future : futures)
+            {
+                if (future.get(30, TimeUnit.SECONDS) == null) allowed++;
+            }
+
+            //exactly one chatter gets the message through, every copy after it is a repeat
+            assertEquals(1, allowed);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
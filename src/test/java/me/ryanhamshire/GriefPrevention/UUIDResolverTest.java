@@ -0,0 +1,172 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UUIDResolverTest
+{
+    private final Gson gson = new Gson();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private final List<UUIDResolver> resolvers = new ArrayList<>();
+
+    // the status to respond with for a request number, 200 to respond with profiles
+    private volatile IntUnaryOperator status = request -> 200;
+
+    @BeforeEach
+    public void startServer() throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/profiles", this::handle);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer()
+    {
+        resolvers.forEach(UUIDResolver::close);
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResolvesInConcurrentBatches() throws InterruptedException
+    {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+        {
+            names.add("Player" + i);
+        }
+        names.add("unknown");
+
+        Map<String, UUIDResolver.Profile> profiles = resolver(null, 3).resolve(names);
+
+        assertEquals(3, requests.get());
+        assertTrue(maxInFlight.get() <= 3);
+        assertEquals(25, profiles.size());
+        UUIDResolver.Profile profile = profiles.get("player7");
+        assertEquals("Player7", profile.name());
+        assertEquals(id("Player7"), profile.id());
+    }
+
+    @Test
+    public void testRetriesRateLimitedBatches() throws InterruptedException
+    {
+        // The first two requests are rate limited.
+        status = request -> request < 2 ? 429 : 200;
+
+        Map<String, UUIDResolver.Profile> profiles = resolver(null, 1).resolve(List.of("Alice"));
+
+        assertEquals(3, requests.get());
+        assertEquals(id("Alice"), profiles.get("alice").id());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() throws InterruptedException
+    {
+        status = request -> 503;
+
+        Map<String, UUIDResolver.Profile> profiles = resolver(null, 1).resolve(List.of("Alice"));
+
+        assertEquals(3, requests.get());
+        assertTrue(profiles.isEmpty());
+    }
+
+    @Test
+    public void testPersistsCache(@TempDir Path folder) throws InterruptedException
+    {
+        Path cacheFile = folder.resolve("cache.txt");
+        resolver(cacheFile, 1).resolve(List.of("Alice", "Bob"));
+        assertEquals(1, requests.get());
+
+        // A new resolver only requests names missing from the cache.
+        Map<String, UUIDResolver.Profile> profiles = resolver(cacheFile, 1).resolve(List.of("alice", "Bob", "Carol"));
+        assertEquals(2, requests.get());
+        assertEquals(3, profiles.size());
+        assertEquals("Alice", profiles.get("alice").name());
+    }
+
+    private UUIDResolver resolver(Path cacheFile, int maxInFlight)
+    {
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/profiles");
+        UUIDResolver resolver = new UUIDResolver(endpoint, 10, maxInFlight, 100, 3, Duration.ofMillis(10), cacheFile,
+                Logger.getAnonymousLogger());
+        resolvers.add(resolver);
+        return resolver;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try
+        {
+            JsonArray names = gson.fromJson(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), JsonArray.class);
+            int code = status.applyAsInt(requests.getAndIncrement());
+
+            // Give concurrent requests a chance to overlap.
+            Thread.sleep(20);
+
+            JsonArray profiles = new JsonArray();
+            for (JsonElement name : names)
+            {
+                if (name.getAsString().startsWith("unknown")) continue;
+                JsonObject profile = new JsonObject();
+                profile.addProperty("id", id(name.getAsString()).toString().replace("-", ""));
+                profile.addProperty("name", name.getAsString());
+                profiles.add(profile);
+            }
+
+            byte[] body = (code == 200 ? gson.toJson(profiles) : "{}").getBytes(StandardCharsets.UTF_8);
+            if (code == 429) exchange.getResponseHeaders().add("Retry-After", "0");
+            exchange.sendResponseHeaders(code, body.length);
+            exchange.getResponseBody().write(body);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static UUID id(String name)
+    {
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
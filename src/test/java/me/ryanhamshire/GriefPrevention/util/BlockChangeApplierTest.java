@@ -0,0 +1,170 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import com.griefprevention.test.ServerMocks;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockChangeApplierTest
+{
+    private static final Queue<Runnable> scheduled = new ArrayDeque<>();
+
+    private final List<int[]> visited = new ArrayList<>();
+    private World world;
+
+    @BeforeAll
+    static void beforeAll()
+    {
+        Server server = ServerMocks.newServer();
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        doAnswer(invocation ->
+        {
+            scheduled.add(invocation.getArgument(1));
+            return mock(BukkitTask.class);
+        }).when(scheduler).runTaskLater(any(Plugin.class), any(Runnable.class), anyLong());
+        when(server.getScheduler()).thenReturn(scheduler);
+        Bukkit.setServer(server);
+    }
+
+    @AfterAll
+    static void afterAll()
+    {
+        ServerMocks.unsetBukkitServer();
+    }
+
+    @BeforeEach
+    void beforeEach()
+    {
+        scheduled.clear();
+        visited.clear();
+        world = mock(World.class);
+        doAnswer(invocation ->
+        {
+            visited.add(new int[] { invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2) });
+            return mock(Block.class);
+        }).when(world).getBlockAt(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testChangesGroupedBySection()
+    {
+        BlockChangeApplier applier = new BlockChangeApplier(mock(Plugin.class), world, TimeUnit.MINUTES.toNanos(1));
+        // Interleave changes on both sides of chunk and section boundaries, including negative coordinates.
+        int[][] changes = {
+                { -1, -64, -1 }, { 0, 0, 0 }, { -17, -1, 20 }, { 15, -1, -1 },
+                { -16, -49, -16 }, { 1, 15, 1 }, { -32, -1, 31 }, { 0, -1, -1 },
+                { -2, -60, -3 }, { 2, 3, 4 }, { -20, -5, 17 }, { 14, -16, -16 },
+        };
+        for (int[] change : changes)
+        {
+            applier.add(change[0], change[1], change[2], mock(BlockData.class));
+        }
+
+        applier.prepare();
+        applier.apply((block, blockData) -> true, () -> {});
+
+        assertEquals(changes.length, visited.size());
+        assertEquals(changes.length, applier.getApplied());
+
+        Set<String> finished = new HashSet<>();
+        String current = null;
+        List<int[]> expectedInSection = new ArrayList<>();
+        for (int[] change : visited)
+        {
+            String section = section(change);
+            if (!section.equals(current))
+            {
+                assertTrue(finished.add(section), "Section " + section + " was revisited");
+                current = section;
+                expectedInSection.clear();
+                for (int[] added : changes)
+                {
+                    if (section(added).equals(section)) expectedInSection.add(added);
+                }
+            }
+            // Within a section, changes keep the order they were added in.
+            assertArrayEquals(expectedInSection.remove(0), change);
+        }
+        assertEquals(4, finished.size());
+    }
+
+    @Test
+    void testBudgetSplitsAcrossTicks()
+    {
+        BlockChangeApplier applier = new BlockChangeApplier(mock(Plugin.class), world, 1L);
+        for (int i = 0; i < 3; i++)
+        {
+            applier.add(i, 0, 0, mock(BlockData.class));
+        }
+        AtomicInteger completed = new AtomicInteger();
+
+        applier.apply((block, blockData) -> true, completed::incrementAndGet);
+
+        // An exhausted budget leaves the rest for the next tick.
+        assertEquals(1, visited.size());
+        assertEquals(1, scheduled.size());
+        assertEquals(0, completed.get());
+
+        Runnable next;
+        while ((next = scheduled.poll()) != null)
+        {
+            next.run();
+        }
+
+        assertEquals(3, visited.size());
+        assertEquals(3, applier.getApplied());
+        assertEquals(1, completed.get());
+    }
+
+    @Test
+    void testCompletesOnceWithinBudget()
+    {
+        BlockChangeApplier applier = new BlockChangeApplier(mock(Plugin.class), world, TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 100; i++)
+        {
+            applier.add(i, i % 16, -i, mock(BlockData.class));
+        }
+        AtomicInteger completed = new AtomicInteger();
+
+        // Rejected changes are visited but not counted.
+        applier.apply((block, blockData) -> visited.size() % 2 == 0, completed::incrementAndGet);
+
+        assertTrue(scheduled.isEmpty());
+        assertEquals(100, visited.size());
+        assertEquals(50, applier.getApplied());
+        assertEquals(1, completed.get());
+    }
+
+    private static String section(int[] change)
+    {
+        return (change[0] >> 4) + "," + (change[1] >> 4) + "," + (change[2] >> 4);
+    }
+}
@@ -0,0 +1,30 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class EventUtilTest
+{
+    @Test
+    public void testHasListenersFollowsRegistration()
+    {
+        HandlerList handlers = new HandlerList();
+        assertFalse(EventUtil.hasListeners(handlers));
+
+        RegisteredListener listener = new RegisteredListener(mock(Listener.class), (ignored, event) -> {},
+                EventPriority.NORMAL, mock(Plugin.class), false);
+        handlers.register(listener);
+        assertTrue(EventUtil.hasListeners(handlers));
+
+        handlers.unregister(listener);
+        assertFalse(EventUtil.hasListeners(handlers));
+    }
+}
@@ -0,0 +1,17 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.bukkit.Server;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+public class FoliaPlatformSchedulerTest
+{
+    @Test
+    void testNotRegionThreadedWithoutRegionizedServer()
+    {
+        // Paper exposes the region schedulers too, region threading needs Folia's regionized server.
+        assertFalse(FoliaPlatformScheduler.isRegionThreaded(mock(Server.class)));
+    }
+}
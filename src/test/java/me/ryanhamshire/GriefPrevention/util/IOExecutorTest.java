@@ -0,0 +1,67 @@
+package me.ryanhamshire.GriefPrevention.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IOExecutorTest
+{
+    @Test
+    public void testConcurrencyLimit() throws InterruptedException
+    {
+        IOExecutor executor = new IOExecutor(Logger.getAnonymousLogger());
+        IOExecutor.Category category = IOExecutor.Category.CLAIM_EXPIRY;
+        int tasks = category.getConcurrency() * 4;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++)
+        {
+            executor.execute(category, () ->
+            {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try
+                {
+                    Thread.sleep(10);
+                }
+                catch (InterruptedException ignored) {}
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= category.getConcurrency());
+        assertTrue(executor.shutdown(Duration.ofSeconds(10)));
+
+        IOExecutor.Stats stats = executor.getStats().get(category.ordinal());
+        assertSame(category, stats.category());
+        assertEquals(tasks, stats.submitted());
+        assertEquals(tasks, stats.completed());
+        assertEquals(0, stats.running());
+    }
+
+    @Test
+    public void testRunsInlineAfterShutdown()
+    {
+        IOExecutor executor = new IOExecutor(Logger.getAnonymousLogger());
+        assertTrue(executor.shutdown(Duration.ofSeconds(10)));
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        executor.execute(IOExecutor.Category.PLAYER_DATA, () ->
+        {
+            if (Thread.currentThread() == caller) ranOnCaller.incrementAndGet();
+        });
+        assertEquals(1, ranOnCaller.get());
+    }
+}